@@ -0,0 +1,117 @@
+package com.multiblockprojector.api;
+
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.block.state.properties.BedPart;
+import net.minecraft.world.level.block.state.properties.BlockStateProperties;
+import net.minecraft.world.level.block.state.properties.DoubleBlockHalf;
+import net.minecraft.world.level.block.state.properties.SlabType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Items needed to build a structure, as many per block as {@link #getItemCount} says. Immutable; entries are ordered from
+ * the most to the least needed item. Get them through {@link MultiblockStructureCache#getBillOfMaterials},
+ * which keeps one per cached structure.
+ */
+public final class BillOfMaterials {
+    public static final BillOfMaterials EMPTY = new BillOfMaterials(new Object2IntLinkedOpenHashMap<>(), 0);
+
+    private final Object2IntMap<Item> counts;
+    private final int total;
+
+    private BillOfMaterials(Object2IntMap<Item> counts, int total) {
+        this.counts = Object2IntMaps.unmodifiable(counts);
+        this.total = total;
+    }
+
+    /**
+     * Count the items of a structure. Blocks without an item (air, fluids, technical blocks) are skipped.
+     */
+    public static BillOfMaterials of(PalettedStructure structure) {
+        // Structures use few distinct states; count those first and resolve each state's item once
+        Object2IntMap<BlockState> states = new Object2IntOpenHashMap<>();
+        structure.forEach((index, pos, state) -> {
+            if (!state.isAir()) {
+                states.mergeInt(state, 1, Integer::sum);
+            }
+            return false;
+        });
+
+        Object2IntMap<Item> items = new Object2IntOpenHashMap<>();
+        for (Object2IntMap.Entry<BlockState> entry : states.object2IntEntrySet()) {
+            int count = getItemCount(entry.getKey());
+            if (count > 0) {
+                items.mergeInt(getItem(entry.getKey()), count * entry.getIntValue(), Integer::sum);
+            }
+        }
+
+        List<Object2IntMap.Entry<Item>> sorted = new ArrayList<>(items.object2IntEntrySet());
+        sorted.sort(Comparator.comparingInt((Object2IntMap.Entry<Item> entry) -> entry.getIntValue()).reversed());
+        Object2IntMap<Item> counts = new Object2IntLinkedOpenHashMap<>(sorted.size());
+        int total = 0;
+        for (Object2IntMap.Entry<Item> entry : sorted) {
+            counts.put(entry.getKey(), entry.getIntValue());
+            total += entry.getIntValue();
+        }
+        return new BillOfMaterials(counts, total);
+    }
+
+    /**
+     * @return The item a block is built from, or {@link Items#AIR} if it has none
+     */
+    public static Item getItem(BlockState state) {
+        return state.getBlock().asItem();
+    }
+
+    /**
+     * @return How many of {@link #getItem} a block uses up. Two-part blocks (doors, beds, tall
+     *         plants) are placed from one item, which is counted at their lower or foot half;
+     *         double slabs take two. Blocks without an item count 0.
+     */
+    public static int getItemCount(BlockState state) {
+        if (getItem(state) == Items.AIR) {
+            return 0;
+        }
+        if (state.hasProperty(BlockStateProperties.DOUBLE_BLOCK_HALF)
+                && state.getValue(BlockStateProperties.DOUBLE_BLOCK_HALF) == DoubleBlockHalf.UPPER) {
+            return 0;
+        }
+        if (state.hasProperty(BlockStateProperties.BED_PART) && state.getValue(BlockStateProperties.BED_PART) == BedPart.HEAD) {
+            return 0;
+        }
+        if (state.hasProperty(BlockStateProperties.SLAB_TYPE) && state.getValue(BlockStateProperties.SLAB_TYPE) == SlabType.DOUBLE) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * @return Item counts, from the most to the least needed
+     */
+    public Object2IntMap<Item> getCounts() {
+        return counts;
+    }
+
+    public int getCount(Item item) {
+        return counts.getInt(item);
+    }
+
+    /**
+     * @return Number of items over all entries
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+}
@@ -0,0 +1,80 @@
+package com.multiblockprojector.api;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate.StructureBlockInfo;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Variable-size multiblock whose blocks are a function of the size and the position alone.
+ * Instead of building a block list, implementations answer for one cell of the bounding box
+ * at a time, so consumers can stream a structure of any size without materializing it.
+ * <p>
+ * When {@link #getSymmetry(Vec3i)} declares a symmetry, {@link #getStateAt} is only asked about
+ * the fundamental region; the rest is expanded from it.
+ */
+public interface IProceduralMultiblock extends IVariableSizeMultiblock {
+
+    /**
+     * @param size The structure size; positions range from (0, 0, 0) to size - 1, or to the
+     *             edge of the fundamental region for a symmetric size
+     * @return The block at the position, or null if the structure has no block there
+     */
+    @Nullable
+    BlockState getStateAt(Vec3i size, int x, int y, int z);
+
+    /**
+     * Stream the blocks of a structure in layer order (y, then z, then x).
+     * @return true if the visitor stopped early
+     */
+    default boolean forEachBlock(Vec3i size, PalettedStructure.BlockVisitor visitor) {
+        Symmetry symmetry = getSymmetry(size);
+        int regionWidth = symmetry.regionWidth(size.getX());
+        int regionDepth = symmetry.regionDepth(size.getZ());
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int index = 0;
+        for (int y = 0; y < size.getY(); y++) {
+            for (int z = 0; z < size.getZ(); z++) {
+                boolean acrossZ = z >= regionDepth;
+                for (int x = 0; x < size.getX(); x++) {
+                    boolean acrossX = x >= regionWidth;
+                    BlockState state = getStateAt(size, acrossX ? size.getX() - 1 - x : x, y, acrossZ ? size.getZ() - 1 - z : z);
+                    if (state == null) continue;
+                    if (acrossX || acrossZ) {
+                        state = Symmetry.mirror(state, acrossX, acrossZ);
+                    }
+                    if (visitor.visit(index++, pos.set(x, y, z), state)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    default List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size) {
+        List<StructureBlockInfo> blocks = new ArrayList<>();
+        forEachBlock(size, (index, pos, state) -> {
+            blocks.add(new StructureBlockInfo(pos.immutable(), state, null));
+            return false;
+        });
+        return blocks;
+    }
+
+    @Override
+    default PalettedStructure getPalettedStructure(@Nonnull Level world) {
+        return getPalettedStructureAtSize(world, getSize(world));
+    }
+
+    @Override
+    default PalettedStructure getPalettedStructureAtSize(@Nonnull Level world, Vec3i size) {
+        return PalettedStructure.generate(size, getSymmetry(size), (x, y, z) -> getStateAt(size, x, y, z));
+    }
+}
@@ -12,6 +12,13 @@ import java.util.List;
 /**
  * Universal interface for multiblock structures from any mod
  * Acts as a wrapper around various mod-specific multiblock systems
+ * <p>
+ * Threading: {@link #getStructure}, {@link #getPalettedStructure} and {@link #getSize} (and
+ * {@code getPalettedStructureAtSize} of variable-size multiblocks) may be called on background
+ * threads, but always through {@link MultiblockStructureCache}, which holds the lock for the
+ * providing mod meanwhile; they need not be thread-safe towards each other. All other methods
+ * may be called from any thread at any time, including while a structure is generated, and must
+ * be thread-safe: state they read must not be filled in lazily by the generating methods.
  */
 public interface IUniversalMultiblock {
     
@@ -26,12 +33,28 @@ public interface IUniversalMultiblock {
     Component getDisplayName();
     
     /**
-     * @return List of blocks that make up this multiblock structure
+     * @return List of blocks that make up this multiblock structure. Called under the mod's generation lock.
      */
     List<StructureBlockInfo> getStructure(@Nonnull Level world);
+
+    /**
+     * @return The structure in compact form. Override to build it directly without the intermediate list.
+     */
+    default PalettedStructure getPalettedStructure(@Nonnull Level world) {
+        return PalettedStructure.of(getStructure(world), getSymmetry());
+    }
+
+    /**
+     * @return Mirror symmetry of the structure, letting it be stored as its fundamental region only.
+     *         Structures that turn out not to be symmetric are stored in full.
+     */
+    default Symmetry getSymmetry() {
+        return Symmetry.NONE;
+    }
     
     /**
-     * @return Size of the multiblock in blocks (width, height, depth)
+     * @return Size of the multiblock in blocks (width, height, depth). Called under the mod's generation lock;
+     *         use {@link MultiblockStructureCache#getSize} rather than calling it directly.
      */
     Vec3i getSize(@Nonnull Level world);
     
@@ -54,6 +77,15 @@ public interface IUniversalMultiblock {
         return true;
     }
     
+    /**
+     * @return Whether the structure is loaded from data, such as structure templates in data packs,
+     *         and may thus differ between worlds and servers. Such structures are never served from
+     *         caches that outlive the world.
+     */
+    default boolean isDataDriven() {
+        return false;
+    }
+
     /**
      * @return Category/type of this multiblock for organization
      */
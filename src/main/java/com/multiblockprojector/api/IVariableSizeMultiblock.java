@@ -2,6 +2,7 @@ package com.multiblockprojector.api;
 
 import net.minecraft.core.Vec3i;
 import net.minecraft.network.chat.Component;
+import net.minecraft.util.Mth;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate.StructureBlockInfo;
 
@@ -10,7 +11,8 @@ import java.util.List;
 
 /**
  * Extended interface for multiblocks that support variable sizes.
- * Allows selection between predefined size presets.
+ * Sizes can be picked from predefined presets or chosen freely within {@link #getMinSize()}
+ * and {@link #getMaxSize()}.
  */
 public interface IVariableSizeMultiblock extends IUniversalMultiblock {
 
@@ -22,11 +24,79 @@ public interface IVariableSizeMultiblock extends IUniversalMultiblock {
     /**
      * Get the structure at a specific size.
      * @param world The level
-     * @param size The desired size (from a SizePreset)
+     * @param size The desired size, either from a SizePreset or a valid custom size
      * @return Block structure at the specified size
      */
     List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size);
 
+    /**
+     * Compact form of {@link #getStructureAtSize}. Override to build it directly without the intermediate list.
+     */
+    default PalettedStructure getPalettedStructureAtSize(@Nonnull Level world, Vec3i size) {
+        return PalettedStructure.of(getStructureAtSize(world, size), getSymmetry(size));
+    }
+
+    /**
+     * @return Mirror symmetry of the structure at a size; symmetry often depends on odd or even dimensions
+     */
+    default Symmetry getSymmetry(Vec3i size) {
+        return getSymmetry();
+    }
+
+    /**
+     * @return Smallest size on each axis. Defaults to the smallest preset dimensions.
+     */
+    default Vec3i getMinSize() {
+        List<SizePreset> presets = getSizePresets();
+        if (presets.isEmpty()) {
+            return new Vec3i(1, 1, 1);
+        }
+        int x = Integer.MAX_VALUE, y = Integer.MAX_VALUE, z = Integer.MAX_VALUE;
+        for (SizePreset preset : presets) {
+            x = Math.min(x, preset.size().getX());
+            y = Math.min(y, preset.size().getY());
+            z = Math.min(z, preset.size().getZ());
+        }
+        return new Vec3i(x, y, z);
+    }
+
+    /**
+     * @return Largest size on each axis. Defaults to the largest preset dimensions.
+     */
+    default Vec3i getMaxSize() {
+        List<SizePreset> presets = getSizePresets();
+        if (presets.isEmpty()) {
+            return new Vec3i(1, 1, 1);
+        }
+        int x = 1, y = 1, z = 1;
+        for (SizePreset preset : presets) {
+            x = Math.max(x, preset.size().getX());
+            y = Math.max(y, preset.size().getY());
+            z = Math.max(z, preset.size().getZ());
+        }
+        return new Vec3i(x, y, z);
+    }
+
+    /**
+     * Map a requested size to the closest size this multiblock can be built at.
+     * Override to add constraints beyond the bounds (e.g. odd widths or a square base).
+     */
+    default Vec3i getNearestValidSize(Vec3i size) {
+        Vec3i min = getMinSize();
+        Vec3i max = getMaxSize();
+        return new Vec3i(
+            Mth.clamp(size.getX(), min.getX(), max.getX()),
+            Mth.clamp(size.getY(), min.getY(), max.getY()),
+            Mth.clamp(size.getZ(), min.getZ(), max.getZ()));
+    }
+
+    /**
+     * @return true if the multiblock can be built at exactly this size
+     */
+    default boolean isValidSize(Vec3i size) {
+        return getNearestValidSize(size).equals(size);
+    }
+
     /**
      * @return true since this is a variable-size multiblock
      */
@@ -0,0 +1,140 @@
+package com.multiblockprojector.api;
+
+import net.minecraft.core.Vec3i;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Materializes multiblock structures on first use and keeps them.
+ * Adapters only describe their multiblocks at discovery; the blocks are generated
+ * (and adapter block palettes resolved) the first time a structure is requested here.
+ * Structures are kept as {@link PalettedStructure}s, which are immutable and shared between the preview, projections and thumbnails.
+ * Default and preset-sized structures are also persisted by {@link StructureDiskCache}, so
+ * later launches read them from disk instead of generating them again. Custom sizes are only
+ * kept in memory; a size slider would otherwise fill the disk cache with one-off entries.
+ * Data-driven multiblocks ({@link IUniversalMultiblock#isDataDriven}) are only kept in memory too.
+ * The {@link BillOfMaterials} of a structure is counted once and kept under the same key.
+ * <p>
+ * Structures may be requested from any thread. Adapters are not thread-safe, so calls into them
+ * are made under {@link #generationLock}: one mod's multiblocks are generated one at a time,
+ * while different mods still generate in parallel.
+ */
+public class MultiblockStructureCache {
+    // Variable sizes make the key space open ended; start over rather than grow without bound
+    private static final int MAX_ENTRIES = 128;
+
+    private static final Map<Key, PalettedStructure> STRUCTURES = new ConcurrentHashMap<>();
+    private static final Map<Key, BillOfMaterials> MATERIALS = new ConcurrentHashMap<>();
+    private static final Map<String, Object> GENERATION_LOCKS = new ConcurrentHashMap<>();
+
+    /**
+     * @param size Requested size for variable-size multiblocks, or null for the default structure
+     */
+    private record Key(ResourceLocation multiblock, @Nullable Vec3i size) {}
+
+    /**
+     * @return The default structure of a multiblock
+     */
+    public static PalettedStructure getStructure(@Nonnull IUniversalMultiblock multiblock, @Nonnull Level world) {
+        return getStructure(multiblock, world, null);
+    }
+
+    /**
+     * @param size For variable-size multiblocks, the size to generate. Null (or a fixed-size multiblock) uses the default structure.
+     * @return The structure, generated on first request
+     */
+    public static PalettedStructure getStructure(@Nonnull IUniversalMultiblock multiblock, @Nonnull Level world, @Nullable Vec3i size) {
+        Vec3i keySize = multiblock instanceof IVariableSizeMultiblock ? size : null;
+        Key key = new Key(multiblock.getUniqueName(), keySize);
+
+        PalettedStructure cached = STRUCTURES.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Data-driven structures depend on the world's data packs, which the disk cache can't tell apart
+        boolean persistent = !multiblock.isDataDriven()
+            && (keySize == null || isPresetSize((IVariableSizeMultiblock) multiblock, keySize));
+        StructureDiskCache.Key diskKey = new StructureDiskCache.Key(key.multiblock(), keySize);
+        PalettedStructure structure = persistent ? StructureDiskCache.read(diskKey, multiblock) : null;
+        if (structure == null) {
+            synchronized (generationLock(multiblock.getModId())) {
+                // Another thread may have generated it while this one waited
+                cached = STRUCTURES.get(key);
+                if (cached != null) {
+                    return cached;
+                }
+                if (keySize != null) {
+                    structure = ((IVariableSizeMultiblock) multiblock).getPalettedStructureAtSize(world, keySize);
+                } else {
+                    structure = multiblock.getPalettedStructure(world);
+                }
+            }
+            if (persistent) {
+                StructureDiskCache.write(diskKey, multiblock, structure);
+            }
+        }
+
+        if (STRUCTURES.size() >= MAX_ENTRIES) {
+            clear();
+        }
+        // Another thread may have generated the same structure meanwhile; keep whichever landed first
+        PalettedStructure existing = STRUCTURES.putIfAbsent(key, structure);
+        return existing != null ? existing : structure;
+    }
+
+    /**
+     * @param size As for {@link #getStructure(IUniversalMultiblock, Level, Vec3i)}
+     * @return Items needed to build the structure, counted on first request
+     */
+    public static BillOfMaterials getBillOfMaterials(@Nonnull IUniversalMultiblock multiblock, @Nonnull Level world, @Nullable Vec3i size) {
+        Vec3i keySize = multiblock instanceof IVariableSizeMultiblock ? size : null;
+        Key key = new Key(multiblock.getUniqueName(), keySize);
+
+        BillOfMaterials cached = MATERIALS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        BillOfMaterials materials = BillOfMaterials.of(getStructure(multiblock, world, keySize));
+        BillOfMaterials existing = MATERIALS.putIfAbsent(key, materials);
+        return existing != null ? existing : materials;
+    }
+
+    /**
+     * @return The default size of a multiblock, asked from its adapter under the generation lock
+     */
+    public static Vec3i getSize(@Nonnull IUniversalMultiblock multiblock, @Nonnull Level world) {
+        synchronized (generationLock(multiblock.getModId())) {
+            return multiblock.getSize(world);
+        }
+    }
+
+    /**
+     * @return The lock held while calling into the adapter of a mod's multiblocks
+     */
+    public static Object generationLock(String modId) {
+        return GENERATION_LOCKS.computeIfAbsent(modId, id -> new Object());
+    }
+
+    private static boolean isPresetSize(IVariableSizeMultiblock multiblock, Vec3i size) {
+        for (IVariableSizeMultiblock.SizePreset preset : multiblock.getSizePresets()) {
+            if (preset.size().equals(size)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Drop all cached structures (e.g. when data packs that define structures may have changed)
+     */
+    public static void clear() {
+        STRUCTURES.clear();
+        MATERIALS.clear();
+    }
+}
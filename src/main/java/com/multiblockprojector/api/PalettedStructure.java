@@ -0,0 +1,480 @@
+package com.multiblockprojector.api;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.util.Mth;
+import net.minecraft.util.SimpleBitStorage;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate.StructureBlockInfo;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact, immutable form of a multiblock structure, laid out like a chunk section's
+ * {@code PalettedContainer}: a block state palette plus one packed palette index per cell of
+ * the bounding box. Palette index 0 marks an empty cell, so air blocks that are part of the
+ * structure stay distinguishable from cells the structure does not touch.
+ * <p>
+ * An 18x18x18 structure with a handful of distinct states packs into about 2KB, where the
+ * equivalent {@code List<StructureBlockInfo>} holds a {@link BlockPos} and record per block.
+ * Blocks are visited in layer order (y, then z, then x).
+ * <p>
+ * A structure with a {@link Symmetry} only stores the cells of its fundamental region; the
+ * mirrored half is expanded on access, with its states mirrored to match.
+ */
+public final class PalettedStructure {
+    private final BlockPos origin;
+    private final Vec3i dimensions;
+    private final Symmetry symmetry;
+    private final int regionWidth;
+    private final int regionDepth;
+    private final BlockState[] palette;
+    // Palette as seen from the mirrored halves, indexed by (mirrored across x ? 1 : 0) | (across z ? 2 : 0)
+    private final BlockState[][] mirroredPalettes;
+    private final SimpleBitStorage cells;
+    private final Int2ObjectMap<CompoundTag> blockEntityData;
+    private final int[] layerSizes;
+    private final int blockCount;
+
+    /**
+     * Visitor for the blocks of a structure.
+     */
+    @FunctionalInterface
+    public interface BlockVisitor {
+        /**
+         * @param index Running block index in visiting order, from 0 to {@link #size()} - 1
+         * @param pos Template position. Reused between calls; copy it with {@link BlockPos#immutable()} to keep it.
+         * @return true to stop visiting
+         */
+        boolean visit(int index, BlockPos pos, BlockState state);
+    }
+
+    /**
+     * Generator mapping a position inside a bounding box to the block there.
+     */
+    @FunctionalInterface
+    public interface StateFunction {
+        /**
+         * @return The state at the position, or null for no block
+         */
+        @Nullable
+        BlockState getStateAt(int x, int y, int z);
+    }
+
+    /**
+     * @param cells Palette indices of the fundamental region of {@code symmetry}
+     */
+    PalettedStructure(BlockPos origin, Vec3i dimensions, Symmetry symmetry, BlockState[] palette, SimpleBitStorage cells,
+                      Int2ObjectMap<CompoundTag> blockEntityData) {
+        this.origin = origin;
+        this.dimensions = dimensions;
+        this.symmetry = symmetry;
+        this.regionWidth = symmetry.regionWidth(dimensions.getX());
+        this.regionDepth = symmetry.regionDepth(dimensions.getZ());
+        this.palette = palette;
+        this.cells = cells;
+        this.blockEntityData = blockEntityData;
+
+        this.mirroredPalettes = new BlockState[4][];
+        mirroredPalettes[0] = palette;
+        for (int flags = 1; flags < 4; flags++) {
+            mirroredPalettes[flags] = new BlockState[palette.length];
+            for (int id = 1; id < palette.length; id++) {
+                mirroredPalettes[flags][id] = Symmetry.mirror(palette[id], (flags & 1) != 0, (flags & 2) != 0);
+            }
+        }
+
+        // Each stored cell off the center planes stands for its mirror images as well
+        this.layerSizes = new int[dimensions.getY()];
+        int count = 0;
+        int cell = 0;
+        for (int y = 0; y < dimensions.getY(); y++) {
+            for (int z = 0; z < regionDepth; z++) {
+                int copiesZ = symmetry.mirrorsZ() && z != dimensions.getZ() - 1 - z ? 2 : 1;
+                for (int x = 0; x < regionWidth; x++, cell++) {
+                    if (cells.get(cell) != 0) {
+                        int copies = copiesZ * (symmetry.mirrorsX() && x != dimensions.getX() - 1 - x ? 2 : 1);
+                        layerSizes[y] += copies;
+                        count += copies;
+                    }
+                }
+            }
+        }
+        this.blockCount = count;
+    }
+
+    /**
+     * Pack a block list. Later entries for the same position replace earlier ones.
+     */
+    public static PalettedStructure of(List<StructureBlockInfo> blocks) {
+        Builder builder = new Builder();
+        for (StructureBlockInfo info : blocks) {
+            builder.add(info.pos(), info.state(), info.nbt());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Pack a structure straight from a generator over the box from the origin to {@code dimensions},
+     * calling it once per cell, without collecting a block list first.
+     */
+    public static PalettedStructure generate(Vec3i dimensions, StateFunction generator) {
+        return generate(dimensions, Symmetry.NONE, generator);
+    }
+
+    /**
+     * Pack a symmetric structure from a generator that is only called for the fundamental region
+     * of {@code symmetry}. The generator is trusted to describe a structure with that symmetry.
+     */
+    public static PalettedStructure generate(Vec3i dimensions, Symmetry symmetry, StateFunction generator) {
+        int regionWidth = symmetry.regionWidth(dimensions.getX());
+        int regionDepth = symmetry.regionDepth(dimensions.getZ());
+        List<BlockState> palette = new ArrayList<>();
+        palette.add(null); // Index 0 marks empty cells
+        Object2IntMap<BlockState> paletteIds = new Object2IntOpenHashMap<>();
+        int[] ids = new int[regionWidth * dimensions.getY() * regionDepth];
+
+        int cell = 0;
+        for (int y = 0; y < dimensions.getY(); y++) {
+            for (int z = 0; z < regionDepth; z++) {
+                for (int x = 0; x < regionWidth; x++, cell++) {
+                    BlockState state = generator.getStateAt(x, y, z);
+                    if (state == null) continue;
+                    int id = paletteIds.getInt(state);
+                    if (id == 0) {
+                        id = palette.size();
+                        palette.add(state);
+                        paletteIds.put(state, id);
+                    }
+                    ids[cell] = id;
+                }
+            }
+        }
+
+        // The palette is only complete now, which fixes the bits per cell
+        SimpleBitStorage cells = new SimpleBitStorage(bitsFor(palette.size()), ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] != 0) {
+                cells.set(i, ids[i]);
+            }
+        }
+        return new PalettedStructure(BlockPos.ZERO, dimensions, symmetry, palette.toArray(new BlockState[0]), cells,
+            Int2ObjectMaps.emptyMap());
+    }
+
+    /**
+     * Pack a block list and store it folded if it really has the given symmetry
+     */
+    public static PalettedStructure of(List<StructureBlockInfo> blocks, Symmetry symmetry) {
+        return of(blocks).withSymmetry(symmetry);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @return Number of blocks in the structure
+     */
+    public int size() {
+        return blockCount;
+    }
+
+    public boolean isEmpty() {
+        return blockCount == 0;
+    }
+
+    /**
+     * @return Minimum corner of the bounding box in template coordinates
+     */
+    public BlockPos getOrigin() {
+        return origin;
+    }
+
+    /**
+     * @return Extent of the bounding box
+     */
+    public Vec3i getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * @return Symmetry the cells are stored with
+     */
+    public Symmetry getSymmetry() {
+        return symmetry;
+    }
+
+    /**
+     * @return The distinct block states of the stored cells. States in the mirrored half of a
+     *         symmetric structure are mirrored versions of these.
+     */
+    public List<BlockState> getPalette() {
+        return Collections.unmodifiableList(Arrays.asList(palette).subList(1, palette.length));
+    }
+
+    /**
+     * @return The state at a template position, or null if the structure has no block there
+     */
+    @Nullable
+    public BlockState getState(BlockPos pos) {
+        int dx = pos.getX() - origin.getX();
+        int dy = pos.getY() - origin.getY();
+        int dz = pos.getZ() - origin.getZ();
+        if (dx < 0 || dy < 0 || dz < 0 || dx >= dimensions.getX() || dy >= dimensions.getY() || dz >= dimensions.getZ()) {
+            return null;
+        }
+        return stateAt(dx, dy, dz);
+    }
+
+    /**
+     * @param dx Offset from the origin, inside the bounding box (likewise dy, dz)
+     */
+    @Nullable
+    private BlockState stateAt(int dx, int dy, int dz) {
+        int flags = 0;
+        if (dx >= regionWidth) {
+            dx = dimensions.getX() - 1 - dx;
+            flags |= 1;
+        }
+        if (dz >= regionDepth) {
+            dz = dimensions.getZ() - 1 - dz;
+            flags |= 2;
+        }
+        return mirroredPalettes[flags][cells.get((dy * regionDepth + dz) * regionWidth + dx)];
+    }
+
+    /**
+     * @return Block entity data at a template position, if the structure carries any
+     */
+    @Nullable
+    public CompoundTag getBlockEntityData(BlockPos pos) {
+        int cell = cellIndex(pos.getX(), pos.getY(), pos.getZ());
+        return cell < 0 ? null : blockEntityData.get(cell);
+    }
+
+    public boolean hasBlockEntityData() {
+        return !blockEntityData.isEmpty();
+    }
+
+    /**
+     * @return Number of blocks at template height {@code y}
+     */
+    public int getLayerSize(int y) {
+        int layer = y - origin.getY();
+        return layer >= 0 && layer < layerSizes.length ? layerSizes[layer] : 0;
+    }
+
+    /**
+     * Visit every block in layer order.
+     * @return true if the visitor stopped early
+     */
+    public boolean forEach(BlockVisitor visitor) {
+        return visitLayers(0, layerSizes.length, visitor);
+    }
+
+    /**
+     * Visit the blocks at template height {@code y}. Indices passed to the visitor start at 0.
+     * @return true if the visitor stopped early
+     */
+    public boolean forEachInLayer(int y, BlockVisitor visitor) {
+        int layer = y - origin.getY();
+        if (layer < 0 || layer >= layerSizes.length) return false;
+        return visitLayers(layer, layer + 1, visitor);
+    }
+
+    private boolean visitLayers(int fromLayer, int toLayer, BlockVisitor visitor) {
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        int index = 0;
+        for (int dy = fromLayer; dy < toLayer; dy++) {
+            if (layerSizes[dy] == 0) continue;
+            for (int dz = 0; dz < dimensions.getZ(); dz++) {
+                for (int dx = 0; dx < dimensions.getX(); dx++) {
+                    BlockState state = stateAt(dx, dy, dz);
+                    if (state == null) continue;
+                    pos.set(origin.getX() + dx, origin.getY() + dy, origin.getZ() + dz);
+                    if (visitor.visit(index++, pos, state)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Store this structure folded to the fundamental region of a symmetry, if every cell outside
+     * the region matches its mirror image. Structures with block entity data are kept as they are.
+     * @return The folded structure, or this one if it does not have the symmetry
+     */
+    public PalettedStructure withSymmetry(Symmetry target) {
+        if (target == symmetry || symmetry != Symmetry.NONE || hasBlockEntityData() || isEmpty()) {
+            return this;
+        }
+
+        int width = dimensions.getX();
+        int depth = dimensions.getZ();
+        for (int dy = 0; dy < dimensions.getY(); dy++) {
+            for (int dz = 0; dz < depth; dz++) {
+                boolean acrossZ = target.mirrorsZ() && dz >= target.regionDepth(depth);
+                for (int dx = 0; dx < width; dx++) {
+                    boolean acrossX = target.mirrorsX() && dx >= target.regionWidth(width);
+                    if (!acrossX && !acrossZ) continue;
+
+                    // Cells outside the region are dropped, so they must be exactly what unfolding recreates
+                    BlockState state = stateAt(dx, dy, dz);
+                    BlockState source = stateAt(acrossX ? width - 1 - dx : dx, dy, acrossZ ? depth - 1 - dz : dz);
+                    BlockState expected = source == null ? null : Symmetry.mirror(source, acrossX, acrossZ);
+                    if (state != expected) {
+                        return this;
+                    }
+                }
+            }
+        }
+
+        int regionWidth = target.regionWidth(width);
+        int regionDepth = target.regionDepth(depth);
+        SimpleBitStorage folded = new SimpleBitStorage(bitsFor(palette.length), regionWidth * dimensions.getY() * regionDepth);
+        int cell = 0;
+        for (int dy = 0; dy < dimensions.getY(); dy++) {
+            for (int dz = 0; dz < regionDepth; dz++) {
+                for (int dx = 0; dx < regionWidth; dx++, cell++) {
+                    int id = cells.get((dy * depth + dz) * width + dx);
+                    if (id != 0) {
+                        folded.set(cell, id);
+                    }
+                }
+            }
+        }
+        return new PalettedStructure(origin, dimensions, target, palette, folded, Int2ObjectMaps.emptyMap());
+    }
+
+    /**
+     * @return Copy of the packed palette indices, one per cell of the fundamental region in layer order
+     */
+    public long[] getPackedCells() {
+        return cells.getRaw().clone();
+    }
+
+    /**
+     * Expand back into a block list, for APIs that need one. Allocates per block.
+     */
+    public List<StructureBlockInfo> toList() {
+        List<StructureBlockInfo> blocks = new ArrayList<>(blockCount);
+        forEach((index, pos, state) -> {
+            BlockPos immutable = pos.immutable();
+            blocks.add(new StructureBlockInfo(immutable, state, getBlockEntityData(immutable)));
+            return false;
+        });
+        return blocks;
+    }
+
+    /**
+     * Index of a cell in an unfolded structure; only used for block entity data, which folded structures never carry
+     */
+    private int cellIndex(int x, int y, int z) {
+        int dx = x - origin.getX();
+        int dy = y - origin.getY();
+        int dz = z - origin.getZ();
+        if (dx < 0 || dy < 0 || dz < 0 || dx >= dimensions.getX() || dy >= dimensions.getY() || dz >= dimensions.getZ()) {
+            return -1;
+        }
+        return (dy * dimensions.getZ() + dz) * dimensions.getX() + dx;
+    }
+
+    /**
+     * Rebuild a structure from the contents of {@link #getPalette()} and {@link #getPackedCells()}
+     */
+    static PalettedStructure fromRaw(BlockPos origin, Vec3i dimensions, Symmetry symmetry, BlockState[] states, long[] data) {
+        BlockState[] palette = new BlockState[states.length + 1];
+        System.arraycopy(states, 0, palette, 1, states.length);
+        int cellCount = symmetry.regionWidth(dimensions.getX()) * dimensions.getY() * symmetry.regionDepth(dimensions.getZ());
+        return new PalettedStructure(origin, dimensions, symmetry, palette,
+            new SimpleBitStorage(bitsFor(palette.length), cellCount, data), Int2ObjectMaps.emptyMap());
+    }
+
+    private static int bitsFor(int paletteSize) {
+        return Math.max(1, Mth.ceillog2(paletteSize));
+    }
+
+    /**
+     * Collects blocks in any order and packs them once the bounds are known.
+     */
+    public static final class Builder {
+        private final LongArrayList positions = new LongArrayList();
+        private final IntArrayList stateIds = new IntArrayList();
+        private final List<BlockState> palette = new ArrayList<>();
+        private final Object2IntMap<BlockState> paletteIds = new Object2IntOpenHashMap<>();
+        private final List<CompoundTag> blockEntityData = new ArrayList<>();
+
+        private Builder() {
+            palette.add(null); // Index 0 marks empty cells
+        }
+
+        public Builder add(int x, int y, int z, BlockState state) {
+            return add(new BlockPos(x, y, z), state, null);
+        }
+
+        public Builder add(BlockPos pos, BlockState state, @Nullable CompoundTag nbt) {
+            int id = paletteIds.getInt(state);
+            if (id == 0) {
+                id = palette.size();
+                palette.add(state);
+                paletteIds.put(state, id);
+            }
+            positions.add(pos.asLong());
+            stateIds.add(id);
+            blockEntityData.add(nbt);
+            return this;
+        }
+
+        public PalettedStructure build() {
+            if (positions.isEmpty()) {
+                return new PalettedStructure(BlockPos.ZERO, Vec3i.ZERO, Symmetry.NONE, new BlockState[]{null},
+                    new SimpleBitStorage(1, 0), Int2ObjectMaps.emptyMap());
+            }
+
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+            for (int i = 0; i < positions.size(); i++) {
+                long packed = positions.getLong(i);
+                int x = BlockPos.getX(packed), y = BlockPos.getY(packed), z = BlockPos.getZ(packed);
+                minX = Math.min(minX, x); minY = Math.min(minY, y); minZ = Math.min(minZ, z);
+                maxX = Math.max(maxX, x); maxY = Math.max(maxY, y); maxZ = Math.max(maxZ, z);
+            }
+
+            BlockPos origin = new BlockPos(minX, minY, minZ);
+            Vec3i dimensions = new Vec3i(maxX - minX + 1, maxY - minY + 1, maxZ - minZ + 1);
+            SimpleBitStorage cells = new SimpleBitStorage(bitsFor(palette.size()),
+                dimensions.getX() * dimensions.getY() * dimensions.getZ());
+            Int2ObjectMap<CompoundTag> nbt = new Int2ObjectOpenHashMap<>();
+
+            for (int i = 0; i < positions.size(); i++) {
+                long packed = positions.getLong(i);
+                int cell = ((BlockPos.getY(packed) - minY) * dimensions.getZ() + (BlockPos.getZ(packed) - minZ))
+                    * dimensions.getX() + (BlockPos.getX(packed) - minX);
+                cells.set(cell, stateIds.getInt(i));
+                if (blockEntityData.get(i) != null) {
+                    nbt.put(cell, blockEntityData.get(i));
+                } else {
+                    nbt.remove(cell);
+                }
+            }
+
+            return new PalettedStructure(origin, dimensions, Symmetry.NONE, palette.toArray(new BlockState[0]), cells,
+                nbt.isEmpty() ? Int2ObjectMaps.emptyMap() : Int2ObjectMaps.unmodifiable(nbt));
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package com.multiblockprojector.api;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.multiblockprojector.UniversalProjector;
+import net.minecraft.Util;
+import net.minecraft.commands.arguments.blocks.BlockStateParser;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.fml.ModList;
+import net.neoforged.fml.loading.FMLPaths;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary cache of generated structures under {@code <gamedir>/multiblockprojector/structures.bin},
+ * so multiblocks do not have to be regenerated through reflection on every launch.
+ * <p>
+ * The file starts with an index of (multiblock id, size, version hash, offset, length) records;
+ * entry data follows as a {@link PalettedStructure}: bounds, symmetry, block state palette and packed
+ * cells (of the fundamental region only, for symmetric structures). Offsets are
+ * relative to the end of the index. The file is memory-mapped on load and entries are only
+ * decoded when requested. Entries whose version hash (this mod's version, the providing mod's
+ * version and {@link #FORMAT_VERSION}) no longer matches are ignored and regenerated.
+ * <p>
+ * Updates are written to a sibling {@code .new} file which replaces the cache on the next load,
+ * because a mapped file cannot be replaced on every platform while it is in use.
+ */
+class StructureDiskCache {
+    private static final int MAGIC = 0x4D425053; // "MBPS"
+    // Bump when the binary layout or any structure generator output changes
+    private static final int FORMAT_VERSION = 3;
+
+    private static final Path CACHE_FILE = FMLPaths.GAMEDIR.get().resolve(UniversalProjector.MODID).resolve("structures.bin");
+    private static final Path PENDING_FILE = CACHE_FILE.resolveSibling("structures.bin.new");
+
+    /**
+     * @param size Null for the default structure of a multiblock
+     */
+    record Key(ResourceLocation multiblock, @Nullable Vec3i size) {}
+
+    private record Entry(long versionHash, ByteBuffer data) {}
+
+    private static final Object SAVE_LOCK = new Object();
+    private static Map<Key, Entry> entries;
+    private static boolean saveScheduled = false;
+
+    /**
+     * @return The cached structure, or null if it is missing, outdated or no longer decodes
+     */
+    @Nullable
+    static synchronized PalettedStructure read(Key key, IUniversalMultiblock multiblock) {
+        ensureLoaded();
+        Entry entry = entries.get(key);
+        if (entry == null || entry.versionHash() != versionHash(multiblock)) {
+            return null;
+        }
+        try {
+            return decode(entry.data().duplicate());
+        } catch (RuntimeException e) {
+            // Unknown block (mod removed) or a damaged entry: regenerate it
+            UniversalProjector.LOGGER.debug("Discarding cached structure {}", key, e);
+            entries.remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Store a freshly generated structure; written to disk in the background
+     */
+    static synchronized void write(Key key, IUniversalMultiblock multiblock, PalettedStructure structure) {
+        if (structure.hasBlockEntityData()) {
+            return; // Block entity data is not cached
+        }
+
+        ensureLoaded();
+        entries.put(key, new Entry(versionHash(multiblock), ByteBuffer.wrap(encode(structure))));
+        if (!saveScheduled) {
+            saveScheduled = true;
+            // Entries added before the save task runs are written along with this one
+            Util.ioPool().execute(StructureDiskCache::save);
+        }
+    }
+
+    private static void ensureLoaded() {
+        if (entries != null) return;
+        entries = new HashMap<>();
+
+        try {
+            if (Files.isRegularFile(PENDING_FILE)) {
+                Files.move(PENDING_FILE, CACHE_FILE, StandardCopyOption.REPLACE_EXISTING);
+            }
+            if (!Files.isRegularFile(CACHE_FILE)) {
+                return;
+            }
+
+            ByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(CACHE_FILE, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return;
+            }
+
+            int count = buffer.getInt();
+            Key[] keys = new Key[count];
+            long[] versionHashes = new long[count];
+            int[] offsets = new int[count];
+            int[] lengths = new int[count];
+            for (int i = 0; i < count; i++) {
+                ResourceLocation id = ResourceLocation.parse(readString(buffer));
+                Vec3i size = buffer.get() != 0 ? new Vec3i(buffer.getInt(), buffer.getInt(), buffer.getInt()) : null;
+                keys[i] = new Key(id, size);
+                versionHashes[i] = buffer.getLong();
+                offsets[i] = buffer.getInt();
+                lengths[i] = buffer.getInt();
+            }
+
+            int dataStart = buffer.position();
+            for (int i = 0; i < count; i++) {
+                entries.put(keys[i], new Entry(versionHashes[i], buffer.slice(dataStart + offsets[i], lengths[i])));
+            }
+            UniversalProjector.LOGGER.debug("Mapped {} cached multiblock structures", count);
+        } catch (IOException | RuntimeException e) {
+            UniversalProjector.LOGGER.warn("Ignoring unreadable multiblock structure cache", e);
+            entries.clear();
+        }
+    }
+
+    private static void save() {
+        synchronized (SAVE_LOCK) {
+            Map<Key, Entry> snapshot;
+            synchronized (StructureDiskCache.class) {
+                saveScheduled = false;
+                snapshot = new LinkedHashMap<>(entries);
+            }
+            writeFile(snapshot);
+        }
+    }
+
+    private static void writeFile(Map<Key, Entry> snapshot) {
+        try {
+            // Index first, then the data it points at
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            DataOutputStream index = new DataOutputStream(indexBytes);
+            List<ByteBuffer> data = new ArrayList<>(snapshot.size());
+            int dataOffset = 0;
+            for (Map.Entry<Key, Entry> e : snapshot.entrySet()) {
+                Key key = e.getKey();
+                ByteBuffer entryData = e.getValue().data().duplicate();
+                writeString(index, key.multiblock().toString());
+                index.writeBoolean(key.size() != null);
+                if (key.size() != null) {
+                    index.writeInt(key.size().getX());
+                    index.writeInt(key.size().getY());
+                    index.writeInt(key.size().getZ());
+                }
+                index.writeLong(e.getValue().versionHash());
+                index.writeInt(dataOffset);
+                index.writeInt(entryData.remaining());
+                dataOffset += entryData.remaining();
+                data.add(entryData);
+            }
+
+            Files.createDirectories(PENDING_FILE.getParent());
+            try (FileChannel channel = FileChannel.open(PENDING_FILE, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(12 + indexBytes.size());
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(snapshot.size());
+                header.put(indexBytes.toByteArray());
+                header.flip();
+                channel.write(header);
+                for (ByteBuffer entryData : data) {
+                    channel.write(entryData);
+                }
+            }
+        } catch (IOException e) {
+            UniversalProjector.LOGGER.warn("Failed to write multiblock structure cache", e);
+        }
+    }
+
+    private static byte[] encode(PalettedStructure structure) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            BlockPos origin = structure.getOrigin();
+            Vec3i dimensions = structure.getDimensions();
+            writeVarInt(out, zigZag(origin.getX()));
+            writeVarInt(out, zigZag(origin.getY()));
+            writeVarInt(out, zigZag(origin.getZ()));
+            writeVarInt(out, dimensions.getX());
+            writeVarInt(out, dimensions.getY());
+            writeVarInt(out, dimensions.getZ());
+            out.write(structure.getSymmetry().ordinal());
+
+            List<BlockState> palette = structure.getPalette();
+            writeVarInt(out, palette.size());
+            for (BlockState state : palette) {
+                writeString(out, BlockStateParser.serialize(state));
+            }
+
+            // Packed cells are stored as-is, so reading back needs no per-block work
+            long[] cells = structure.getPackedCells();
+            writeVarInt(out, cells.length);
+            for (long word : cells) {
+                out.writeLong(word);
+            }
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e);
+        }
+    }
+
+    private static PalettedStructure decode(ByteBuffer in) {
+        try {
+            BlockPos origin = new BlockPos(unZigZag(readVarInt(in)), unZigZag(readVarInt(in)), unZigZag(readVarInt(in)));
+            Vec3i dimensions = new Vec3i(readVarInt(in), readVarInt(in), readVarInt(in));
+            Symmetry symmetry = Symmetry.values()[in.get()];
+
+            BlockState[] palette = new BlockState[readVarInt(in)];
+            for (int i = 0; i < palette.length; i++) {
+                palette[i] = BlockStateParser.parseForBlock(BuiltInRegistries.BLOCK.asLookup(), readString(in), false).blockState();
+            }
+
+            long[] cells = new long[readVarInt(in)];
+            in.asLongBuffer().get(cells);
+            in.position(in.position() + cells.length * Long.BYTES);
+            return PalettedStructure.fromRaw(origin, dimensions, symmetry, palette, cells);
+        } catch (com.mojang.brigadier.exceptions.CommandSyntaxException e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalStateException("Truncated cache entry", e);
+        }
+    }
+
+    private static long versionHash(IUniversalMultiblock multiblock) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putInt(FORMAT_VERSION);
+        hasher.putUnencodedChars(modVersion(UniversalProjector.MODID));
+        hasher.putUnencodedChars(multiblock.getModId());
+        hasher.putUnencodedChars(modVersion(multiblock.getModId()));
+        return hasher.hash().asLong();
+    }
+
+    private static String modVersion(String modId) {
+        return ModList.get().getModContainerById(modId)
+            .map(container -> container.getModInfo().getVersion().toString())
+            .orElse("unknown");
+    }
+
+    private static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int readVarInt(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+            if (shift > 35) {
+                throw new IllegalStateException("VarInt too big");
+            }
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static void writeString(OutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
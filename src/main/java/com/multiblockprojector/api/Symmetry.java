@@ -0,0 +1,62 @@
+package com.multiblockprojector.api;
+
+import net.minecraft.world.level.block.Mirror;
+import net.minecraft.world.level.block.state.BlockState;
+
+/**
+ * Mirror symmetry of a structure's bounding box across its center planes.
+ * A symmetric structure is fully described by its fundamental region: the low half (rounded up)
+ * of each mirrored axis. The other half repeats it with mirrored block states.
+ */
+public enum Symmetry {
+    NONE(false, false),
+    /** Mirrored across the YZ plane: x maps to width - 1 - x */
+    MIRROR_X(true, false),
+    /** Mirrored across the XY plane: z maps to depth - 1 - z */
+    MIRROR_Z(false, true),
+    MIRROR_XZ(true, true);
+
+    private final boolean mirrorsX;
+    private final boolean mirrorsZ;
+
+    Symmetry(boolean mirrorsX, boolean mirrorsZ) {
+        this.mirrorsX = mirrorsX;
+        this.mirrorsZ = mirrorsZ;
+    }
+
+    public static Symmetry of(boolean mirrorsX, boolean mirrorsZ) {
+        return mirrorsX ? (mirrorsZ ? MIRROR_XZ : MIRROR_X) : (mirrorsZ ? MIRROR_Z : NONE);
+    }
+
+    public boolean mirrorsX() {
+        return mirrorsX;
+    }
+
+    public boolean mirrorsZ() {
+        return mirrorsZ;
+    }
+
+    /**
+     * @return Width of the fundamental region for a structure {@code width} blocks wide
+     */
+    public int regionWidth(int width) {
+        return mirrorsX ? (width + 1) / 2 : width;
+    }
+
+    /**
+     * @return Depth of the fundamental region for a structure {@code depth} blocks deep
+     */
+    public int regionDepth(int depth) {
+        return mirrorsZ ? (depth + 1) / 2 : depth;
+    }
+
+    /**
+     * @return The state as it appears mirrored across the given axes
+     */
+    public static BlockState mirror(BlockState state, boolean acrossX, boolean acrossZ) {
+        // FRONT_BACK swaps east and west, LEFT_RIGHT swaps north and south
+        if (acrossX) state = state.mirror(Mirror.FRONT_BACK);
+        if (acrossZ) state = state.mirror(Mirror.LEFT_RIGHT);
+        return state;
+    }
+}
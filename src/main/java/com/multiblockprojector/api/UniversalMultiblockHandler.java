@@ -4,13 +4,19 @@ import com.multiblockprojector.UniversalProjector;
 import com.multiblockprojector.api.adapters.BloodMagicMultiblockAdapter;
 import com.multiblockprojector.api.adapters.IEMultiblockAdapter;
 import com.multiblockprojector.api.adapters.MekanismMultiblockAdapter;
+import net.minecraft.Util;
 import net.minecraft.resources.ResourceLocation;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Central registry for all discovered multiblocks from various mods
@@ -18,8 +24,21 @@ import java.util.Map;
 public class UniversalMultiblockHandler {
     
     private static final List<IUniversalMultiblock> MULTIBLOCKS = new ArrayList<>();
-    private static final Map<ResourceLocation, IUniversalMultiblock> BY_NAME = new HashMap<>();
+    private static final Map<ResourceLocation, IUniversalMultiblock> BY_NAME = new ConcurrentHashMap<>();
     private static final Map<String, List<IUniversalMultiblock>> BY_MOD = new HashMap<>();
+
+    // Adapters register from background threads; set once discovery has been started
+    private static volatile CompletableFuture<Void> discovery;
+
+    // Sorted, immutable views; rebuilt lazily after registration or a language change
+    private static volatile SortedViews sortedViews;
+
+    /**
+     * Immutable snapshot of the registry in display-name order
+     */
+    private record SortedViews(List<IUniversalMultiblock> all,
+                               Map<String, List<IUniversalMultiblock>> byMod,
+                               Map<String, List<IUniversalMultiblock>> byCategory) {}
     
     /**
      * Register a multiblock with the universal handler
@@ -35,20 +54,66 @@ public class UniversalMultiblockHandler {
         MULTIBLOCKS.add(multiblock);
         BY_NAME.put(multiblock.getUniqueName(), multiblock);
         BY_MOD.computeIfAbsent(multiblock.getModId(), k -> new ArrayList<>()).add(multiblock);
+        sortedViews = null;
         
         UniversalProjector.LOGGER.debug("Registered multiblock: {} from {}", 
             multiblock.getUniqueName(), multiblock.getModId());
     }
     
     /**
-     * @return All registered multiblocks in alphabetical order
+     * @return All registered multiblocks in alphabetical order (immutable)
      */
     public static List<IUniversalMultiblock> getMultiblocks() {
-        List<IUniversalMultiblock> sorted = new ArrayList<>(MULTIBLOCKS);
-        sorted.sort((a, b) -> a.getDisplayName().getString().compareToIgnoreCase(b.getDisplayName().getString()));
-        return sorted;
+        return getSortedViews().all();
     }
-    
+
+    /**
+     * Drop the sorted views so they are rebuilt with current display names.
+     * Called when the client language or resources are reloaded.
+     */
+    public static void invalidateSortedViews() {
+        sortedViews = null;
+    }
+
+    private static SortedViews getSortedViews() {
+        SortedViews views = sortedViews;
+        if (views == null) {
+            synchronized (UniversalMultiblockHandler.class) {
+                views = sortedViews;
+                if (views == null) {
+                    views = buildSortedViews();
+                    sortedViews = views;
+                }
+            }
+        }
+        return views;
+    }
+
+    private static SortedViews buildSortedViews() {
+        // Resolve each display name once; IE names go through reflection
+        record Named(String name, IUniversalMultiblock multiblock) {}
+        Named[] named = new Named[MULTIBLOCKS.size()];
+        for (int i = 0; i < named.length; i++) {
+            IUniversalMultiblock multiblock = MULTIBLOCKS.get(i);
+            named[i] = new Named(multiblock.getDisplayName().getString(), multiblock);
+        }
+        Arrays.sort(named, Comparator.comparing(Named::name, String.CASE_INSENSITIVE_ORDER));
+
+        List<IUniversalMultiblock> all = new ArrayList<>(named.length);
+        Map<String, List<IUniversalMultiblock>> byMod = new LinkedHashMap<>();
+        Map<String, List<IUniversalMultiblock>> byCategory = new LinkedHashMap<>();
+        for (Named entry : named) {
+            IUniversalMultiblock multiblock = entry.multiblock();
+            all.add(multiblock);
+            byMod.computeIfAbsent(multiblock.getModId(), k -> new ArrayList<>()).add(multiblock);
+            byCategory.computeIfAbsent(multiblock.getCategory(), k -> new ArrayList<>()).add(multiblock);
+        }
+
+        byMod.replaceAll((k, v) -> List.copyOf(v));
+        byCategory.replaceAll((k, v) -> List.copyOf(v));
+        return new SortedViews(List.copyOf(all), Map.copyOf(byMod), Map.copyOf(byCategory));
+    }
+
     /**
      * Get multiblock by unique name
      */
@@ -58,43 +123,51 @@ public class UniversalMultiblockHandler {
     }
     
     /**
-     * Get all multiblocks from a specific mod
+     * Get all multiblocks from a specific mod, in alphabetical order (immutable)
      */
     public static List<IUniversalMultiblock> getMultiblocksFromMod(String modId) {
-        return new ArrayList<>(BY_MOD.getOrDefault(modId, new ArrayList<>()));
+        return getSortedViews().byMod().getOrDefault(modId, List.of());
+    }
+
+    /**
+     * Get all multiblocks in a category (see {@link IUniversalMultiblock#getCategory()}), in alphabetical order (immutable)
+     */
+    public static List<IUniversalMultiblock> getMultiblocksInCategory(String category) {
+        return getSortedViews().byCategory().getOrDefault(category, List.of());
     }
     
     /**
-     * Discover and register multiblocks from all available mods
+     * Discover and register multiblocks from all available mods, blocking until done.
+     * Prefer {@link #startDiscovery()} where the caller does not need the result immediately.
      */
     public static void discoverMultiblocks() {
+        startDiscovery().join();
+    }
+
+    /**
+     * Start multiblock discovery in the background if it has not been started yet.
+     * Each mod adapter runs as its own task; the registry is safe to register into concurrently.
+     * @return Future completing once every adapter has finished
+     */
+    public static synchronized CompletableFuture<Void> startDiscovery() {
+        if (discovery != null) {
+            return discovery;
+        }
+
         UniversalProjector.LOGGER.info("Discovering multiblocks from installed mods...");
-        
-        int realMultiblocksFound = 0;
-        
+        List<CompletableFuture<Void>> adapters = new ArrayList<>();
+
         // Try to load IE multiblocks if available
         if (isModLoaded("immersiveengineering")) {
-            try {
-                int beforeCount = MULTIBLOCKS.size();
-                IEMultiblockAdapter.registerIEMultiblocks();
-                realMultiblocksFound += MULTIBLOCKS.size() - beforeCount;
-            } catch (Exception e) {
-                UniversalProjector.LOGGER.error("Failed to load Immersive Engineering multiblocks", e);
-            }
+            adapters.add(runAdapter("immersiveengineering", "Immersive Engineering multiblocks",
+                IEMultiblockAdapter::registerIEMultiblocks));
         }
-        
+
         // Try to load Mekanism multiblocks if available
         if (isModLoaded("mekanism")) {
             UniversalProjector.LOGGER.info("Mekanism mod detected, loading multiblocks...");
-            try {
-                int beforeCount = MULTIBLOCKS.size();
-                MekanismMultiblockAdapter.registerAllMultiblocks();
-                int mekanismCount = MULTIBLOCKS.size() - beforeCount;
-                realMultiblocksFound += mekanismCount;
-                UniversalProjector.LOGGER.info("Successfully loaded {} Mekanism multiblock(s)", mekanismCount);
-            } catch (Exception e) {
-                UniversalProjector.LOGGER.error("Failed to load Mekanism multiblocks", e);
-            }
+            adapters.add(runAdapter("mekanism", "Mekanism multiblock(s)",
+                MekanismMultiblockAdapter::registerAllMultiblocks));
         } else {
             UniversalProjector.LOGGER.info("Mekanism mod not detected");
         }
@@ -102,41 +175,71 @@ public class UniversalMultiblockHandler {
         // Try to load Blood Magic multiblocks if available
         if (isModLoaded("bloodmagic")) {
             UniversalProjector.LOGGER.info("Blood Magic mod detected, loading altar tiers...");
-            try {
-                int beforeCount = MULTIBLOCKS.size();
-                BloodMagicMultiblockAdapter.registerAllMultiblocks();
-                int bloodMagicCount = MULTIBLOCKS.size() - beforeCount;
-                realMultiblocksFound += bloodMagicCount;
-                UniversalProjector.LOGGER.info("Successfully loaded {} Blood Magic altar tier(s)", bloodMagicCount);
-            } catch (Exception e) {
-                UniversalProjector.LOGGER.error("Failed to load Blood Magic altar tiers", e);
-            }
+            adapters.add(runAdapter("bloodmagic", "Blood Magic altar tier(s)",
+                BloodMagicMultiblockAdapter::registerAllMultiblocks));
         } else {
             UniversalProjector.LOGGER.info("Blood Magic mod not detected");
         }
 
         // TODO: Add adapters for other mods (Create, etc.)
-        
+
+        discovery = CompletableFuture.allOf(adapters.toArray(CompletableFuture[]::new))
+            .thenRun(UniversalMultiblockHandler::finishDiscovery);
+        return discovery;
+    }
+
+    /**
+     * @return true once discovery has finished and the catalog is complete
+     */
+    public static boolean isDiscoveryComplete() {
+        CompletableFuture<Void> future = discovery;
+        return future != null && future.isDone();
+    }
+
+    private static CompletableFuture<Void> runAdapter(String modId, String description, Runnable adapter) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                // Structures of the mod can't be generated while its adapter is still registering
+                synchronized (MultiblockStructureCache.generationLock(modId)) {
+                    adapter.run();
+                }
+                UniversalProjector.LOGGER.info("Successfully loaded {} {}", countFromMod(modId), description);
+            } catch (Exception e) {
+                UniversalProjector.LOGGER.error("Failed to load {}", description, e);
+            }
+        }, Util.backgroundExecutor());
+    }
+
+    private static void finishDiscovery() {
         // Only register test multiblocks if no real multiblocks were found
-        // Check total registered multiblocks instead of just this call's count to handle duplicate calls
+        // Check total registered multiblocks to handle duplicate calls
         int totalRealMultiblocks = 0;
-        for (IUniversalMultiblock mb : MULTIBLOCKS) {
-            if (!mb.getModId().equals("multiblockprojector")) { // Not test multiblocks
-                totalRealMultiblocks++;
+        synchronized (UniversalMultiblockHandler.class) {
+            for (IUniversalMultiblock mb : MULTIBLOCKS) {
+                if (!mb.getModId().equals("multiblockprojector")) { // Not test multiblocks
+                    totalRealMultiblocks++;
+                }
             }
         }
-        
+
         if (totalRealMultiblocks == 0) {
             UniversalProjector.LOGGER.info("No real multiblocks found, registering test multiblocks for development");
             TestMultiblock.registerTestMultiblocks();
         } else {
             UniversalProjector.LOGGER.info("Found {} real multiblocks, skipping test multiblocks", totalRealMultiblocks);
         }
-        
-        UniversalProjector.LOGGER.info("Discovered {} total multiblocks from {} mods", 
-            MULTIBLOCKS.size(), BY_MOD.size());
+
+        synchronized (UniversalMultiblockHandler.class) {
+            UniversalProjector.LOGGER.info("Discovered {} total multiblocks from {} mods",
+                MULTIBLOCKS.size(), BY_MOD.size());
+        }
     }
-    
+
+    private static synchronized int countFromMod(String modId) {
+        List<IUniversalMultiblock> fromMod = BY_MOD.get(modId);
+        return fromMod != null ? fromMod.size() : 0;
+    }
+
     private static boolean isModLoaded(String modId) {
         try {
             return net.neoforged.fml.ModList.get().isLoaded(modId);
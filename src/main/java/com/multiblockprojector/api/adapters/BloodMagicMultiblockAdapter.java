@@ -3,6 +3,7 @@ package com.multiblockprojector.api.adapters;
 import com.multiblockprojector.UniversalProjector;
 import com.multiblockprojector.api.ICyclingBlockMultiblock;
 import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.api.Symmetry;
 import com.multiblockprojector.api.UniversalMultiblockHandler;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Vec3i;
@@ -58,7 +59,8 @@ public class BloodMagicMultiblockAdapter {
         Blocks.POLISHED_BLACKSTONE_BRICKS.defaultBlockState()
     );
 
-    private static boolean blocksLoaded = false;
+    // Blocks are resolved on first structure request, not at discovery
+    private static volatile boolean blocksLoaded = false;
 
     // Basic rune field names (11 types)
     private static final String[] BASIC_RUNE_NAMES = {
@@ -75,12 +77,18 @@ public class BloodMagicMultiblockAdapter {
     };
 
     /**
-     * Load Blood Magic blocks via reflection
+     * Load Blood Magic blocks via reflection. Only the first call does any work.
      */
     private static void loadBlocks() {
         if (blocksLoaded) return;
-        blocksLoaded = true;
+        synchronized (BloodMagicMultiblockAdapter.class) {
+            if (blocksLoaded) return;
+            loadBlocksReflectively();
+            blocksLoaded = true;
+        }
+    }
 
+    private static void loadBlocksReflectively() {
         try {
             Class<?> bmBlocksClass = Class.forName("wayoftime.bloodmagic.common.block.BMBlocks");
 
@@ -163,8 +171,6 @@ public class BloodMagicMultiblockAdapter {
      * Register all Blood Magic altar tiers
      */
     public static void registerAllMultiblocks() {
-        loadBlocks();
-
         UniversalProjector.LOGGER.info("Registering Blood Magic altar tiers...");
 
         // Register all 6 altar tiers
@@ -224,16 +230,56 @@ public class BloodMagicMultiblockAdapter {
     // Base class for altar tiers with cycling support
     // ============================================
     private static abstract class BaseAltarMultiblock implements ICyclingBlockMultiblock {
-        protected final Set<BlockPos> runePositions = new HashSet<>();
         protected final int tier;
 
+        // Built once on first use; rune positions are filled while the structure is built
+        private volatile List<StructureBlockInfo> structure;
+        private Set<BlockPos> runePositions = Set.of();
+        private Set<BlockPos> pendingRunePositions;
+
         protected BaseAltarMultiblock(int tier) {
             this.tier = tier;
         }
 
+        /**
+         * Add all blocks of this tier, registering rune positions with {@link #addRunePosition}
+         */
+        protected abstract void buildStructure(List<StructureBlockInfo> blocks);
+
+        @Override
+        public final List<StructureBlockInfo> getStructure(@Nonnull Level world) {
+            return ensureBuilt();
+        }
+
+        private List<StructureBlockInfo> ensureBuilt() {
+            List<StructureBlockInfo> built = structure;
+            if (built == null) {
+                synchronized (this) {
+                    built = structure;
+                    if (built == null) {
+                        loadBlocks();
+                        List<StructureBlockInfo> blocks = new ArrayList<>();
+                        pendingRunePositions = new HashSet<>();
+                        buildStructure(blocks);
+                        runePositions = Set.copyOf(pendingRunePositions);
+                        pendingRunePositions = null;
+                        built = List.copyOf(blocks);
+                        structure = built;
+                    }
+                }
+            }
+            return built;
+        }
+
+        private Set<BlockPos> getRunePositions() {
+            // Rune positions are only known once the structure has been built
+            ensureBuilt();
+            return runePositions;
+        }
+
         @Override
         public List<BlockState> getAcceptableBlocks(BlockPos structurePos) {
-            if (runePositions.contains(structurePos)) {
+            if (getRunePositions().contains(structurePos)) {
                 return getRunesForTier(tier);
             }
             return List.of();
@@ -241,18 +287,24 @@ public class BloodMagicMultiblockAdapter {
 
         @Override
         public boolean hasCyclingBlocks(BlockPos structurePos) {
-            return runePositions.contains(structurePos);
+            return getRunePositions().contains(structurePos);
         }
 
         @Override
         public BlockState getDefaultBlock(BlockPos structurePos) {
-            if (runePositions.contains(structurePos)) {
+            if (getRunePositions().contains(structurePos)) {
                 return getRuneBlock(); // Blank rune for creative auto-build
             }
             // For non-rune positions, return null to indicate use normal block
             return null;
         }
 
+        @Override
+        public Symmetry getSymmetry() {
+            // Every tier is laid out symmetrically around the altar
+            return Symmetry.MIRROR_XZ;
+        }
+
         @Override
         public String getModId() { return "bloodmagic"; }
 
@@ -260,7 +312,7 @@ public class BloodMagicMultiblockAdapter {
         public String getCategory() { return "altar"; }
 
         protected void addRunePosition(BlockPos pos) {
-            runePositions.add(pos.immutable());
+            pendingRunePositions.add(pos.immutable());
         }
     }
 
@@ -285,9 +337,8 @@ public class BloodMagicMultiblockAdapter {
 
         @Override
         public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            blocks.add(new StructureBlockInfo(BlockPos.ZERO, getAltarBlock(), null));
-            return blocks;
+            loadBlocks();
+            return List.of(new StructureBlockInfo(BlockPos.ZERO, getAltarBlock(), null));
         }
 
         @Override
@@ -324,9 +375,7 @@ public class BloodMagicMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            runePositions.clear();
+        protected void buildStructure(List<StructureBlockInfo> blocks) {
 
             // Altar at center, y=1
             blocks.add(new StructureBlockInfo(new BlockPos(1, 1, 1), getAltarBlock(), null));
@@ -340,8 +389,6 @@ public class BloodMagicMultiblockAdapter {
                     addRunePosition(pos);
                 }
             }
-
-            return blocks;
         }
 
         @Override
@@ -372,9 +419,7 @@ public class BloodMagicMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            runePositions.clear();
+        protected void buildStructure(List<StructureBlockInfo> blocks) {
             int centerX = 3, centerZ = 3, altarY = 2;
 
             // Altar at center
@@ -417,8 +462,6 @@ public class BloodMagicMultiblockAdapter {
                     new BlockPos(centerX + pos[0], altarY + 1, centerZ + pos[1]),
                     getT3Capstone(), null));
             }
-
-            return blocks;
         }
 
         @Override
@@ -449,9 +492,7 @@ public class BloodMagicMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            runePositions.clear();
+        protected void buildStructure(List<StructureBlockInfo> blocks) {
             int centerX = 5, centerZ = 5, altarY = 3;
 
             // Altar at center
@@ -521,8 +562,6 @@ public class BloodMagicMultiblockAdapter {
                     new BlockPos(centerX + pos[0], altarY + 2, centerZ + pos[1]),
                     getT4Capstone(), null));
             }
-
-            return blocks;
         }
 
         @Override
@@ -553,9 +592,7 @@ public class BloodMagicMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            runePositions.clear();
+        protected void buildStructure(List<StructureBlockInfo> blocks) {
             int centerX = 8, centerZ = 8, altarY = 4;
 
             // Altar at center
@@ -646,8 +683,6 @@ public class BloodMagicMultiblockAdapter {
                     new BlockPos(centerX + pos[0], altarY - 4, centerZ + pos[1]),
                     getT5Capstone(), null));
             }
-
-            return blocks;
         }
 
         @Override
@@ -678,9 +713,7 @@ public class BloodMagicMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            runePositions.clear();
+        protected void buildStructure(List<StructureBlockInfo> blocks) {
             int centerX = 11, centerZ = 11, altarY = 5;
 
             // Altar at center
@@ -799,8 +832,6 @@ public class BloodMagicMultiblockAdapter {
                     new BlockPos(centerX + pos[0], altarY + 3, centerZ + pos[1]),
                     getT6Capstone(), null));
             }
-
-            return blocks;
         }
 
         @Override
@@ -121,6 +121,12 @@ public class IEMultiblockAdapter {
         public String getModId() {
             return "immersiveengineering";
         }
+
+        @Override
+        public boolean isDataDriven() {
+            // IE loads its multiblocks from structure templates, which data packs can replace
+            return true;
+        }
         
         @Override
         public String getCategory() {
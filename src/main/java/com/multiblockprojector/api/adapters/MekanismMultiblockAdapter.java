@@ -1,7 +1,8 @@
 package com.multiblockprojector.api.adapters;
 
+import com.multiblockprojector.api.IProceduralMultiblock;
 import com.multiblockprojector.api.IUniversalMultiblock;
-import com.multiblockprojector.api.IVariableSizeMultiblock;
+import com.multiblockprojector.api.Symmetry;
 import com.multiblockprojector.api.UniversalMultiblockHandler;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Vec3i;
@@ -85,7 +86,8 @@ public class MekanismMultiblockAdapter {
     // Shared (generators)
     private static BlockState reactorGlassBlock = null;
 
-    private static boolean blocksInitialized = false;
+    // Blocks are resolved on first structure request, not at discovery
+    private static volatile boolean blocksInitialized = false;
 
     /**
      * Register all Mekanism multiblocks with the universal handler.
@@ -93,8 +95,6 @@ public class MekanismMultiblockAdapter {
     public static void registerAllMultiblocks() {
         System.out.println("[MultiblockProjector] Registering Mekanism multiblocks...");
 
-        initializeAllBlocks();
-
         // Register base Mekanism multiblocks
         UniversalMultiblockHandler.registerMultiblock(new DynamicTankMultiblock());
         UniversalMultiblockHandler.registerMultiblock(new InductionMatrixMultiblock());
@@ -112,10 +112,18 @@ public class MekanismMultiblockAdapter {
 
     /**
      * Initialize all Mekanism blocks via reflection.
+     * Called lazily by every structure generator; only the first call does any work.
      */
     private static void initializeAllBlocks() {
         if (blocksInitialized) return;
-        blocksInitialized = true;
+        synchronized (MekanismMultiblockAdapter.class) {
+            if (blocksInitialized) return;
+            loadAllBlocks();
+            blocksInitialized = true;
+        }
+    }
+
+    private static void loadAllBlocks() {
 
         // Load base Mekanism blocks
         try {
@@ -310,7 +318,7 @@ public class MekanismMultiblockAdapter {
     // 1. Dynamic Tank Multiblock
     // ============================================
 
-    private static class DynamicTankMultiblock implements IVariableSizeMultiblock {
+    private static class DynamicTankMultiblock implements IProceduralMultiblock {
         private static final List<SizePreset> SIZE_PRESETS = List.of(
             new SizePreset("small", new Vec3i(3, 3, 3)),
             new SizePreset("small_medium", new Vec3i(6, 6, 6)),
@@ -335,36 +343,30 @@ public class MekanismMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            int width = size.getX(), height = size.getY(), depth = size.getZ();
-            int centerX = width / 2, centerZ = depth / 2;
-
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    for (int z = 0; z < depth; z++) {
-                        if (isInterior(x, y, z, width, height, depth)) continue;
-
-                        BlockPos pos = new BlockPos(x, y, z);
-                        BlockState block;
-
-                        if (isEdge(x, y, z, width, height, depth)) {
-                            block = dynamicTankBlock;
-                        } else if (y == 0) {
-                            block = dynamicTankBlock;
-                        } else if (y == 1 && x == centerX && z == 0) {
-                            block = dynamicValveBlock;
-                        } else if (y == 1 && x == centerX && z == depth - 1) {
-                            block = dynamicValveBlock;
-                        } else {
-                            block = structuralGlassBlock;
-                        }
+        public Symmetry getSymmetry(Vec3i size) {
+            // Valves sit mid-width on the front and back faces
+            return Symmetry.of(size.getX() % 2 == 1, true);
+        }
 
-                        blocks.add(new StructureBlockInfo(pos, block, null));
-                    }
-                }
+        @Override
+        public BlockState getStateAt(Vec3i size, int x, int y, int z) {
+            initializeAllBlocks();
+            int width = size.getX(), height = size.getY(), depth = size.getZ();
+            int centerX = width / 2;
+
+            if (isInterior(x, y, z, width, height, depth)) return null;
+
+            if (isEdge(x, y, z, width, height, depth)) {
+                return dynamicTankBlock;
+            } else if (y == 0) {
+                return dynamicTankBlock;
+            } else if (y == 1 && x == centerX && z == 0) {
+                return dynamicValveBlock;
+            } else if (y == 1 && x == centerX && z == depth - 1) {
+                return dynamicValveBlock;
+            } else {
+                return structuralGlassBlock;
             }
-            return blocks;
         }
 
         @Override
@@ -381,7 +383,7 @@ public class MekanismMultiblockAdapter {
     // 2. Induction Matrix Multiblock
     // ============================================
 
-    private static class InductionMatrixMultiblock implements IVariableSizeMultiblock {
+    private static class InductionMatrixMultiblock implements IProceduralMultiblock {
         // Minimum 4x4x4 to have room for both cells and provider in interior (2x2x2 = 8 blocks)
         private static final List<SizePreset> SIZE_PRESETS = List.of(
             new SizePreset("small", new Vec3i(4, 4, 4)),
@@ -407,50 +409,33 @@ public class MekanismMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
+        public BlockState getStateAt(Vec3i size, int x, int y, int z) {
+            initializeAllBlocks();
             int width = size.getX(), height = size.getY(), depth = size.getZ();
-            int centerX = width / 2, centerZ = depth / 2;
+            int centerX = width / 2;
 
-            // Track if we've placed the single provider yet
-            boolean providerPlaced = false;
-
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    for (int z = 0; z < depth; z++) {
-                        BlockPos pos = new BlockPos(x, y, z);
-                        BlockState block;
-
-                        if (isInterior(x, y, z, width, height, depth)) {
-                            // Interior: fill with Basic Induction Cells, place 1 Basic Induction Provider
-                            // Place provider at first interior position (1,1,1)
-                            if (!providerPlaced && x == 1 && y == 1 && z == 1) {
-                                block = basicInductionProviderBlock;
-                                providerPlaced = true;
-                            } else {
-                                block = basicInductionCellBlock;
-                            }
-                        } else if (isEdge(x, y, z, width, height, depth)) {
-                            block = inductionCasingBlock;
-                        } else if (y == 0) {
-                            // Bottom face - all casing
-                            block = inductionCasingBlock;
-                        } else if (y == 1 && x == centerX && z == 0) {
-                            // Front port (input)
-                            block = inductionPortBlock;
-                        } else if (y == 1 && x == centerX && z == depth - 1) {
-                            // Back port (output)
-                            block = inductionPortBlock;
-                        } else {
-                            // Other face positions - structural glass
-                            block = structuralGlassBlock;
-                        }
-
-                        blocks.add(new StructureBlockInfo(pos, block, null));
-                    }
+            if (isInterior(x, y, z, width, height, depth)) {
+                // Interior: fill with Basic Induction Cells, place 1 Basic Induction Provider
+                // Place provider at first interior position (1,1,1)
+                if (x == 1 && y == 1 && z == 1) {
+                    return basicInductionProviderBlock;
                 }
+                return basicInductionCellBlock;
+            } else if (isEdge(x, y, z, width, height, depth)) {
+                return inductionCasingBlock;
+            } else if (y == 0) {
+                // Bottom face - all casing
+                return inductionCasingBlock;
+            } else if (y == 1 && x == centerX && z == 0) {
+                // Front port (input)
+                return inductionPortBlock;
+            } else if (y == 1 && x == centerX && z == depth - 1) {
+                // Back port (output)
+                return inductionPortBlock;
+            } else {
+                // Other face positions - structural glass
+                return structuralGlassBlock;
             }
-            return blocks;
         }
 
         @Override
@@ -467,7 +452,7 @@ public class MekanismMultiblockAdapter {
     // 3. Thermoelectric Boiler Multiblock
     // ============================================
 
-    private static class ThermoelectricBoilerMultiblock implements IVariableSizeMultiblock {
+    private static class ThermoelectricBoilerMultiblock implements IProceduralMultiblock {
         private static final List<SizePreset> SIZE_PRESETS = List.of(
             new SizePreset("small", new Vec3i(3, 4, 3)),
             new SizePreset("small_medium", new Vec3i(6, 7, 6)),
@@ -492,8 +477,14 @@ public class MekanismMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
+        public Symmetry getSymmetry(Vec3i size) {
+            // The steam valve is on one side only, mid-depth
+            return Symmetry.of(false, size.getZ() % 2 == 1);
+        }
+
+        @Override
+        public BlockState getStateAt(Vec3i size, int x, int y, int z) {
+            initializeAllBlocks();
             int width = size.getX(), height = size.getY(), depth = size.getZ();
             int centerX = width / 2, centerZ = depth / 2;
 
@@ -508,56 +499,36 @@ public class MekanismMultiblockAdapter {
             int disperserY = height - 3;
             if (disperserY < 2) disperserY = 2; // Minimum: at least 1 layer of water below
 
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    for (int z = 0; z < depth; z++) {
-                        BlockPos pos = new BlockPos(x, y, z);
-                        BlockState block = null;
-
-                        if (isInterior(x, y, z, width, height, depth)) {
-                            if (y == disperserY) {
-                                // Full layer of pressure dispersers
-                                block = pressureDisperserBlock;
-                            } else if (y < disperserY) {
-                                // Water section: superheating elements must be CONTIGUOUS
-                                // Place them as a solid mass at the bottom of water cavity
-                                if (y == 1) {
-                                    // Bottom interior layer: solid floor of superheating elements
-                                    block = superheatingElementBlock;
-                                }
-                                // Other water layers are air (null)
-                            }
-                            // Steam section (y > disperserY) is air (null)
-
-                            if (block != null) {
-                                blocks.add(new StructureBlockInfo(pos, block, null));
-                            }
-                            continue;
-                        }
-
-                        if (isEdge(x, y, z, width, height, depth)) {
-                            block = boilerCasingBlock;
-                        } else if (y == 0) {
-                            // Bottom face - all casing
-                            block = boilerCasingBlock;
-                        } else if (y == 1 && x == centerX && z == 0) {
-                            // Water input valve (front, low)
-                            block = boilerValveBlock;
-                        } else if (y == 1 && x == centerX && z == depth - 1) {
-                            // Heated water output valve (back, low)
-                            block = boilerValveBlock;
-                        } else if (y == height - 2 && x == 0 && z == centerZ) {
-                            // Steam output valve (left side, high - in steam section)
-                            block = boilerValveBlock;
-                        } else {
-                            block = structuralGlassBlock;
-                        }
-
-                        blocks.add(new StructureBlockInfo(pos, block, null));
-                    }
+            if (isInterior(x, y, z, width, height, depth)) {
+                if (y == disperserY) {
+                    // Full layer of pressure dispersers
+                    return pressureDisperserBlock;
+                } else if (y == 1 && y < disperserY) {
+                    // Water section: superheating elements must be CONTIGUOUS
+                    // Bottom interior layer: solid floor of superheating elements
+                    return superheatingElementBlock;
                 }
+                // Other water layers and the steam section (y > disperserY) are air
+                return null;
+            }
+
+            if (isEdge(x, y, z, width, height, depth)) {
+                return boilerCasingBlock;
+            } else if (y == 0) {
+                // Bottom face - all casing
+                return boilerCasingBlock;
+            } else if (y == 1 && x == centerX && z == 0) {
+                // Water input valve (front, low)
+                return boilerValveBlock;
+            } else if (y == 1 && x == centerX && z == depth - 1) {
+                // Heated water output valve (back, low)
+                return boilerValveBlock;
+            } else if (y == height - 2 && x == 0 && z == centerZ) {
+                // Steam output valve (left side, high - in steam section)
+                return boilerValveBlock;
+            } else {
+                return structuralGlassBlock;
             }
-            return blocks;
         }
 
         @Override
@@ -574,7 +545,7 @@ public class MekanismMultiblockAdapter {
     // 4. Industrial Turbine Multiblock
     // ============================================
 
-    private static class IndustrialTurbineMultiblock implements IVariableSizeMultiblock {
+    private static class IndustrialTurbineMultiblock implements IProceduralMultiblock {
         // From FTB wiki efficiency chart - optimal builds with saturating condensers
         // Width must be ODD (5-17), height up to 18
         private static final List<SizePreset> SIZE_PRESETS = List.of(
@@ -613,6 +584,17 @@ public class MekanismMultiblockAdapter {
             return ResourceLocation.fromNamespaceAndPath("mekanism", "industrial_turbine");
         }
 
+        @Override
+        public Vec3i getNearestValidSize(Vec3i size) {
+            // Square base with an odd width
+            Vec3i clamped = IProceduralMultiblock.super.getNearestValidSize(size);
+            int width = clamped.getX();
+            if (width % 2 == 0) {
+                width = width > getMinSize().getX() ? width - 1 : width + 1;
+            }
+            return new Vec3i(width, clamped.getY(), width);
+        }
+
         @Override
         public Component getDisplayName() {
             return Component.literal("Industrial Turbine");
@@ -624,8 +606,14 @@ public class MekanismMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
+        public Symmetry getSymmetry(Vec3i size) {
+            // Rotor column and valves are centered; valid sizes are always odd
+            return Symmetry.of(size.getX() % 2 == 1, size.getZ() % 2 == 1);
+        }
+
+        @Override
+        public BlockState getStateAt(Vec3i size, int x, int y, int z) {
+            initializeAllBlocks();
             int width = size.getX(), height = size.getY(), depth = size.getZ();
             int centerX = width / 2, centerZ = depth / 2;
 
@@ -655,91 +643,66 @@ public class MekanismMultiblockAdapter {
             int coilStartY = rotorCount + 2;
             int coilEndY = coilStartY + coilCount - 1;
 
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    for (int z = 0; z < depth; z++) {
-                        BlockPos pos = new BlockPos(x, y, z);
-                        BlockState block = null;
-
-                        boolean isOnEdge = isEdge(x, y, z, width, height, depth);
-                        boolean isInteriorBlock = isInterior(x, y, z, width, height, depth);
-                        boolean isOnFace = !isInteriorBlock && !isOnEdge;
-                        boolean isOnTop = (y == height - 1);
-                        boolean isOnBottom = (y == 0);
-                        boolean isCenter = (x == centerX && z == centerZ);
-
-                        // ===== INTERIOR BLOCKS =====
-                        if (isInteriorBlock) {
-                            if (isCenter) {
-                                // Center column
-                                if (y >= 1 && y <= rotorCount) {
-                                    // Rotor shaft
-                                    block = turbineRotorBlock;
-                                } else if (y == disperserY) {
-                                    // Rotational Complex on top of rotor
-                                    block = rotationalComplexBlock;
-                                } else if (y >= coilStartY && y <= coilEndY) {
-                                    // Coils directly above Rotational Complex (vertical stack)
-                                    block = electromagneticCoilBlock;
-                                }
-                                // Above coils at center: air or could be condenser
-                            } else {
-                                // Non-center interior positions
-                                if (y == disperserY) {
-                                    // Dispersers fill entire interior layer at Rotational Complex level
-                                    block = pressureDisperserBlock;
-                                } else if (y > disperserY && y < height - 1) {
-                                    // Condensers fill remaining interior above disperser layer
-                                    block = saturatingCondenserBlock;
-                                }
-                                // Below disperser layer (rotor area): air for blade clearance
-                            }
-
-                            if (block != null) {
-                                blocks.add(new StructureBlockInfo(pos, block, null));
-                            }
-                            continue;
-                        }
-
-                        // ===== EDGES (always Turbine Casing) =====
-                        if (isOnEdge) {
-                            block = turbineCasingBlock;
-                        }
-                        // ===== FACES (non-edge exterior) =====
-                        else if (isOnFace) {
-                            if (isOnBottom) {
-                                // Bottom face: casing
-                                block = turbineCasingBlock;
-                            } else if (isOnTop) {
-                                // Top face (non-edge): Vents
-                                block = turbineVentBlock;
-                            } else {
-                                // Side walls
-                                if (y >= disperserY) {
-                                    // At and above Rotational Complex layer: Vents allowed
-                                    block = turbineVentBlock;
-                                } else {
-                                    // Below Rotational Complex layer: Casing, Valve, or Glass
-                                    // Place valves for steam input (need minimum 2)
-                                    if (y == 1 && z == 0 && x == centerX) {
-                                        block = turbineValveBlock;
-                                    } else if (y == 1 && z == depth - 1 && x == centerX) {
-                                        block = turbineValveBlock;
-                                    } else {
-                                        // Structural glass for visibility
-                                        block = structuralGlassBlock;
-                                    }
-                                }
-                            }
-                        }
-
-                        if (block != null) {
-                            blocks.add(new StructureBlockInfo(pos, block, null));
-                        }
+            boolean isOnEdge = isEdge(x, y, z, width, height, depth);
+            boolean isInteriorBlock = isInterior(x, y, z, width, height, depth);
+            boolean isOnTop = (y == height - 1);
+            boolean isOnBottom = (y == 0);
+            boolean isCenter = (x == centerX && z == centerZ);
+
+            // ===== INTERIOR BLOCKS =====
+            if (isInteriorBlock) {
+                if (isCenter) {
+                    // Center column
+                    if (y >= 1 && y <= rotorCount) {
+                        // Rotor shaft
+                        return turbineRotorBlock;
+                    } else if (y == disperserY) {
+                        // Rotational Complex on top of rotor
+                        return rotationalComplexBlock;
+                    } else if (y >= coilStartY && y <= coilEndY) {
+                        // Coils directly above Rotational Complex (vertical stack)
+                        return electromagneticCoilBlock;
                     }
+                    // Above coils at center: air
+                    return null;
                 }
+                // Non-center interior positions
+                if (y == disperserY) {
+                    // Dispersers fill entire interior layer at Rotational Complex level
+                    return pressureDisperserBlock;
+                } else if (y > disperserY && y < height - 1) {
+                    // Condensers fill remaining interior above disperser layer
+                    return saturatingCondenserBlock;
+                }
+                // Below disperser layer (rotor area): air for blade clearance
+                return null;
             }
-            return blocks;
+
+            // ===== EDGES (always Turbine Casing) =====
+            if (isOnEdge) {
+                return turbineCasingBlock;
+            }
+
+            // ===== FACES (non-edge exterior) =====
+            if (isOnBottom) {
+                // Bottom face: casing
+                return turbineCasingBlock;
+            } else if (isOnTop) {
+                // Top face (non-edge): Vents
+                return turbineVentBlock;
+            } else if (y >= disperserY) {
+                // Side walls at and above Rotational Complex layer: Vents allowed
+                return turbineVentBlock;
+            }
+            // Side walls below Rotational Complex layer: Casing, Valve, or Glass
+            // Place valves for steam input (need minimum 2)
+            if (y == 1 && z == 0 && x == centerX) {
+                return turbineValveBlock;
+            } else if (y == 1 && z == depth - 1 && x == centerX) {
+                return turbineValveBlock;
+            }
+            // Structural glass for visibility
+            return structuralGlassBlock;
         }
 
         @Override
@@ -756,7 +719,7 @@ public class MekanismMultiblockAdapter {
     // 5. Thermal Evaporation Plant Multiblock
     // ============================================
 
-    private static class ThermalEvaporationPlantMultiblock implements IVariableSizeMultiblock {
+    private static class ThermalEvaporationPlantMultiblock implements IProceduralMultiblock {
         private static final List<SizePreset> SIZE_PRESETS = List.of(
             new SizePreset("small", new Vec3i(4, 3, 4)),
             new SizePreset("small_medium", new Vec3i(4, 6, 4)),
@@ -781,9 +744,8 @@ public class MekanismMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
-            int height = size.getY();
+        public BlockState getStateAt(Vec3i size, int x, int y, int z) {
+            initializeAllBlocks();
 
             // Thermal Evaporation Plant structure:
             // - Fixed 4x4 footprint (full rectangle)
@@ -791,52 +753,38 @@ public class MekanismMultiblockAdapter {
             // - Middle layers: 4x4 perimeter walls with hollow 2x2 interior
             // - Top layer: Perimeter solid, center open (same as middle)
             // - All 3 ports (1 controller + 2 valves) at y=1
+            if (x >= 4 || z >= 4) return null;
 
-            for (int x = 0; x < 4; x++) {
-                for (int y = 0; y < height; y++) {
-                    for (int z = 0; z < 4; z++) {
-                        boolean isInterior = (x == 1 || x == 2) && (z == 1 || z == 2);
-                        boolean isBottom = (y == 0);
-
-                        BlockPos pos = new BlockPos(x, y, z);
-                        BlockState block;
-
-                        // Base layer (y=0): Full 4x4 solid floor
-                        if (isBottom) {
-                            blocks.add(new StructureBlockInfo(pos, thermalEvaporationBlock, null));
-                            continue;
-                        }
+            boolean isInterior = (x == 1 || x == 2) && (z == 1 || z == 2);
+            boolean isBottom = (y == 0);
 
-                        // All layers above base (including top): interior is hollow/open
-                        if (isInterior) {
-                            continue;
-                        }
+            // Base layer (y=0): Full 4x4 solid floor
+            if (isBottom) {
+                return thermalEvaporationBlock;
+            }
 
-                        // Wall positions (perimeter of 4x4)
-                        // All 3 ports at y=1 (row just above bottom)
+            // All layers above base (including top): interior is hollow/open
+            if (isInterior) {
+                return null;
+            }
 
-                        // Controller on front wall at y=1
-                        if (z == 0 && x == 1 && y == 1) {
-                            block = thermalEvaporationControllerBlock;
-                        }
-                        // Input valve on front wall at y=1
-                        else if (z == 0 && x == 2 && y == 1) {
-                            block = thermalEvaporationValveBlock;
-                        }
-                        // Output valve on back wall at y=1
-                        else if (z == 3 && x == 1 && y == 1) {
-                            block = thermalEvaporationValveBlock;
-                        }
-                        // All other wall positions: regular blocks
-                        else {
-                            block = thermalEvaporationBlock;
-                        }
+            // Wall positions (perimeter of 4x4)
+            // All 3 ports at y=1 (row just above bottom)
 
-                        blocks.add(new StructureBlockInfo(pos, block, null));
-                    }
-                }
+            // Controller on front wall at y=1
+            if (z == 0 && x == 1 && y == 1) {
+                return thermalEvaporationControllerBlock;
             }
-            return blocks;
+            // Input valve on front wall at y=1
+            else if (z == 0 && x == 2 && y == 1) {
+                return thermalEvaporationValveBlock;
+            }
+            // Output valve on back wall at y=1
+            else if (z == 3 && x == 1 && y == 1) {
+                return thermalEvaporationValveBlock;
+            }
+            // All other wall positions: regular blocks
+            return thermalEvaporationBlock;
         }
 
         @Override
@@ -884,6 +832,7 @@ public class MekanismMultiblockAdapter {
 
         @Override
         public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
+            initializeAllBlocks();
             List<StructureBlockInfo> blocks = new ArrayList<>();
 
             // SPS is a 7x7x7 structure with cross-shaped faces
@@ -994,7 +943,7 @@ public class MekanismMultiblockAdapter {
     // 7. Fission Reactor Multiblock
     // ============================================
 
-    private static class FissionReactorMultiblock implements IVariableSizeMultiblock {
+    private static class FissionReactorMultiblock implements IProceduralMultiblock {
         private static final List<SizePreset> SIZE_PRESETS = List.of(
             new SizePreset("small", new Vec3i(3, 4, 3)),
             new SizePreset("small_medium", new Vec3i(6, 7, 6)),
@@ -1019,60 +968,47 @@ public class MekanismMultiblockAdapter {
         }
 
         @Override
-        public List<StructureBlockInfo> getStructureAtSize(@Nonnull Level world, Vec3i size) {
-            List<StructureBlockInfo> blocks = new ArrayList<>();
+        public Symmetry getSymmetry(Vec3i size) {
+            // The logic adapter is on the front face only; ports and the rod checkerboard mirror across x for odd widths
+            return Symmetry.of(size.getX() % 2 == 1, false);
+        }
+
+        @Override
+        public BlockState getStateAt(Vec3i size, int x, int y, int z) {
+            initializeAllBlocks();
             int width = size.getX(), height = size.getY(), depth = size.getZ();
             int centerX = width / 2, centerZ = depth / 2;
             boolean addControlRods = width >= 5 && height >= 5 && depth >= 5;
             int interiorMaxY = height - 2;
 
-            for (int x = 0; x < width; x++) {
-                for (int y = 0; y < height; y++) {
-                    for (int z = 0; z < depth; z++) {
-                        BlockPos pos = new BlockPos(x, y, z);
-
-                        if (isInterior(x, y, z, width, height, depth)) {
-                            if (addControlRods && (x + z) % 2 == 0) {
-                                if (y < interiorMaxY) {
-                                    blocks.add(new StructureBlockInfo(pos, fissionFuelAssemblyBlock, null));
-                                } else {
-                                    blocks.add(new StructureBlockInfo(pos, fissionControlRodBlock, null));
-                                }
-                            }
-                            continue;
-                        }
-
-                        BlockState block;
-
-                        if (isEdge(x, y, z, width, height, depth)) {
-                            block = fissionCasingBlock;
-                        } else if (y == 0) {
-                            block = fissionCasingBlock;
-                        }
-                        else if (y == 1 && z == 0 && x == centerX) {
-                            block = fissionLogicAdapterBlock;
-                        }
-                        else if (y == 1 && x == 0 && z == centerZ - 1 && centerZ > 1) {
-                            block = fissionPortBlock;
-                        }
-                        else if (y == 1 && x == 0 && z == centerZ && depth > 3) {
-                            block = fissionPortBlock;
-                        }
-                        else if (y == 1 && x == width - 1 && z == centerZ - 1 && centerZ > 1) {
-                            block = fissionPortBlock;
-                        }
-                        else if (y == 1 && x == width - 1 && z == centerZ && depth > 3) {
-                            block = fissionPortBlock;
-                        }
-                        else {
-                            block = reactorGlassBlock;
-                        }
-
-                        blocks.add(new StructureBlockInfo(pos, block, null));
-                    }
+            if (isInterior(x, y, z, width, height, depth)) {
+                if (addControlRods && (x + z) % 2 == 0) {
+                    return y < interiorMaxY ? fissionFuelAssemblyBlock : fissionControlRodBlock;
                 }
+                return null;
             }
-            return blocks;
+
+            if (isEdge(x, y, z, width, height, depth)) {
+                return fissionCasingBlock;
+            } else if (y == 0) {
+                return fissionCasingBlock;
+            }
+            else if (y == 1 && z == 0 && x == centerX) {
+                return fissionLogicAdapterBlock;
+            }
+            else if (y == 1 && x == 0 && z == centerZ - 1 && centerZ > 1) {
+                return fissionPortBlock;
+            }
+            else if (y == 1 && x == 0 && z == centerZ && depth > 3) {
+                return fissionPortBlock;
+            }
+            else if (y == 1 && x == width - 1 && z == centerZ - 1 && centerZ > 1) {
+                return fissionPortBlock;
+            }
+            else if (y == 1 && x == width - 1 && z == centerZ && depth > 3) {
+                return fissionPortBlock;
+            }
+            return reactorGlassBlock;
         }
 
         @Override
@@ -1108,6 +1044,7 @@ public class MekanismMultiblockAdapter {
 
         @Override
         public List<StructureBlockInfo> getStructure(@Nonnull Level world) {
+            initializeAllBlocks();
             List<StructureBlockInfo> blocks = new ArrayList<>();
 
             // Fusion Reactor is a fixed 5-layer structure
@@ -1,78 +1,157 @@
 package com.multiblockprojector.client;
 
-import com.multiblockprojector.api.ICyclingBlockMultiblock;
-import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.common.network.MessageBuildProgress;
 import com.multiblockprojector.common.projector.MultiblockProjection;
+import com.multiblockprojector.common.validation.BuildLayout;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.state.BlockState;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 /**
- * Client-side manager for tracking incorrect blocks during building mode
+ * Client-side manager for tracking incorrect blocks during building mode.
+ * Also tracks which blocks are already placed correctly, so the items still needed are updated
+ * from the changes each validation finds instead of counting the structure again.
+ * <p>
+ * Once the server sends its own validation of a projection ({@link MessageBuildProgress}), that
+ * is used instead and the projection is no longer scanned here; the server also decides when it is
+ * complete. Projections the server doesn't report on (yet) are scanned every time they are validated.
  */
 public class BlockValidationManager {
     
     private static final Map<BlockPos, Set<BlockPos>> INCORRECT_BLOCKS = new HashMap<>();
+    private static final Map<BlockPos, Progress> PROGRESS = new HashMap<>();
+
+    /**
+     * Building progress of one projection
+     */
+    private static final class Progress {
+        final MultiblockProjection projection;
+        final BuildLayout layout;
+        final Object2IntMap<Item> remaining;
+        // Correctly placed blocks, by layout index
+        BitSet correct = new BitSet();
+        int placed;
+        // Set once the server reports on this projection
+        boolean fromServer;
+        // Server updates since the last validation brought new incorrect blocks
+        boolean newIncorrect;
+
+        Progress(BlockPos projectionCenter, MultiblockProjection projection, Level level) {
+            this.projection = projection;
+            this.layout = BuildLayout.of(projectionCenter, projection, level);
+            this.remaining = new Object2IntLinkedOpenHashMap<>(projection.getBillOfMaterials().getCounts());
+        }
+    }
+
+    private static Progress getProgress(BlockPos projectionCenter, MultiblockProjection projection, Level level) {
+        Progress progress = PROGRESS.get(projectionCenter);
+        if (progress == null || progress.projection != projection) {
+            progress = new Progress(projectionCenter, projection, level);
+            PROGRESS.put(projectionCenter.immutable(), progress);
+        }
+        return progress;
+    }
     
     /**
      * Validate all blocks in a projection and mark incorrect ones
+     * @return true if blocks became incorrect since the last validation
      */
     public static boolean validateProjection(BlockPos projectionCenter, MultiblockProjection projection, Level level) {
-        Set<BlockPos> oldIncorrectBlocks = INCORRECT_BLOCKS.getOrDefault(projectionCenter, new HashSet<>());
-        Set<BlockPos> incorrectBlocks = new HashSet<>();
-
-        // Check if this multiblock supports cycling blocks
-        IUniversalMultiblock multiblock = projection.getMultiblock();
-        ICyclingBlockMultiblock cyclingMultiblock = null;
-        if (multiblock instanceof ICyclingBlockMultiblock cycling) {
-            cyclingMultiblock = cycling;
+        Progress progress = getProgress(projectionCenter, projection, level);
+        if (progress.fromServer) {
+            boolean hasNewIncorrectBlocks = progress.newIncorrect;
+            progress.newIncorrect = false;
+            return hasNewIncorrectBlocks;
         }
-        final ICyclingBlockMultiblock finalCyclingMultiblock = cyclingMultiblock;
 
-        // Process each layer of the projection
-        for (int layer = 0; layer < projection.getLayerCount(); layer++) {
-            projection.process(layer, info -> {
-                BlockPos worldPos = projectionCenter.offset(info.tPos);
-                BlockState expectedState = info.getModifiedState(level, worldPos);
-                BlockState actualState = level.getBlockState(worldPos);
+        BuildLayout layout = progress.layout;
+        BitSet correct = new BitSet(layout.size());
+        BitSet incorrect = new BitSet();
+        for (int i = 0; i < layout.size(); i++) {
+            BlockState actualState = level.getBlockState(layout.getPos(i));
+            if (layout.matches(i, actualState)) {
+                correct.set(i);
+            } else if (!actualState.isAir()) {
+                // Block is incorrect if it's not air and doesn't match
+                incorrect.set(i);
+            }
+        }
+        return update(projectionCenter, progress, correct, incorrect);
+    }
 
-                // Don't validate air blocks
-                if (expectedState.isAir()) {
-                    return false;
-                }
+    /**
+     * Take over the server's validation of a projection. Ignored for projections that aren't
+     * shown here, or whose layout doesn't match the server's (e.g. different structure data).
+     * A negative {@code required} means the server stopped tracking it; it is scanned here again.
+     */
+    public static void applyServerProgress(BlockPos projectionCenter, int required, BitSet correct, BitSet incorrect) {
+        if (required < 0) {
+            Progress progress = PROGRESS.get(projectionCenter);
+            if (progress != null) {
+                progress.fromServer = false;
+            }
+            return;
+        }
+        MultiblockProjection projection = ProjectionManager.getProjection(projectionCenter);
+        Level level = Minecraft.getInstance().level;
+        if (projection == null || level == null) {
+            return;
+        }
+        Progress progress = getProgress(projectionCenter, projection, level);
+        if (progress.layout.size() != required) {
+            return;
+        }
+        progress.fromServer = true;
+        if (update(projectionCenter, progress, correct, incorrect)) {
+            progress.newIncorrect = true;
+        }
+    }
 
-                // Check if the actual block matches - with cycling block support
-                BlockPos structurePos = info.tBlockInfo.pos();
-                boolean matches;
-                if (finalCyclingMultiblock != null && finalCyclingMultiblock.hasCyclingBlocks(structurePos)) {
-                    // For cycling blocks, check if ANY acceptable block matches
-                    matches = blocksMatchCycling(actualState, finalCyclingMultiblock.getAcceptableBlocks(structurePos));
-                } else {
-                    matches = blocksMatch(actualState, expectedState);
-                }
+    /**
+     * @return true if the server validates the projection, rather than this client
+     */
+    public static boolean isServerValidated(BlockPos projectionCenter) {
+        Progress progress = PROGRESS.get(projectionCenter);
+        return progress != null && progress.fromServer;
+    }
 
-                if (!matches) {
-                    // Block is incorrect if it's not air and doesn't match
-                    if (!actualState.isAir()) {
-                        incorrectBlocks.add(worldPos.immutable());
-                    }
-                }
+    /**
+     * Store a new validation result, adjusting the remaining items by the blocks that changed
+     * @return true if blocks became incorrect
+     */
+    private static boolean update(BlockPos projectionCenter, Progress progress, BitSet correct, BitSet incorrect) {
+        BitSet changed = (BitSet) progress.correct.clone();
+        changed.xor(correct);
+        for (int i = changed.nextSetBit(0); i >= 0; i = changed.nextSetBit(i + 1)) {
+            int count = progress.layout.getItemCount(i);
+            if (count > 0) {
+                progress.remaining.mergeInt(progress.layout.getItem(i), correct.get(i) ? -count : count, Integer::sum);
+            }
+        }
+        progress.correct = correct;
+        progress.placed = correct.cardinality();
 
-                return false; // Continue processing
-            });
+        Set<BlockPos> oldIncorrectBlocks = INCORRECT_BLOCKS.getOrDefault(projectionCenter, Set.of());
+        Set<BlockPos> incorrectBlocks = new HashSet<>();
+        boolean hasNewIncorrectBlocks = false;
+        for (int i = incorrect.nextSetBit(0); i >= 0 && i < progress.layout.size(); i = incorrect.nextSetBit(i + 1)) {
+            BlockPos pos = progress.layout.getPos(i);
+            incorrectBlocks.add(pos);
+            // Check if new incorrect blocks were added (blocks that weren't incorrect before)
+            hasNewIncorrectBlocks |= !oldIncorrectBlocks.contains(pos);
         }
         
-        // Check if new incorrect blocks were added (blocks that weren't incorrect before)
-        Set<BlockPos> newIncorrectBlocks = new HashSet<>(incorrectBlocks);
-        newIncorrectBlocks.removeAll(oldIncorrectBlocks);
-        boolean hasNewIncorrectBlocks = !newIncorrectBlocks.isEmpty();
-        
         // Update the incorrect blocks map
         if (incorrectBlocks.isEmpty()) {
             INCORRECT_BLOCKS.remove(projectionCenter);
@@ -82,7 +161,7 @@ public class BlockValidationManager {
         
         return hasNewIncorrectBlocks;
     }
-    
+
     /**
      * Check if a specific block position is marked as incorrect
      */
@@ -102,11 +181,37 @@ public class BlockValidationManager {
         return INCORRECT_BLOCKS.getOrDefault(projectionCenter, new HashSet<>());
     }
     
+    /**
+     * Get the items still needed for a projection, as of its last validation. Items that are
+     * no longer needed stay in the map with a count of 0.
+     */
+    public static Object2IntMap<Item> getRemaining(BlockPos projectionCenter) {
+        Progress progress = PROGRESS.get(projectionCenter);
+        return progress != null ? Object2IntMaps.unmodifiable(progress.remaining) : Object2IntMaps.emptyMap();
+    }
+
+    /**
+     * Get how many blocks of a projection are placed correctly, as of its last validation
+     */
+    public static int getPlacedCount(BlockPos projectionCenter) {
+        Progress progress = PROGRESS.get(projectionCenter);
+        return progress != null ? progress.placed : 0;
+    }
+
+    /**
+     * Get how many blocks a projection needs in total, as of its last validation
+     */
+    public static int getRequiredCount(BlockPos projectionCenter) {
+        Progress progress = PROGRESS.get(projectionCenter);
+        return progress != null ? progress.layout.size() : 0;
+    }
+    
     /**
      * Clear validation data for a specific projection
      */
     public static void clearValidation(BlockPos projectionCenter) {
         INCORRECT_BLOCKS.remove(projectionCenter);
+        PROGRESS.remove(projectionCenter);
     }
     
     /**
@@ -114,108 +219,20 @@ public class BlockValidationManager {
      */
     public static void clearAll() {
         INCORRECT_BLOCKS.clear();
+        PROGRESS.clear();
     }
     
     /**
-     * Check if a projection is complete (no incorrect blocks and all blocks placed)
+     * Check if a projection is complete (no incorrect blocks and all blocks placed).
+     * Uses the result of the last validation, validating first if there is none.
      */
     public static boolean isProjectionComplete(BlockPos projectionCenter, MultiblockProjection projection, Level level) {
-        // First check if there are any incorrect blocks
-        Set<BlockPos> incorrectBlocks = getIncorrectBlocks(projectionCenter);
-        if (!incorrectBlocks.isEmpty()) {
-            return false;
-        }
-
-        // Check if this multiblock supports cycling blocks
-        IUniversalMultiblock multiblock = projection.getMultiblock();
-        ICyclingBlockMultiblock cyclingMultiblock = null;
-        if (multiblock instanceof ICyclingBlockMultiblock cycling) {
-            cyclingMultiblock = cycling;
-        }
-        final ICyclingBlockMultiblock finalCyclingMultiblock = cyclingMultiblock;
-
-        // Check if all required blocks are placed
-        for (int layer = 0; layer < projection.getLayerCount(); layer++) {
-            boolean[] hasIncompleteBlocks = {false};
-
-            projection.process(layer, info -> {
-                BlockPos worldPos = projectionCenter.offset(info.tPos);
-                BlockState expectedState = info.getModifiedState(level, worldPos);
-                BlockState actualState = level.getBlockState(worldPos);
-
-                // Skip air blocks
-                if (expectedState.isAir()) {
-                    return false;
-                }
-
-                // Check if block is missing or incorrect - with cycling block support
-                BlockPos structurePos = info.tBlockInfo.pos();
-                boolean matches;
-                if (finalCyclingMultiblock != null && finalCyclingMultiblock.hasCyclingBlocks(structurePos)) {
-                    matches = blocksMatchCycling(actualState, finalCyclingMultiblock.getAcceptableBlocks(structurePos));
-                } else {
-                    matches = blocksMatch(actualState, expectedState);
-                }
-
-                if (actualState.isAir() || !matches) {
-                    hasIncompleteBlocks[0] = true;
-                    return true; // Stop processing
-                }
-
-                return false; // Continue processing
-            });
-
-            if (hasIncompleteBlocks[0]) {
-                return false;
-            }
+        Progress progress = PROGRESS.get(projectionCenter);
+        if (progress == null || progress.projection != projection) {
+            validateProjection(projectionCenter, projection, level);
+            progress = PROGRESS.get(projectionCenter);
         }
-
-        return true; // All blocks are correctly placed
-    }
-    
-    /**
-     * Custom block matching that ignores direction for certain blocks
-     */
-    private static boolean blocksMatch(BlockState actualState, BlockState expectedState) {
-        // If blocks are different types, they don't match
-        if (!actualState.is(expectedState.getBlock())) {
-            return false;
-        }
-        
-        // Get the block registry name for more accurate matching
-        String registryName = actualState.getBlock().builtInRegistryHolder().key().location().toString();
-        
-        // Special case: Any piston blocks - ignore facing direction for squeezer compatibility
-        if (registryName.contains("piston")) {
-            return true; // Any piston direction is acceptable
-        }
-        
-        // Special case: IE Conveyor Belts - ignore facing direction
-        if (registryName.contains("immersiveengineering") && registryName.contains("conveyor")) {
-            return true; // Any conveyor direction is acceptable
-        }
-        
-        // Default: states must match exactly
-        return actualState.equals(expectedState);
-    }
-
-    /**
-     * Check if an actual block matches ANY of the acceptable block states.
-     * Used for cycling block positions (e.g., Blood Magic rune positions).
-     */
-    private static boolean blocksMatchCycling(BlockState actualState, List<BlockState> acceptableBlocks) {
-        if (acceptableBlocks == null || acceptableBlocks.isEmpty()) {
-            return false;
-        }
-
-        for (BlockState acceptable : acceptableBlocks) {
-            // Use the same block type check (not exact state match)
-            // This allows any rune variant to be placed
-            if (actualState.is(acceptable.getBlock())) {
-                return true;
-            }
-        }
-
-        return false;
+        // Every required block matching leaves no room for incorrect ones
+        return progress.placed == progress.layout.size();
     }
-}
\ No newline at end of file
+}
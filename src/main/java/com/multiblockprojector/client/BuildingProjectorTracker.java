@@ -0,0 +1,59 @@
+package com.multiblockprojector.client;
+
+import com.multiblockprojector.common.items.ProjectorItem;
+import com.multiblockprojector.common.projector.Settings;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Client-side list of the inventory slots holding a projector in building mode, so the tick
+ * handler only looks at those. The inventory is scanned again when it reports a change, or
+ * when projector settings change in place (which the inventory doesn't notice).
+ */
+public class BuildingProjectorTracker {
+    private static final IntList SLOTS = new IntArrayList();
+    private static Inventory inventory;
+    private static int timesChanged;
+    private static boolean dirty = true;
+
+    /**
+     * Scan again on the next tick, e.g. after settings of a projector changed
+     */
+    public static void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @return Slots of the player's inventory that held a building projector at the last scan
+     */
+    public static IntList getSlots(Player player) {
+        Inventory current = player.getInventory();
+        if (dirty || current != inventory || current.getTimesChanged() != timesChanged) {
+            rescan(current);
+        }
+        return SLOTS;
+    }
+
+    private static void rescan(Inventory current) {
+        SLOTS.clear();
+        for (int i = 0; i < current.getContainerSize(); i++) {
+            ItemStack stack = current.getItem(i);
+            if (stack.getItem() instanceof ProjectorItem
+                    && ProjectorItem.getProjectorSettings(stack).mode() == Settings.Mode.BUILDING) {
+                SLOTS.add(i);
+            }
+        }
+        inventory = current;
+        timesChanged = current.getTimesChanged();
+        dirty = false;
+    }
+
+    public static void clear() {
+        SLOTS.clear();
+        inventory = null;
+        dirty = true;
+    }
+}
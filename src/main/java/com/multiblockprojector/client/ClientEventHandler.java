@@ -0,0 +1,33 @@
+package com.multiblockprojector.client;
+
+import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.api.UniversalMultiblockHandler;
+import com.multiblockprojector.client.render.MaterialsHud;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.neoforged.api.distmarker.Dist;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.client.event.RegisterClientReloadListenersEvent;
+import net.neoforged.neoforge.client.event.RegisterGuiLayersEvent;
+import net.neoforged.neoforge.client.gui.VanillaGuiLayers;
+
+/**
+ * Handles client-side mod lifecycle events
+ */
+@EventBusSubscriber(modid = UniversalProjector.MODID, bus = EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
+public class ClientEventHandler {
+
+    @SubscribeEvent
+    public static void onRegisterReloadListeners(RegisterClientReloadListenersEvent event) {
+        // Display names change with the language, so the sorted registry views must be rebuilt
+        event.registerReloadListener((ResourceManagerReloadListener) resourceManager ->
+            UniversalMultiblockHandler.invalidateSortedViews());
+    }
+
+    @SubscribeEvent
+    public static void onRegisterGuiLayers(RegisterGuiLayersEvent event) {
+        event.registerAbove(VanillaGuiLayers.HOTBAR,
+            ResourceLocation.fromNamespaceAndPath(UniversalProjector.MODID, "materials"), new MaterialsHud());
+    }
+}
@@ -0,0 +1,37 @@
+package com.multiblockprojector.client;
+
+import com.multiblockprojector.common.items.ProjectorItem;
+import com.multiblockprojector.common.network.MessageBuildProgress;
+import com.multiblockprojector.common.network.MessageProjectorSync;
+import com.multiblockprojector.common.projector.Settings;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Client-side handling of packets from the server, kept out of the packet classes so common code
+ * never loads client classes. Called on the client thread.
+ */
+public class ClientPacketHandler {
+
+    public static void handleProjectorSync(MessageProjectorSync packet, Player player) {
+        if (!SettingsSyncQueue.accept(packet, player)) {
+            return;
+        }
+        ItemStack stack = player.getItemInHand(packet.getHand());
+        if (stack.getItem() instanceof ProjectorItem) {
+            Settings settings = ProjectorItem.getSettings(stack);
+            settings.copyFields(packet.getValues(), packet.getFields());
+            settings.applyTo(stack);
+            BuildingProjectorTracker.markDirty();
+        }
+    }
+
+    public static void handleBuildProgress(MessageBuildProgress packet, Player player) {
+        if (packet.isComplete()) {
+            ProjectorClientHandler.onBuildCompleted(player, packet.getCenter());
+            return;
+        }
+        BlockValidationManager.applyServerProgress(packet.getCenter(), packet.getRequired(),
+            packet.getCorrect(), packet.getIncorrect());
+    }
+}
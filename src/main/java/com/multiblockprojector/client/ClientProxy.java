@@ -1,6 +1,8 @@
 package com.multiblockprojector.client;
 
 import com.multiblockprojector.common.CommonProxy;
+import com.multiblockprojector.common.projector.Settings;
+import net.minecraft.world.InteractionHand;
 
 /**
  * Client-side proxy for Universal Projector
@@ -16,6 +18,11 @@ public class ClientProxy extends CommonProxy {
         initializeKeyBinds();
     }
     
+    @Override
+    public void queueSettingsSync(Settings settings, InteractionHand hand) {
+        SettingsSyncQueue.queue(settings, hand);
+    }
+    
     private void initializeClientRendering() {
         // TODO: Initialize shaders and render types
     }
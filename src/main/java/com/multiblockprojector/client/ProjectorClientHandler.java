@@ -5,8 +5,10 @@ import com.multiblockprojector.api.UniversalMultiblockHandler;
 import com.multiblockprojector.client.BlockValidationManager;
 import com.multiblockprojector.common.items.ProjectorItem;
 import com.multiblockprojector.common.network.MessageAutoBuild;
+import com.multiblockprojector.common.network.MessageProjectorSync;
 import com.multiblockprojector.common.projector.MultiblockProjection;
 import com.multiblockprojector.common.projector.Settings;
+import it.unimi.dsi.fastutil.ints.IntList;
 import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.world.entity.player.Player;
@@ -39,11 +41,13 @@ public class ProjectorClientHandler {
     public static void onClientTick(ClientTickEvent.Post event) {
         Minecraft mc = Minecraft.getInstance();
         if (mc.level == null || mc.player == null) return;
+
+        // Send the settings changes made since the last tick, one packet per hand at most
+        SettingsSyncQueue.flush(mc.player);
         
-        // Discover multiblocks on first client tick with level
+        // Discovery runs in the background; this only starts it if loading did not
         if (!multiblocksDiscovered) {
-            UniversalProjector.LOGGER.info("Client world loaded - discovering multiblocks...");
-            UniversalMultiblockHandler.discoverMultiblocks();
+            UniversalMultiblockHandler.startDiscovery();
             multiblocksDiscovered = true;
         }
         
@@ -67,16 +71,11 @@ public class ProjectorClientHandler {
         // Clean up only aim projections that don't match current state
         cleanupAimProjections(settings);
         
+        // Building projections are validated with all others in checkAllBuildingProjectionsForCompletion
         if (settings.getMode() == Settings.Mode.PROJECTION && settings.getMultiblock() != null) {
             // Update projection position based on player aim
             updateProjectionAim(player, settings, mc.level);
-        } else if (settings.getMode() == Settings.Mode.BUILDING && settings.getPos() != null && settings.getMultiblock() != null) {
-            // Validate blocks during building mode (but don't show error messages here since it's handled globally)
-            MultiblockProjection projection = ProjectionManager.getProjection(settings.getPos());
-            if (projection != null) {
-                BlockValidationManager.validateProjection(settings.getPos(), projection, mc.level);
-            }
-        } else {
+        } else if (settings.getMode() != Settings.Mode.BUILDING) {
             // Clear projection if not in projection mode
             if (lastAimPos != null) {
                 ProjectionManager.removeProjection(lastAimPos);
@@ -102,15 +101,9 @@ public class ProjectorClientHandler {
                 if (event.getButton() == 0) { // Left click
                     if (lastAimPos != null) {
                         if (player.isShiftKeyDown()) {
-                            // Sneak + Left Click: Auto-build (creative mode only)
-                            if (player.isCreative()) {
+                            // Sneak + Left Click: Auto-build (survival builds use items from the inventory)
+                            if (!player.isSpectator()) {
                                 autoBuildProjection(player, settings, held, lastAimPos);
-                            } else {
-                                player.displayClientMessage(
-                                    Component.literal("Auto-build only works in creative mode!")
-                                        .withStyle(net.minecraft.ChatFormatting.RED), 
-                                    true
-                                );
                             }
                         } else {
                             // Left Click: Place projection and enter building mode
@@ -309,13 +302,14 @@ public class ProjectorClientHandler {
      * Check all active building projections for completion, regardless of held item
      */
     private static void checkAllBuildingProjectionsForCompletion(Player player, Level level) {
-        // Check each projector in inventory for building mode projections
-        for (int i = 0; i < player.getInventory().getContainerSize(); i++) {
-            ItemStack stack = player.getInventory().getItem(i);
-            if (stack.getItem() instanceof ProjectorItem) {
+        // Only the slots known to hold building projectors; the tracker rescans when the inventory changes
+        IntList slots = BuildingProjectorTracker.getSlots(player);
+        for (int index = 0; index < slots.size(); index++) {
+            ItemStack stack = player.getInventory().getItem(slots.getInt(index));
+            if (stack.getItem() instanceof ProjectorItem && ProjectorItem.getProjectorSettings(stack).mode() == Settings.Mode.BUILDING) {
                 Settings settings = ProjectorItem.getSettings(stack);
                 
-                if (settings.getMode() == Settings.Mode.BUILDING && settings.getPos() != null && settings.getMultiblock() != null) {
+                if (settings.getPos() != null && settings.getMultiblock() != null) {
                     MultiblockProjection projection = ProjectionManager.getProjection(settings.getPos());
                     if (projection != null) {
                         // Validate projection and check for new incorrect blocks
@@ -330,8 +324,9 @@ public class ProjectorClientHandler {
                             );
                         }
                         
-                        // Check if projection is complete
-                        if (BlockValidationManager.isProjectionComplete(settings.getPos(), projection, level)) {
+                        // The server decides for projections it validates, see onBuildCompleted
+                        if (!BlockValidationManager.isServerValidated(settings.getPos())
+                                && BlockValidationManager.isProjectionComplete(settings.getPos(), projection, level)) {
                             // Store the position before clearing settings
                             BlockPos completedPos = settings.getPos();
                             
@@ -340,23 +335,53 @@ public class ProjectorClientHandler {
                             settings.setPos(null);
                             settings.setPlaced(false);
                             settings.applyTo(stack);
-                            
-                            // Clear projection and validation data using stored position
-                            ProjectionManager.removeProjection(completedPos);
-                            BlockValidationManager.clearValidation(completedPos);
-                            
-                            // Show completion message with green color
-                            player.displayClientMessage(
-                                Component.literal("Multiblock structure completed!")
-                                    .withStyle(net.minecraft.ChatFormatting.GREEN), 
-                                true
-                            );
+                            // The server only hears about projectors in a hand
+                            for (InteractionHand hand : InteractionHand.values()) {
+                                if (player.getItemInHand(hand) == stack) {
+                                    MessageProjectorSync.sendToServer(settings, hand);
+                                }
+                            }
+                            finishBuild(player, completedPos);
                         }
                     }
                 }
             }
         }
     }
+
+    /**
+     * The server found a building projection complete and took its projector out of building mode
+     */
+    public static void onBuildCompleted(Player player, BlockPos center) {
+        // Don't wait for the inventory update from the server to stop showing the projection
+        IntList slots = BuildingProjectorTracker.getSlots(player);
+        for (int index = 0; index < slots.size(); index++) {
+            ItemStack stack = player.getInventory().getItem(slots.getInt(index));
+            if (stack.getItem() instanceof ProjectorItem && center.equals(ProjectorItem.getProjectorSettings(stack).getPos())) {
+                Settings settings = ProjectorItem.getSettings(stack);
+                settings.setMode(Settings.Mode.NOTHING_SELECTED);
+                settings.setPos(null);
+                settings.setPlaced(false);
+                settings.applyTo(stack);
+            }
+        }
+        finishBuild(player, center);
+    }
+
+    private static void finishBuild(Player player, BlockPos completedPos) {
+        BuildingProjectorTracker.markDirty();
+
+        // Clear projection and validation data using stored position
+        ProjectionManager.removeProjection(completedPos);
+        BlockValidationManager.clearValidation(completedPos);
+        
+        // Show completion message with green color
+        player.displayClientMessage(
+            Component.literal("Multiblock structure completed!")
+                .withStyle(net.minecraft.ChatFormatting.GREEN), 
+            true
+        );
+    }
     
     private static void autoBuildProjection(Player player, Settings settings, ItemStack held, BlockPos pos) {
         // Swing the projector for visual feedback
@@ -1,9 +1,11 @@
 package com.multiblockprojector.client;
 
 import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.api.MultiblockStructureCache;
 import com.multiblockprojector.client.ProjectionManager;
 import com.multiblockprojector.client.BlockValidationManager;
 import com.multiblockprojector.common.items.ProjectorItem;
+import com.multiblockprojector.common.network.MultiblockIds;
 import com.multiblockprojector.common.projector.Settings;
 import net.minecraft.client.Minecraft;
 import net.minecraft.world.entity.item.ItemEntity;
@@ -28,6 +30,12 @@ public class ProjectorResetHandler {
         // Clear all projections when player logs out (they'll be gone anyway)
         ProjectionManager.clearAll();
         BlockValidationManager.clearAll();
+        // The next server sends its own ids
+        MultiblockIds.clear();
+        // and may have different data packs, so data-driven structures can differ
+        MultiblockStructureCache.clear();
+        SettingsSyncQueue.reset();
+        BuildingProjectorTracker.clear();
         
         // Reset all projectors in inventory for session reset
         Player player = event.getPlayer();
@@ -41,6 +49,8 @@ public class ProjectorResetHandler {
         // Clear all projections when player logs in (session reset)
         ProjectionManager.clearAll();
         BlockValidationManager.clearAll();
+        SettingsSyncQueue.reset();
+        BuildingProjectorTracker.clear();
         
         // Reset all projectors in inventory for session reset
         Player player = event.getPlayer();
@@ -112,6 +122,7 @@ public class ProjectorResetHandler {
         settings.setPos(null);
         settings.setPlaced(false);
         settings.applyTo(stack);
+        BuildingProjectorTracker.markDirty();
         
         UniversalProjector.LOGGER.info("Reset projector NBT to nothing selected mode");
     }
@@ -0,0 +1,92 @@
+package com.multiblockprojector.client;
+
+import com.multiblockprojector.common.network.MessageProjectorSync;
+import com.multiblockprojector.common.projector.Settings;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+/**
+ * Client-side sender of projector settings. Changes are collected over a tick and sent once at
+ * its end, per hand, with only the fields that differ from what the server was last told about
+ * the projector in that hand. Rotating as fast as the mouse allows thus sends at most one small
+ * packet per tick.
+ */
+public class SettingsSyncQueue {
+    private static final int HANDS = InteractionHand.values().length;
+
+    private static final Settings[] PENDING = new Settings[HANDS];
+    // What the server has for the projector the hand held at the last send, and that stack
+    private static final Settings[] SENT = new Settings[HANDS];
+    private static final ItemStack[] SENT_STACK = new ItemStack[HANDS];
+    private static int nextSequence = 0;
+    private static Integer lastReceived = null;
+
+    /**
+     * Replace whatever is queued for the hand with these settings
+     */
+    public static void queue(Settings settings, InteractionHand hand) {
+        PENDING[hand.ordinal()] = settings.copy();
+        // The settings were changed in place, which the inventory doesn't count as a change
+        BuildingProjectorTracker.markDirty();
+    }
+
+    /**
+     * Send what was queued this tick. Called at the end of every client tick.
+     */
+    public static void flush(Player player) {
+        for (InteractionHand hand : InteractionHand.values()) {
+            int index = hand.ordinal();
+            Settings pending = PENDING[index];
+            if (pending == null) continue;
+            PENDING[index] = null;
+
+            // Any other projector may differ in any field. Compared by identity: a projector moved
+            // into the slot is a different stack even if it came from the same slot
+            ItemStack stack = player.getItemInHand(hand);
+            Settings sent = SENT[index] != null && SENT_STACK[index] == stack ? SENT[index] : null;
+            int fields = sent != null ? pending.diff(sent) : Settings.ALL_FIELDS;
+            if (fields == 0) continue;
+
+            PacketDistributor.sendToServer(new MessageProjectorSync(hand, ++nextSequence, fields, pending));
+            SENT[index] = pending;
+            SENT_STACK[index] = stack;
+        }
+    }
+
+    /**
+     * Check the sequence number of a packet from the server and note its fields as known to the server
+     * @return false if the packet is older than one already applied
+     */
+    public static boolean accept(MessageProjectorSync packet, Player player) {
+        // Compared by difference so the counter may wrap around
+        if (lastReceived != null && packet.getSequence() - lastReceived <= 0) {
+            return false;
+        }
+        lastReceived = packet.getSequence();
+
+        // The packet is applied to the projector in the hand now, which may not be the one last sent
+        int index = packet.getHand().ordinal();
+        if (SENT[index] != null && SENT_STACK[index] == player.getItemInHand(packet.getHand())) {
+            SENT[index].copyFields(packet.getValues(), packet.getFields());
+        } else {
+            SENT[index] = null;
+            SENT_STACK[index] = null;
+        }
+        return true;
+    }
+
+    /**
+     * Forget everything about the server (joining or leaving one)
+     */
+    public static void reset() {
+        for (int i = 0; i < HANDS; i++) {
+            PENDING[i] = null;
+            SENT[i] = null;
+            SENT_STACK[i] = null;
+        }
+        nextSequence = 0;
+        lastReceived = null;
+    }
+}
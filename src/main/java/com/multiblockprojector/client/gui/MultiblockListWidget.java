@@ -0,0 +1,251 @@
+package com.multiblockprojector.client.gui;
+
+import com.multiblockprojector.api.IUniversalMultiblock;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.components.AbstractWidget;
+import net.minecraft.client.gui.narration.NarratedElementType;
+import net.minecraft.client.gui.narration.NarrationElementOutput;
+import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Scrollable list of multiblocks that only does work for rows in view. A fixed pool of rows
+ * (one more than fit in the viewport) is rebound to catalog entries as the list scrolls, so
+ * scrolling allocates nothing beyond the label of a newly bound row.
+ */
+public class MultiblockListWidget extends AbstractWidget {
+    private static final ResourceLocation ROW_SPRITE = ResourceLocation.withDefaultNamespace("widget/button");
+    private static final ResourceLocation ROW_HOVERED_SPRITE = ResourceLocation.withDefaultNamespace("widget/button_highlighted");
+    private static final int SCROLLBAR_WIDTH = 6;
+    private static final int SCROLLBAR_SPACE = 10;
+    private static final int THUMBNAIL_SIZE = 16;
+    // Fraction of the remaining distance covered per millisecond of smooth scrolling
+    private static final double SCROLL_SMOOTHING = 0.02;
+
+    private final Font font;
+    private final int rowHeight;
+    private final Consumer<IUniversalMultiblock> onSelect;
+    private final Row[] rows;
+
+    private List<IUniversalMultiblock> entries = List.of();
+    @Nullable
+    private IUniversalMultiblock selected;
+
+    private double scrollAmount;
+    private double targetScroll;
+    private long lastFrameMillis = -1;
+    private boolean draggingScrollbar;
+
+    public MultiblockListWidget(Font font, int x, int y, int width, int height, int rowHeight,
+                                Consumer<IUniversalMultiblock> onSelect) {
+        super(x, y, width, height, Component.translatable("gui.multiblockprojector.select_multiblock"));
+        this.font = font;
+        this.rowHeight = rowHeight;
+        this.onSelect = onSelect;
+        this.rows = new Row[Mth.positiveCeilDiv(height, rowHeight) + 1];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new Row();
+        }
+    }
+
+    /**
+     * Replace the listed multiblocks and scroll back to the top
+     */
+    public void setEntries(List<IUniversalMultiblock> entries) {
+        this.entries = entries;
+        for (Row row : rows) {
+            row.unbind();
+        }
+        setScrollAmount(0);
+    }
+
+    public void setSelected(@Nullable IUniversalMultiblock selected) {
+        this.selected = selected;
+    }
+
+    public double getScrollAmount() {
+        return targetScroll;
+    }
+
+    public void setScrollAmount(double amount) {
+        targetScroll = Mth.clamp(amount, 0, getMaxScroll());
+        scrollAmount = targetScroll;
+    }
+
+    /**
+     * @return The entry under the mouse, or null
+     */
+    @Nullable
+    public IUniversalMultiblock getEntryAt(double mouseX, double mouseY) {
+        if (!isMouseOver(mouseX, mouseY) || mouseX >= getRowRight()) return null;
+        int index = (int) ((mouseY - getY() + scrollAmount) / rowHeight);
+        return index >= 0 && index < entries.size() ? entries.get(index) : null;
+    }
+
+    private int getMaxScroll() {
+        return Math.max(0, entries.size() * rowHeight - height);
+    }
+
+    private boolean isScrollable() {
+        return getMaxScroll() > 0;
+    }
+
+    private int getRowRight() {
+        return getX() + width - SCROLLBAR_SPACE;
+    }
+
+    private int getScrollbarX() {
+        return getX() + width - SCROLLBAR_WIDTH - 2;
+    }
+
+    private void updateSmoothScroll() {
+        long now = System.currentTimeMillis();
+        if (lastFrameMillis >= 0 && scrollAmount != targetScroll) {
+            double t = 1 - Math.pow(1 - SCROLL_SMOOTHING, now - lastFrameMillis);
+            scrollAmount += (targetScroll - scrollAmount) * t;
+            if (Math.abs(targetScroll - scrollAmount) < 0.5) {
+                scrollAmount = targetScroll;
+            }
+        }
+        lastFrameMillis = now;
+    }
+
+    @Override
+    protected void renderWidget(GuiGraphics graphics, int mouseX, int mouseY, float partialTick) {
+        updateSmoothScroll();
+
+        int firstIndex = (int) (scrollAmount / rowHeight);
+        int pixelOffset = (int) scrollAmount - firstIndex * rowHeight;
+        int rowRight = getRowRight();
+        IUniversalMultiblock hovered = getEntryAt(mouseX, mouseY);
+
+        graphics.enableScissor(getX(), getY(), getX() + width, getY() + height);
+        for (int slot = 0; slot < rows.length; slot++) {
+            int index = firstIndex + slot;
+            if (index >= entries.size()) break;
+
+            // Rows are recycled by position in the pool; rebinding only happens when the entry changes
+            Row row = rows[Math.floorMod(index, rows.length)];
+            row.bind(index, entries.get(index), rowRight - getX() - THUMBNAIL_SIZE - 8);
+
+            int rowY = getY() + slot * rowHeight - pixelOffset;
+            row.render(graphics, getX(), rowY, rowRight - getX(), rowHeight - 2, row.entry == hovered);
+        }
+        graphics.disableScissor();
+
+        if (isScrollable()) {
+            renderScrollbar(graphics);
+        }
+    }
+
+    private void renderScrollbar(GuiGraphics graphics) {
+        int scrollbarX = getScrollbarX();
+        graphics.fill(scrollbarX, getY(), scrollbarX + SCROLLBAR_WIDTH, getY() + height, 0xFF404040);
+
+        int contentHeight = entries.size() * rowHeight;
+        int thumbHeight = Math.max(10, height * height / contentHeight);
+        int thumbY = getY() + (int) ((height - thumbHeight) * (scrollAmount / getMaxScroll()));
+        graphics.fill(scrollbarX + 1, thumbY, scrollbarX + SCROLLBAR_WIDTH - 1, thumbY + thumbHeight, 0xFF808080);
+    }
+
+    @Override
+    public boolean mouseClicked(double mouseX, double mouseY, int button) {
+        if (!active || !visible || !isValidClickButton(button) || !isMouseOver(mouseX, mouseY)) {
+            return false;
+        }
+
+        if (isScrollable() && mouseX >= getScrollbarX()) {
+            draggingScrollbar = true;
+            scrollToMouse(mouseY);
+            return true;
+        }
+
+        IUniversalMultiblock entry = getEntryAt(mouseX, mouseY);
+        if (entry != null) {
+            playDownSound(Minecraft.getInstance().getSoundManager());
+            selected = entry;
+            onSelect.accept(entry);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    protected void onDrag(double mouseX, double mouseY, double dragX, double dragY) {
+        if (draggingScrollbar) {
+            scrollToMouse(mouseY);
+        }
+    }
+
+    @Override
+    public void onRelease(double mouseX, double mouseY) {
+        draggingScrollbar = false;
+    }
+
+    private void scrollToMouse(double mouseY) {
+        double fraction = (mouseY - getY()) / height;
+        setScrollAmount(fraction * getMaxScroll());
+    }
+
+    @Override
+    public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
+        if (!isScrollable() || !isMouseOver(mouseX, mouseY)) return false;
+        targetScroll = Mth.clamp(targetScroll - scrollY * rowHeight, 0, getMaxScroll());
+        return true;
+    }
+
+    @Override
+    protected void updateWidgetNarration(NarrationElementOutput output) {
+        output.add(NarratedElementType.TITLE, getMessage());
+        if (selected != null) {
+            output.add(NarratedElementType.USAGE, selected.getDisplayName());
+        }
+    }
+
+    /**
+     * One pooled row. Holds the label of its current entry so text is only measured when rebound.
+     */
+    private class Row {
+        private int index = -1;
+        private IUniversalMultiblock entry;
+        private String label;
+
+        void bind(int index, IUniversalMultiblock entry, int maxLabelWidth) {
+            if (this.index == index && this.entry == entry) return;
+            this.index = index;
+            this.entry = entry;
+
+            String text = entry.getDisplayName().getString();
+            if (font.width(text) > maxLabelWidth) {
+                text = font.plainSubstrByWidth(text, maxLabelWidth - font.width("...")) + "...";
+            }
+            this.label = text;
+        }
+
+        void unbind() {
+            index = -1;
+            entry = null;
+            label = null;
+        }
+
+        void render(GuiGraphics graphics, int x, int y, int rowWidth, int rowHeight, boolean hovered) {
+            graphics.blitSprite(hovered ? ROW_HOVERED_SPRITE : ROW_SPRITE, x, y, rowWidth, rowHeight);
+            if (entry == selected) {
+                graphics.renderOutline(x, y, rowWidth, rowHeight, 0xFFFFFFFF);
+            }
+
+            ThumbnailAtlas.get().draw(graphics, entry, x + 2, y + 1, THUMBNAIL_SIZE);
+
+            int textLeft = x + THUMBNAIL_SIZE + 4;
+            int textCenter = textLeft + (x + rowWidth - textLeft) / 2;
+            graphics.drawCenteredString(font, label, textCenter, y + (rowHeight - 8) / 2, 0xFFFFFF);
+        }
+    }
+}
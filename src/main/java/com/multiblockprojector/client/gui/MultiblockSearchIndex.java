@@ -0,0 +1,203 @@
+package com.multiblockprojector.client.gui;
+
+import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.api.MultiblockStructureCache;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Trigram index over the multiblock catalog. Each multiblock is indexed by its display name,
+ * unique name, category and the names of the blocks it contains. A query is split into terms
+ * and matches when every term is a substring of the indexed text; trigrams narrow the
+ * candidates before the substring check.
+ *
+ * Names are indexed straight away; block names need each structure to be generated and are
+ * added by a second index built in the background.
+ */
+public class MultiblockSearchIndex {
+    private static MultiblockSearchIndex current;
+    private static CompletableFuture<MultiblockSearchIndex> pendingFull;
+
+    private final List<IUniversalMultiblock> catalog;
+    private final String[] texts;
+    private final Long2ObjectMap<BitSet> trigrams = new Long2ObjectOpenHashMap<>();
+
+    private MultiblockSearchIndex(List<IUniversalMultiblock> catalog, String[] texts) {
+        this.catalog = catalog;
+        this.texts = texts;
+        for (int doc = 0; doc < texts.length; doc++) {
+            String text = texts[doc];
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                trigrams.computeIfAbsent(trigram(text, i), k -> new BitSet(texts.length)).set(doc);
+            }
+        }
+    }
+
+    /**
+     * Get the index for the given catalog (as returned by {@code UniversalMultiblockHandler.getMultiblocks()}),
+     * building it if the catalog changed. Must be called on the render thread.
+     */
+    public static MultiblockSearchIndex forCatalog(List<IUniversalMultiblock> catalog) {
+        if (pendingFull != null && pendingFull.isDone()) {
+            MultiblockSearchIndex full = pendingFull.getNow(null);
+            pendingFull = null;
+            if (full != null && full.catalog == catalog) {
+                current = full;
+            }
+        }
+
+        if (current == null || current.catalog != catalog) {
+            current = build(catalog, null);
+            if (pendingFull != null) {
+                pendingFull.cancel(false);
+            }
+            Level level = Minecraft.getInstance().level;
+            if (level != null) {
+                pendingFull = CompletableFuture.supplyAsync(() -> build(catalog, level), Util.backgroundExecutor())
+                    .exceptionally(e -> {
+                        UniversalProjector.LOGGER.warn("Failed to index multiblock contents for search", e);
+                        return null;
+                    });
+            }
+        }
+        return current;
+    }
+
+    private static MultiblockSearchIndex build(List<IUniversalMultiblock> catalog, @Nullable Level level) {
+        String[] texts = new String[catalog.size()];
+        for (int i = 0; i < texts.length; i++) {
+            IUniversalMultiblock multiblock = catalog.get(i);
+            StringBuilder text = new StringBuilder()
+                .append(multiblock.getDisplayName().getString()).append('\n')
+                .append(multiblock.getUniqueName()).append('\n')
+                .append(multiblock.getCategory());
+            if (level != null) {
+                for (String blockName : getBlockNames(multiblock, level)) {
+                    text.append('\n').append(blockName);
+                }
+            }
+            texts[i] = text.toString().toLowerCase(Locale.ROOT);
+        }
+        return new MultiblockSearchIndex(catalog, texts);
+    }
+
+    private static Set<String> getBlockNames(IUniversalMultiblock multiblock, Level level) {
+        Set<Block> blocks = new LinkedHashSet<>();
+        try {
+            // The palette already lists each distinct state once
+            for (BlockState state : MultiblockStructureCache.getStructure(multiblock, level).getPalette()) {
+                if (!state.isAir()) {
+                    blocks.add(state.getBlock());
+                }
+            }
+        } catch (Exception e) {
+            // Structure generation failed; the multiblock is still found by name
+        }
+
+        Set<String> names = new LinkedHashSet<>();
+        for (Block block : blocks) {
+            names.add(block.getName().getString());
+        }
+        return names;
+    }
+
+    /**
+     * Find all catalog entries matching a query.
+     * @param candidates If set, only these entries are checked (used to refine a previous result)
+     * @return Matching catalog indices
+     */
+    public BitSet search(String query, @Nullable BitSet candidates) {
+        String[] terms = query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+
+        BitSet result;
+        if (candidates != null) {
+            result = (BitSet) candidates.clone();
+        } else {
+            result = new BitSet(texts.length);
+            result.set(0, texts.length);
+            for (String term : terms) {
+                for (int i = 0; i + 3 <= term.length(); i++) {
+                    BitSet docs = trigrams.get(trigram(term, i));
+                    if (docs == null) {
+                        return new BitSet();
+                    }
+                    result.and(docs);
+                }
+            }
+        }
+
+        // Trigrams only say the pieces are present; confirm the terms really occur
+        for (int doc = result.nextSetBit(0); doc >= 0; doc = result.nextSetBit(doc + 1)) {
+            for (String term : terms) {
+                if (!texts[doc].contains(term)) {
+                    result.clear(doc);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    /**
+     * Search state for one text field. Typing more characters only re-checks the previous matches.
+     */
+    public static class Session {
+        private MultiblockSearchIndex index;
+        private String lastQuery = "";
+        private BitSet lastResult;
+
+        /**
+         * @return Matching multiblocks in catalog order, or the whole catalog for a blank query
+         */
+        public List<IUniversalMultiblock> search(List<IUniversalMultiblock> catalog, String query) {
+            MultiblockSearchIndex latest = forCatalog(catalog);
+            if (latest != index) {
+                // New catalog or block names became available: start over
+                index = latest;
+                lastResult = null;
+            }
+
+            if (query.isBlank()) {
+                lastQuery = "";
+                lastResult = null;
+                return catalog;
+            }
+
+            BitSet candidates = lastResult != null && query.startsWith(lastQuery) ? lastResult : null;
+            lastResult = index.search(query, candidates);
+            lastQuery = query;
+
+            List<IUniversalMultiblock> matches = new ArrayList<>(lastResult.cardinality());
+            for (int i = lastResult.nextSetBit(0); i >= 0; i = lastResult.nextSetBit(i + 1)) {
+                matches.add(catalog.get(i));
+            }
+            return matches;
+        }
+
+        /**
+         * @return true if a better index has become available since the last search
+         */
+        public boolean isStale(List<IUniversalMultiblock> catalog) {
+            return index != null && forCatalog(catalog) != index;
+        }
+    }
+}
@@ -0,0 +1,478 @@
+package com.multiblockprojector.client.gui;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.ByteBufferBuilder;
+import com.mojang.blaze3d.vertex.MeshData;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.multiblockprojector.api.ICyclingBlockMultiblock;
+import com.multiblockprojector.api.PalettedStructure;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.MultiBufferSource;
+import net.minecraft.client.renderer.RenderType;
+import net.minecraft.client.renderer.ShaderInstance;
+import net.minecraft.client.renderer.block.BlockRenderDispatcher;
+import net.minecraft.client.renderer.block.model.BakedModel;
+import net.minecraft.client.renderer.texture.OverlayTexture;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.level.BlockAndTintGetter;
+import net.minecraft.world.level.ColorResolver;
+import net.minecraft.world.level.LightLayer;
+import net.minecraft.world.level.block.Blocks;
+import net.minecraft.world.level.block.RenderShape;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.level.material.FluidState;
+import net.neoforged.neoforge.client.RenderTypeHelper;
+import net.neoforged.neoforge.client.model.data.ModelData;
+import org.joml.Matrix4f;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A structure compiled once into GPU vertex buffers, one per render type, the same way
+ * chunk sections are meshed: faces touching a neighbouring full block are culled.
+ * Blocks are emitted in layer order and the index count after each block is kept,
+ * so the build-up animation draws a prefix of each buffer instead of re-emitting geometry.
+ * <p>
+ * The emitted vertices are also kept per block, together with a signature of the block's
+ * 3x3x3 neighbourhood. Rebuilding from a previous mesh (e.g. after resizing a structure)
+ * copies the vertices of every block whose neighbourhood did not change instead of
+ * tesselating it again, so only the blocks around the changed region are re-meshed.
+ */
+public class PreviewMesh implements AutoCloseable {
+    private final PalettedStructure structure;
+    private final int cycleIndex;
+    private final Map<RenderType, Layer> layers;
+    // Blocks without a baked model (e.g. chests) are still rendered one by one
+    private final IntList fallbackBlocks;
+    private final BlockState[] states;
+    private final long[] positions;
+    // Neighbourhood signature per block; 0 if its vertices cannot be reused
+    private final long[] signatures;
+    private final Long2IntMap blockIndices;
+
+    /**
+     * @param vertexEnds vertex count of the buffer after each block of the structure
+     * @param vertexData the uploaded vertices, {@link #VERTEX_INTS} ints each
+     */
+    private record Layer(VertexBuffer buffer, int[] vertexEnds, int[] vertexData) {}
+
+    // x, y, z, color, u, v, overlay, light, normal x, y, z
+    private static final int VERTEX_INTS = 11;
+
+    private PreviewMesh(PalettedStructure structure, int cycleIndex, BlockState[] states, long[] positions,
+                        long[] signatures, Map<RenderType, Layer> layers, IntList fallbackBlocks) {
+        this.structure = structure;
+        this.cycleIndex = cycleIndex;
+        this.states = states;
+        this.positions = positions;
+        this.signatures = signatures;
+        this.layers = layers;
+        this.fallbackBlocks = fallbackBlocks;
+        this.blockIndices = new Long2IntOpenHashMap(positions.length);
+        this.blockIndices.defaultReturnValue(-1);
+        for (int i = 0; i < positions.length; i++) {
+            blockIndices.put(positions[i], i);
+        }
+    }
+
+    /**
+     * @return true if this mesh was compiled from the given structure and cycle step
+     */
+    public boolean matches(PalettedStructure structure, int cycleIndex) {
+        return this.structure == structure && this.cycleIndex == cycleIndex;
+    }
+
+    /**
+     * Tesselate a structure. Must be called on the render thread.
+     * @param cyclingMultiblock If set, cycling positions use the block for {@code cycleIndex}
+     * @param previous A mesh whose unchanged blocks are copied instead of tesselated; it stays open
+     */
+    public static PreviewMesh build(ClientLevel level, PalettedStructure structure,
+                                    @Nullable ICyclingBlockMultiblock cyclingMultiblock, int cycleIndex,
+                                    @Nullable PreviewMesh previous) {
+        int blockCount = structure.size();
+        BlockState[] states = new BlockState[blockCount];
+        long[] positions = new long[blockCount];
+        Long2ObjectMap<BlockState> cycled = new Long2ObjectOpenHashMap<>();
+        structure.forEach((i, pos, state) -> {
+            if (cyclingMultiblock != null && cyclingMultiblock.hasCyclingBlocks(pos)) {
+                List<BlockState> acceptableBlocks = cyclingMultiblock.getAcceptableBlocks(pos);
+                if (!acceptableBlocks.isEmpty()) {
+                    state = acceptableBlocks.get(cycleIndex % acceptableBlocks.size());
+                    cycled.put(pos.asLong(), state);
+                }
+            }
+            states[i] = state;
+            positions[i] = pos.asLong();
+            return false;
+        });
+
+        StructureView view = new StructureView(structure, cycled, level);
+        BlockRenderDispatcher dispatcher = Minecraft.getInstance().getBlockRenderer();
+        RandomSource random = RandomSource.create();
+        PoseStack poseStack = new PoseStack();
+
+        Map<RenderType, Builder> builders = new LinkedHashMap<>();
+        IntList fallbackBlocks = new IntArrayList();
+        long[] signatures = new long[blockCount];
+
+        BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+        BlockPos.MutableBlockPos neighbour = new BlockPos.MutableBlockPos();
+        for (int i = 0; i < blockCount; i++) {
+            BlockState state = states[i];
+            pos.set(positions[i]);
+            signatures[i] = signature(view, pos, neighbour);
+
+            int previousIndex = previous != null ? previous.blockIndices.get(positions[i]) : -1;
+            if (previousIndex >= 0 && previous.signatures[previousIndex] == signatures[i]
+                    && state.getRenderShape() == RenderShape.MODEL) {
+                // Same block with the same surroundings: faces, culling and shading are unchanged
+                for (Map.Entry<RenderType, Layer> entry : previous.layers.entrySet()) {
+                    Layer layer = entry.getValue();
+                    int start = previousIndex > 0 ? layer.vertexEnds()[previousIndex - 1] : 0;
+                    int end = layer.vertexEnds()[previousIndex];
+                    if (end > start) {
+                        builders.computeIfAbsent(entry.getKey(), t -> new Builder(t, blockCount))
+                            .consumer.copyVertices(layer.vertexData(), start, end);
+                    }
+                }
+            } else if (state.getRenderShape() == RenderShape.MODEL) {
+                BakedModel model = dispatcher.getBlockModel(state);
+                long seed = state.getSeed(pos);
+                random.setSeed(seed);
+
+                poseStack.pushPose();
+                poseStack.translate(pos.getX(), pos.getY(), pos.getZ());
+                for (RenderType chunkType : model.getRenderTypes(state, random, ModelData.EMPTY)) {
+                    RenderType type = RenderTypeHelper.getEntityRenderType(chunkType);
+                    Builder builder = builders.computeIfAbsent(type, t -> new Builder(t, blockCount));
+                    try {
+                        dispatcher.getModelRenderer().tesselateBlock(view, model, state, pos, poseStack,
+                            builder.consumer, true, random, seed, OverlayTexture.NO_OVERLAY, ModelData.EMPTY, chunkType);
+                    } catch (Exception e) {
+                        // Silently ignore render errors for individual blocks
+                    }
+                }
+                poseStack.popPose();
+            } else if (state.getRenderShape() != RenderShape.INVISIBLE) {
+                fallbackBlocks.add(i);
+            }
+
+            for (Builder builder : builders.values()) {
+                if (builder.markBlock(i)) {
+                    signatures[i] = 0;
+                }
+            }
+        }
+
+        // Upload in chunk layer order so translucent geometry is drawn last
+        Map<RenderType, Builder> ordered = new LinkedHashMap<>();
+        for (RenderType chunkType : RenderType.chunkBufferLayers()) {
+            RenderType type = RenderTypeHelper.getEntityRenderType(chunkType);
+            Builder builder = builders.remove(type);
+            if (builder != null) {
+                ordered.put(type, builder);
+            }
+        }
+        ordered.putAll(builders);
+
+        Map<RenderType, Layer> layers = new LinkedHashMap<>();
+        for (Map.Entry<RenderType, Builder> entry : ordered.entrySet()) {
+            Layer layer = entry.getValue().upload();
+            if (layer != null) {
+                layers.put(entry.getKey(), layer);
+            }
+        }
+        return new PreviewMesh(structure, cycleIndex, states, positions, signatures, layers, fallbackBlocks);
+    }
+
+    /**
+     * Hash of the states around a block. Identity hashes are stable because block states are interned.
+     */
+    private static long signature(StructureView view, BlockPos pos, BlockPos.MutableBlockPos neighbour) {
+        long hash = 1;
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dz = -1; dz <= 1; dz++) {
+                    BlockState state = view.getBlockState(neighbour.setWithOffset(pos, dx, dy, dz));
+                    hash = (hash ^ System.identityHashCode(state)) * 0x9E3779B97F4A7C15L;
+                    hash ^= hash >>> 29;
+                }
+            }
+        }
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Draw the first {@code count} blocks with the current pose, one draw call per render type.
+     */
+    public void draw(GuiGraphics graphics, PoseStack poseStack, int count) {
+        int blocks = Math.min(count, structure.size());
+        if (blocks <= 0) return;
+
+        // Anything still batched in the GUI buffers must land before our direct draws
+        graphics.flush();
+
+        Matrix4f modelView = new Matrix4f(RenderSystem.getModelViewMatrix()).mul(poseStack.last().pose());
+        for (Map.Entry<RenderType, Layer> entry : layers.entrySet()) {
+            Layer layer = entry.getValue();
+            // Quads are drawn as two triangles: 6 indices per 4 vertices
+            int indexCount = layer.vertexEnds()[blocks - 1] / 4 * 6;
+            if (indexCount == 0) continue;
+
+            RenderType type = entry.getKey();
+            type.setupRenderState();
+            ShaderInstance shader = RenderSystem.getShader();
+            if (shader != null) {
+                layer.buffer().bind();
+                shader.setDefaultUniforms(VertexFormat.Mode.QUADS, modelView,
+                    RenderSystem.getProjectionMatrix(), Minecraft.getInstance().getWindow());
+                shader.apply();
+                RenderSystem.drawElements(VertexFormat.Mode.QUADS.asGLMode, indexCount,
+                    RenderSystem.getSequentialBuffer(VertexFormat.Mode.QUADS).type().asGLType);
+                shader.clear();
+            }
+            type.clearRenderState();
+        }
+        VertexBuffer.unbind();
+
+        if (!fallbackBlocks.isEmpty()) {
+            drawFallbackBlocks(graphics, poseStack, blocks);
+        }
+    }
+
+    private void drawFallbackBlocks(GuiGraphics graphics, PoseStack poseStack, int blocks) {
+        BlockRenderDispatcher dispatcher = Minecraft.getInstance().getBlockRenderer();
+        MultiBufferSource.BufferSource buffers = graphics.bufferSource();
+        for (int i = 0; i < fallbackBlocks.size(); i++) {
+            int index = fallbackBlocks.getInt(i);
+            if (index >= blocks) break;
+
+            long pos = positions[index];
+            poseStack.pushPose();
+            poseStack.translate(BlockPos.getX(pos), BlockPos.getY(pos), BlockPos.getZ(pos));
+            try {
+                dispatcher.renderSingleBlock(states[index], poseStack, buffers,
+                    0xF000F0, OverlayTexture.NO_OVERLAY, ModelData.EMPTY, null);
+            } catch (Exception e) {
+                // Silently ignore render errors for individual blocks
+            }
+            poseStack.popPose();
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Layer layer : layers.values()) {
+            layer.buffer().close();
+        }
+        layers.clear();
+    }
+
+    /**
+     * Collects the vertices of one render type and remembers where each block ends.
+     */
+    private static class Builder {
+        private final ByteBufferBuilder bytes;
+        private final BufferBuilder buffer;
+        private final RecordingConsumer consumer;
+        private final int[] vertexEnds;
+
+        Builder(RenderType type, int blockCount) {
+            this.bytes = new ByteBufferBuilder(type.bufferSize());
+            this.buffer = new BufferBuilder(bytes, VertexFormat.Mode.QUADS, type.format());
+            this.consumer = new RecordingConsumer(buffer);
+            this.vertexEnds = new int[blockCount];
+        }
+
+        /**
+         * @return true if the block's vertices could not be fully recorded
+         */
+        boolean markBlock(int blockIndex) {
+            vertexEnds[blockIndex] = consumer.vertices;
+            boolean unrecorded = consumer.unrecorded;
+            consumer.unrecorded = false;
+            return unrecorded;
+        }
+
+        @Nullable
+        Layer upload() {
+            try (bytes) {
+                MeshData mesh = buffer.build();
+                if (mesh == null) return null;
+
+                VertexBuffer vertexBuffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+                vertexBuffer.bind();
+                vertexBuffer.upload(mesh);
+                VertexBuffer.unbind();
+                return new Layer(vertexBuffer, vertexEnds, consumer.data.toIntArray());
+            }
+        }
+    }
+
+    /**
+     * Forwards to a buffer while counting and recording emitted vertices, since {@link BufferBuilder}
+     * exposes neither. Vertices built attribute by attribute are counted but not recorded.
+     */
+    private static class RecordingConsumer implements VertexConsumer {
+        private final VertexConsumer delegate;
+        private final IntArrayList data = new IntArrayList();
+        private int vertices;
+        private boolean unrecorded;
+
+        RecordingConsumer(VertexConsumer delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Re-emit recorded vertices {@code [start, end)}
+         */
+        void copyVertices(int[] source, int start, int end) {
+            for (int i = start * VERTEX_INTS; i < end * VERTEX_INTS; i += VERTEX_INTS) {
+                addVertex(Float.intBitsToFloat(source[i]), Float.intBitsToFloat(source[i + 1]), Float.intBitsToFloat(source[i + 2]),
+                    source[i + 3], Float.intBitsToFloat(source[i + 4]), Float.intBitsToFloat(source[i + 5]),
+                    source[i + 6], source[i + 7],
+                    Float.intBitsToFloat(source[i + 8]), Float.intBitsToFloat(source[i + 9]), Float.intBitsToFloat(source[i + 10]));
+            }
+        }
+
+        @Override
+        public VertexConsumer addVertex(float x, float y, float z) {
+            vertices++;
+            unrecorded = true;
+            // Keep the recording aligned with the vertex count
+            data.size(vertices * VERTEX_INTS);
+            delegate.addVertex(x, y, z);
+            return this;
+        }
+
+        @Override
+        public void addVertex(float x, float y, float z, int color, float u, float v,
+                              int packedOverlay, int packedLight, float normalX, float normalY, float normalZ) {
+            vertices++;
+            data.add(Float.floatToRawIntBits(x));
+            data.add(Float.floatToRawIntBits(y));
+            data.add(Float.floatToRawIntBits(z));
+            data.add(color);
+            data.add(Float.floatToRawIntBits(u));
+            data.add(Float.floatToRawIntBits(v));
+            data.add(packedOverlay);
+            data.add(packedLight);
+            data.add(Float.floatToRawIntBits(normalX));
+            data.add(Float.floatToRawIntBits(normalY));
+            data.add(Float.floatToRawIntBits(normalZ));
+            delegate.addVertex(x, y, z, color, u, v, packedOverlay, packedLight, normalX, normalY, normalZ);
+        }
+
+        @Override
+        public VertexConsumer setColor(int red, int green, int blue, int alpha) {
+            delegate.setColor(red, green, blue, alpha);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv(float u, float v) {
+            delegate.setUv(u, v);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv1(int u, int v) {
+            delegate.setUv1(u, v);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setUv2(int u, int v) {
+            delegate.setUv2(u, v);
+            return this;
+        }
+
+        @Override
+        public VertexConsumer setNormal(float normalX, float normalY, float normalZ) {
+            delegate.setNormal(normalX, normalY, normalZ);
+            return this;
+        }
+    }
+
+    /**
+     * The structure as a tiny fully-lit level, so models cull faces against their neighbours.
+     * Directional shading is left to the entity shader, as with {@code renderSingleBlock}.
+     */
+    private record StructureView(PalettedStructure structure, Long2ObjectMap<BlockState> cycled,
+                                 ClientLevel level) implements BlockAndTintGetter {
+        @Override
+        public BlockState getBlockState(BlockPos pos) {
+            BlockState state = cycled.get(pos.asLong());
+            if (state == null) {
+                state = structure.getState(pos);
+            }
+            return state != null ? state : Blocks.AIR.defaultBlockState();
+        }
+
+        @Override
+        public FluidState getFluidState(BlockPos pos) {
+            return getBlockState(pos).getFluidState();
+        }
+
+        @Nullable
+        @Override
+        public BlockEntity getBlockEntity(BlockPos pos) {
+            return null;
+        }
+
+        @Override
+        public float getShade(Direction direction, boolean shade) {
+            return 1.0f;
+        }
+
+        @Override
+        public LevelLightEngine getLightEngine() {
+            return level.getLightEngine();
+        }
+
+        @Override
+        public int getBrightness(LightLayer lightType, BlockPos pos) {
+            return 15;
+        }
+
+        @Override
+        public int getRawBrightness(BlockPos pos, int amount) {
+            return 15;
+        }
+
+        @Override
+        public int getBlockTint(BlockPos pos, ColorResolver colorResolver) {
+            return level.getBlockTint(pos, colorResolver);
+        }
+
+        @Override
+        public int getHeight() {
+            return level.getHeight();
+        }
+
+        @Override
+        public int getMinBuildHeight() {
+            return level.getMinBuildHeight();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.multiblockprojector.client.gui;
+
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.Vec3i;
+import net.minecraft.resources.ResourceLocation;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Small LRU cache of off-screen framebuffers holding rendered multiblock previews.
+ * Each entry is one (multiblock, size, rotation bucket) snapshot that can be blitted
+ * instead of re-rendering every block each frame.
+ */
+public class PreviewTextureCache {
+    private static final int MAX_ENTRIES = 16;
+
+    private final Map<Key, TextureTarget> targets = new LinkedHashMap<>(MAX_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, TextureTarget> eldest) {
+            if (size() > MAX_ENTRIES) {
+                eldest.getValue().destroyBuffers();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Identifies one cached snapshot. Pixel dimensions are part of the key so a GUI
+     * resize or scale change never blits a stretched texture.
+     */
+    public record Key(ResourceLocation multiblock, Vec3i size, int pitchBucket, int yawBucket,
+                      int cycleIndex, int pixelWidth, int pixelHeight) {}
+
+    @Nullable
+    public TextureTarget get(Key key) {
+        return targets.get(key);
+    }
+
+    /**
+     * Get the framebuffer for a key, creating an empty one if none exists yet.
+     * Callers must check {@link #get} first if they need to know whether it was already rendered.
+     */
+    public TextureTarget create(Key key) {
+        TextureTarget target = new TextureTarget(key.pixelWidth(), key.pixelHeight(), true, Minecraft.ON_OSX);
+        target.setClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        TextureTarget old = targets.put(key, target);
+        if (old != null) {
+            old.destroyBuffers();
+        }
+        return target;
+    }
+
+    /**
+     * Release all framebuffers (called when the GUI closes)
+     */
+    public void clear() {
+        for (TextureTarget target : targets.values()) {
+            target.destroyBuffers();
+        }
+        targets.clear();
+    }
+}
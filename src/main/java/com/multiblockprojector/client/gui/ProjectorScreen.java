@@ -1,5 +1,6 @@
 package com.multiblockprojector.client.gui;
 
+import com.multiblockprojector.api.BillOfMaterials;
 import com.multiblockprojector.api.IUniversalMultiblock;
 import com.multiblockprojector.api.IVariableSizeMultiblock;
 import com.multiblockprojector.api.UniversalMultiblockHandler;
@@ -8,12 +9,17 @@ import com.multiblockprojector.common.network.MessageProjectorSync;
 import com.multiblockprojector.common.projector.Settings;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.components.Button;
+import net.minecraft.client.gui.components.EditBox;
 import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.core.Vec3i;
 import net.minecraft.network.chat.Component;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -27,8 +33,9 @@ public class ProjectorScreen extends Screen {
     private final InteractionHand hand;
     private final Settings settings;
 
-    // All multiblocks from handler
-    private final List<IUniversalMultiblock> allMultiblocks;
+    // All multiblocks from handler (empty until discovery has finished)
+    private List<IUniversalMultiblock> allMultiblocks = List.of();
+    private boolean catalogLoaded = false;
     // Filtered multiblocks for current tab
     private List<IUniversalMultiblock> filteredMultiblocks;
 
@@ -45,16 +52,26 @@ public class ProjectorScreen extends Screen {
     private String selectedModTab = null;
     private final List<Button> tabButtons = new ArrayList<>();
 
-    private int scrollOffset = 0;
+    // Search box filtering the current tab
+    private final MultiblockSearchIndex.Session search = new MultiblockSearchIndex.Session();
+    private String searchQuery = "";
+    private EditBox searchBox;
+
+    private MultiblockListWidget listWidget;
     private static final int ENTRIES_PER_PAGE = 7; // Reduced to make room for tabs
     private static final int ENTRY_HEIGHT = 20;
     private static final int TAB_HEIGHT = 25;
+    private static final int SEARCH_HEIGHT = 16;
+    private static final int MATERIAL_ROW_HEIGHT = 18;
 
     private SimpleMultiblockPreviewRenderer previewRenderer;
     private IUniversalMultiblock selectedMultiblock;
     private int currentSizePresetIndex = 0;
     private Button sizeDecreaseButton;
     private Button sizeIncreaseButton;
+    // Size being previewed; either a preset or a custom size picked with the sliders
+    private Vec3i currentSize;
+    private final SizeSlider[] sizeSliders = new SizeSlider[3];
     private boolean isDragging = false;
     private double lastMouseX, lastMouseY;
 
@@ -63,13 +80,24 @@ public class ProjectorScreen extends Screen {
         this.projectorStack = projectorStack;
         this.hand = hand;
         this.settings = ProjectorItem.getSettings(projectorStack);
-        this.allMultiblocks = UniversalMultiblockHandler.getMultiblocks();
         this.previewRenderer = new SimpleMultiblockPreviewRenderer();
 
+        if (UniversalMultiblockHandler.isDiscoveryComplete()) {
+            loadCatalog();
+        } else {
+            // Show a loading state until background discovery is done
+            UniversalMultiblockHandler.startDiscovery();
+            filteredMultiblocks = List.of();
+        }
+    }
+
+    private void loadCatalog() {
+        this.allMultiblocks = UniversalMultiblockHandler.getMultiblocks();
+        this.catalogLoaded = true;
+
         // Determine which mods have multiblocks
         for (String modId : MOD_TABS.keySet()) {
-            boolean hasMultiblocks = allMultiblocks.stream()
-                .anyMatch(mb -> mb.getModId().equals(modId));
+            boolean hasMultiblocks = !UniversalMultiblockHandler.getMultiblocksFromMod(modId).isEmpty();
             modHasMultiblocks.put(modId, hasMultiblocks);
 
             // Select first available mod tab
@@ -83,14 +111,34 @@ public class ProjectorScreen extends Screen {
     }
 
     private void updateFilteredMultiblocks() {
-        if (selectedModTab == null) {
-            filteredMultiblocks = new ArrayList<>(allMultiblocks);
+        if (!catalogLoaded) return;
+
+        if (!searchQuery.isBlank()) {
+            List<IUniversalMultiblock> matches = search.search(allMultiblocks, searchQuery);
+            if (selectedModTab == null) {
+                filteredMultiblocks = matches;
+            } else {
+                filteredMultiblocks = new ArrayList<>();
+                for (IUniversalMultiblock multiblock : matches) {
+                    if (multiblock.getModId().equals(selectedModTab)) {
+                        filteredMultiblocks.add(multiblock);
+                    }
+                }
+            }
+        } else if (selectedModTab == null) {
+            filteredMultiblocks = allMultiblocks;
         } else {
-            filteredMultiblocks = allMultiblocks.stream()
-                .filter(mb -> mb.getModId().equals(selectedModTab))
-                .toList();
+            filteredMultiblocks = UniversalMultiblockHandler.getMultiblocksFromMod(selectedModTab);
+        }
+        if (listWidget != null) {
+            listWidget.setEntries(filteredMultiblocks);
         }
-        scrollOffset = 0;
+    }
+
+    private void onSearchChanged(String query) {
+        if (query.equals(searchQuery)) return;
+        searchQuery = query;
+        updateFilteredMultiblocks();
     }
 
     private void selectTab(String modId) {
@@ -99,10 +147,9 @@ public class ProjectorScreen extends Screen {
             updateFilteredMultiblocks();
             // Clear selection when switching tabs
             selectedMultiblock = null;
-            sizeDecreaseButton.visible = false;
-            sizeIncreaseButton.visible = false;
+            setSizeControlsVisible(false);
             previewRenderer.setMultiblock(null);
-            rebuildWidgets();
+            listWidget.setSelected(null);
         }
     }
 
@@ -115,7 +162,7 @@ public class ProjectorScreen extends Screen {
         int leftPanelWidth = this.width / 2;
         int tabY = 10;
         int tabWidth = (leftPanelWidth - 30) / MOD_TABS.size();
-        int startY = tabY + TAB_HEIGHT + 15; // Below tabs
+        int startY = tabY + TAB_HEIGHT + SEARCH_HEIGHT + 15; // Below tabs and search box
 
         // Create tab buttons
         int tabIndex = 0;
@@ -140,35 +187,28 @@ public class ProjectorScreen extends Screen {
             tabIndex++;
         }
 
-        // Create buttons for each visible multiblock in left panel
-        for (int i = 0; i < Math.min(ENTRIES_PER_PAGE, filteredMultiblocks.size() - scrollOffset); i++) {
-            int index = scrollOffset + i;
-            if (index >= filteredMultiblocks.size()) break;
-
-            IUniversalMultiblock multiblock = filteredMultiblocks.get(index);
-
-            // Account for scrollbar space if needed
-            int buttonWidth = filteredMultiblocks.size() > ENTRIES_PER_PAGE ?
-                leftPanelWidth - 30 - 10 : // Leave space for scrollbar
-                leftPanelWidth - 30;       // No scrollbar needed
-
-            Button button = Button.builder(
-                multiblock.getDisplayName(),
-                (btn) -> selectMultiblockForPreview(multiblock)
-            )
-            .bounds(10, startY + i * ENTRY_HEIGHT, buttonWidth, 18)
-            .build();
-
-            this.addRenderableWidget(button);
-        }
+        // Search box between the tabs and the list
+        searchBox = new EditBox(this.font, 10, tabY + TAB_HEIGHT + 5, leftPanelWidth - 30, SEARCH_HEIGHT,
+            Component.translatable("gui.multiblockprojector.projector.search"));
+        searchBox.setHint(Component.translatable("gui.multiblockprojector.projector.search"));
+        searchBox.setValue(searchQuery);
+        searchBox.setResponder(this::onSearchChanged);
+        this.addRenderableWidget(searchBox);
+
+        // Virtualized list of multiblocks in left panel; keep the scroll position across resizes
+        double previousScroll = listWidget != null ? listWidget.getScrollAmount() : 0;
+        listWidget = new MultiblockListWidget(this.font, 10, startY, leftPanelWidth - 20,
+            ENTRIES_PER_PAGE * ENTRY_HEIGHT, ENTRY_HEIGHT, this::selectMultiblockForPreview);
+        listWidget.setEntries(filteredMultiblocks);
+        listWidget.setScrollAmount(previousScroll);
+        listWidget.setSelected(selectedMultiblock);
+        this.addRenderableWidget(listWidget);
 
         // Add select button at bottom
         int buttonY = startY + ENTRIES_PER_PAGE * ENTRY_HEIGHT + 20;
 
-        // Select button (account for scrollbar space)
-        int selectButtonWidth = filteredMultiblocks.size() > ENTRIES_PER_PAGE ?
-            leftPanelWidth - 20 - 10 : // Leave space for scrollbar
-            leftPanelWidth - 20;       // No scrollbar needed
+        // Select button lines up with the list rows
+        int selectButtonWidth = leftPanelWidth - 30;
 
         this.addRenderableWidget(Button.builder(
             Component.translatable("gui.multiblockprojector.select"),
@@ -197,13 +237,40 @@ public class ProjectorScreen extends Screen {
         ).bounds(rightPanelCenterX + totalWidth / 2 - sizeButtonWidth, sizeButtonY, sizeButtonWidth, 20).build();
         sizeIncreaseButton.visible = false;
         this.addRenderableWidget(sizeIncreaseButton);
+
+        // Width / height / depth sliders on their own row above the presets
+        int sliderY = this.height - 72;
+        int sliderGap = 4;
+        int slidersWidth = (this.width - leftPanelWidth) - 40;
+        int sliderWidth = (slidersWidth - sliderGap * 2) / 3;
+        String[] sliderKeys = {"gui.multiblockprojector.size.width", "gui.multiblockprojector.size.height", "gui.multiblockprojector.size.depth"};
+        for (int axis = 0; axis < 3; axis++) {
+            int sliderAxis = axis;
+            sizeSliders[axis] = new SizeSlider(leftPanelWidth + 20 + axis * (sliderWidth + sliderGap), sliderY,
+                sliderWidth, 20, sliderKeys[axis], value -> onSizeSliderChanged(sliderAxis, value));
+            sizeSliders[axis].visible = false;
+            this.addRenderableWidget(sizeSliders[axis]);
+        }
+
+        // Widgets are rebuilt on resize; restore the size controls for the current selection
+        if (selectedMultiblock instanceof IVariableSizeMultiblock varMultiblock && currentSize != null) {
+            setSizeControlsVisible(true);
+            updateSizeButtons(varMultiblock);
+        }
+    }
+
+    private void setSizeControlsVisible(boolean visible) {
+        sizeDecreaseButton.visible = visible;
+        sizeIncreaseButton.visible = visible;
+        for (SizeSlider slider : sizeSliders) {
+            slider.visible = visible;
+        }
     }
 
     private void decreaseSizePreset() {
         if (selectedMultiblock instanceof IVariableSizeMultiblock varMultiblock) {
             if (currentSizePresetIndex > 0) {
                 currentSizePresetIndex--;
-                updateSizeButtons(varMultiblock);
                 updatePreviewWithSize(varMultiblock);
             }
         }
@@ -213,7 +280,6 @@ public class ProjectorScreen extends Screen {
         if (selectedMultiblock instanceof IVariableSizeMultiblock varMultiblock) {
             if (currentSizePresetIndex < varMultiblock.getSizePresets().size() - 1) {
                 currentSizePresetIndex++;
-                updateSizeButtons(varMultiblock);
                 updatePreviewWithSize(varMultiblock);
             }
         }
@@ -223,11 +289,63 @@ public class ProjectorScreen extends Screen {
         int maxIndex = varMultiblock.getSizePresets().size() - 1;
         sizeDecreaseButton.active = currentSizePresetIndex > 0;
         sizeIncreaseButton.active = currentSizePresetIndex < maxIndex;
+
+        Vec3i min = varMultiblock.getMinSize();
+        Vec3i max = varMultiblock.getMaxSize();
+        for (int axis = 0; axis < 3; axis++) {
+            sizeSliders[axis].setRange(getAxis(min, axis), getAxis(max, axis), getAxis(currentSize, axis));
+        }
     }
 
     private void updatePreviewWithSize(IVariableSizeMultiblock varMultiblock) {
-        var preset = varMultiblock.getSizePresets().get(currentSizePresetIndex);
-        previewRenderer.setMultiblock(varMultiblock, preset.size());
+        currentSize = varMultiblock.getSizePresets().get(currentSizePresetIndex).size();
+        updateSizeButtons(varMultiblock);
+        previewRenderer.setMultiblock(varMultiblock, currentSize);
+    }
+
+    private void onSizeSliderChanged(int axis, int value) {
+        if (!(selectedMultiblock instanceof IVariableSizeMultiblock varMultiblock) || currentSize == null) return;
+
+        Vec3i candidate = withAxis(currentSize, axis, value);
+        Vec3i nearest = varMultiblock.getNearestValidSize(candidate);
+        if (getAxis(nearest, axis) != value && axis != 1) {
+            // Some structures (e.g. square footprints) tie width and depth together; try moving both
+            Vec3i linked = withAxis(withAxis(candidate, 0, value), 2, value);
+            Vec3i linkedNearest = varMultiblock.getNearestValidSize(linked);
+            if (Math.abs(getAxis(linkedNearest, axis) - value) < Math.abs(getAxis(nearest, axis) - value)) {
+                nearest = linkedNearest;
+            }
+        }
+
+        // The sliders snap to the valid size, so refresh them even when nothing changed
+        boolean changed = !nearest.equals(currentSize);
+        currentSize = nearest;
+        updateSizeButtons(varMultiblock);
+        if (changed) {
+            // Generation is asynchronous; the renderer coalesces requests while the slider is dragged
+            previewRenderer.setMultiblock(varMultiblock, currentSize);
+        }
+    }
+
+    private boolean isPresetSize(IVariableSizeMultiblock varMultiblock) {
+        var presets = varMultiblock.getSizePresets();
+        return currentSizePresetIndex < presets.size() && presets.get(currentSizePresetIndex).size().equals(currentSize);
+    }
+
+    private static int getAxis(Vec3i size, int axis) {
+        return switch (axis) {
+            case 0 -> size.getX();
+            case 1 -> size.getY();
+            default -> size.getZ();
+        };
+    }
+
+    private static Vec3i withAxis(Vec3i size, int axis, int value) {
+        return switch (axis) {
+            case 0 -> new Vec3i(value, size.getY(), size.getZ());
+            case 1 -> new Vec3i(size.getX(), value, size.getZ());
+            default -> new Vec3i(size.getX(), size.getY(), value);
+        };
     }
 
     private void selectMultiblockForPreview(IUniversalMultiblock multiblock) {
@@ -239,14 +357,12 @@ public class ProjectorScreen extends Screen {
             var presets = varMultiblock.getSizePresets();
             this.currentSizePresetIndex = presets.size() / 2;
 
-            sizeDecreaseButton.visible = true;
-            sizeIncreaseButton.visible = true;
-            updateSizeButtons(varMultiblock);
+            setSizeControlsVisible(true);
             updatePreviewWithSize(varMultiblock);
         } else {
             this.currentSizePresetIndex = 0;
-            sizeDecreaseButton.visible = false;
-            sizeIncreaseButton.visible = false;
+            this.currentSize = null;
+            setSizeControlsVisible(false);
             this.previewRenderer.setMultiblock(multiblock);
         }
     }
@@ -257,6 +373,9 @@ public class ProjectorScreen extends Screen {
         settings.setMultiblock(multiblock);
         settings.setMode(Settings.Mode.PROJECTION);
         settings.setSizePresetIndex(currentSizePresetIndex);
+        // Only sizes off the preset list need to be stored explicitly
+        settings.setCustomSize(multiblock instanceof IVariableSizeMultiblock varMultiblock && currentSize != null
+            && !isPresetSize(varMultiblock) ? currentSize : null);
         settings.applyTo(projectorStack);
 
         // Send packet to server
@@ -268,9 +387,8 @@ public class ProjectorScreen extends Screen {
         // Show confirmation message
         if (minecraft.player != null) {
             Component sizeInfo = Component.empty();
-            if (multiblock instanceof IVariableSizeMultiblock varMultiblock) {
-                var preset = varMultiblock.getSizePresets().get(currentSizePresetIndex);
-                sizeInfo = Component.literal(" (" + preset.getSizeString() + ")");
+            if (multiblock instanceof IVariableSizeMultiblock && currentSize != null) {
+                sizeInfo = Component.literal(" (" + currentSize.getX() + "x" + currentSize.getY() + "x" + currentSize.getZ() + ")");
             }
             minecraft.player.displayClientMessage(
                 Component.translatable("gui.multiblockprojector.selected", multiblock.getDisplayName()).append(sizeInfo),
@@ -281,11 +399,25 @@ public class ProjectorScreen extends Screen {
 
     @Override
     public void render(@Nonnull GuiGraphics guiGraphics, int mouseX, int mouseY, float partialTick) {
+        // Upload thumbnails finished in the background before anything else is drawn
+        ThumbnailAtlas.get().processPending(guiGraphics);
+
+        // Fill the list as soon as discovery finishes
+        if (!catalogLoaded && UniversalMultiblockHandler.isDiscoveryComplete()) {
+            loadCatalog();
+            rebuildWidgets();
+        }
+
+        // Re-run the search once contained block names have been indexed
+        if (catalogLoaded && !searchQuery.isBlank() && search.isStale(allMultiblocks)) {
+            updateFilteredMultiblocks();
+        }
+
         this.renderBackground(guiGraphics, mouseX, mouseY, partialTick);
 
         int leftPanelWidth = this.width / 2;
         int tabY = 10;
-        int startY = tabY + TAB_HEIGHT + 15;
+        int startY = tabY + TAB_HEIGHT + SEARCH_HEIGHT + 15;
 
         // Draw left panel background
         guiGraphics.fill(0, 0, leftPanelWidth, this.height, 0x80000000);
@@ -311,7 +443,15 @@ public class ProjectorScreen extends Screen {
         guiGraphics.fill(leftPanelWidth, 0, leftPanelWidth + 2, this.height, 0xFF555555);
 
         // Draw "no multiblocks" message if tab is empty
-        if (filteredMultiblocks.isEmpty() && selectedModTab != null) {
+        if (!catalogLoaded) {
+            guiGraphics.drawCenteredString(this.font,
+                Component.literal("Loading multiblocks..."),
+                leftPanelWidth / 2, startY + 40, 0x888888);
+        } else if (filteredMultiblocks.isEmpty() && !searchQuery.isBlank()) {
+            guiGraphics.drawCenteredString(this.font,
+                Component.literal("No matching multiblocks"),
+                leftPanelWidth / 2, startY + 40, 0x888888);
+        } else if (filteredMultiblocks.isEmpty() && selectedModTab != null) {
             String modName = MOD_TABS.getOrDefault(selectedModTab, selectedModTab);
             guiGraphics.drawCenteredString(this.font,
                 Component.literal("No multiblocks from " + modName),
@@ -321,7 +461,7 @@ public class ProjectorScreen extends Screen {
         // Render preview in right panel (leave room at bottom for size controls)
         int previewMargin = 20;
         int previewWidth = (this.width - leftPanelWidth) - (previewMargin * 2);
-        int bottomReserved = 80; // Space for size label and buttons
+        int bottomReserved = 80; // Space for size sliders, label and buttons
         int previewHeight = this.height - previewMargin - bottomReserved;
 
         // Center the preview in the right panel
@@ -342,38 +482,76 @@ public class ProjectorScreen extends Screen {
 
         // Render the multiblock preview
         previewRenderer.render(guiGraphics, previewX, previewY, previewWidth, previewHeight, mouseX, mouseY, partialTick);
+        ItemStack hoveredMaterial = renderMaterials(guiGraphics, previewX, previewY, previewWidth, previewHeight, mouseX, mouseY);
 
         // Draw size info for variable-size multiblocks (between the - and + buttons)
         if (selectedMultiblock instanceof IVariableSizeMultiblock varMultiblock) {
             var presets = varMultiblock.getSizePresets();
-            if (!presets.isEmpty() && currentSizePresetIndex < presets.size()) {
+            if (!presets.isEmpty() && currentSizePresetIndex < presets.size() && currentSize != null) {
                 var preset = presets.get(currentSizePresetIndex);
                 int rightPanelCenterX = leftPanelWidth + (this.width - leftPanelWidth) / 2;
                 int sizeTextY = this.height - 45 + 6; // Vertically centered with buttons (button height 20, font ~8)
-                Component sizeText = preset.getFullDisplayName();
+                Component sizeText = isPresetSize(varMultiblock) ? preset.getFullDisplayName()
+                    : Component.literal(Component.translatable("gui.multiblockprojector.size.custom").getString()
+                        + " (" + currentSize.getX() + "x" + currentSize.getY() + "x" + currentSize.getZ() + ")");
                 guiGraphics.drawCenteredString(this.font, sizeText, rightPanelCenterX, sizeTextY, 0xFFFFFF);
             }
         }
 
-        // Draw scrollbar if needed
-        if (filteredMultiblocks.size() > ENTRIES_PER_PAGE) {
-            renderScrollbar(guiGraphics, leftPanelWidth, startY);
+        // Draw multiblock info on hover in left panel
+        IUniversalMultiblock hovered = listWidget.getEntryAt(mouseX, mouseY);
+        if (hovered != null) {
+            guiGraphics.renderTooltip(this.font,
+                Component.translatable("gui.multiblockprojector.tooltip", hovered.getModId()),
+                mouseX, mouseY);
+        } else if (hoveredMaterial != null) {
+            guiGraphics.renderTooltip(this.font, hoveredMaterial, mouseX, mouseY);
         }
+    }
 
-        // Draw multiblock info on hover in left panel
-        if (mouseX >= 10 && mouseX <= leftPanelWidth - 30 && mouseY >= startY) {
-            int hoveredIndex = (mouseY - startY) / ENTRY_HEIGHT;
-
-            if (hoveredIndex >= 0 && hoveredIndex < ENTRIES_PER_PAGE) {
-                int multiblockIndex = scrollOffset + hoveredIndex;
-                if (multiblockIndex < filteredMultiblocks.size()) {
-                    IUniversalMultiblock multiblock = filteredMultiblocks.get(multiblockIndex);
-                    guiGraphics.renderTooltip(this.font,
-                        Component.translatable("gui.multiblockprojector.tooltip", multiblock.getModId()),
-                        mouseX, mouseY);
-                }
+    /**
+     * Draw the bill of materials of the previewed structure in the top right corner of the preview.
+     * @return The material under the mouse, if any
+     */
+    @Nullable
+    private ItemStack renderMaterials(GuiGraphics guiGraphics, int previewX, int previewY, int previewWidth, int previewHeight, int mouseX, int mouseY) {
+        BillOfMaterials materials = previewRenderer.getBillOfMaterials();
+        if (materials == null || materials.isEmpty()) return null;
+
+        int columnWidth = 52;
+        int x = previewX + previewWidth - columnWidth - 4;
+        int y = previewY + 4;
+        // Leave the bottom of the preview to the structure info
+        int rows = Math.max(1, (previewHeight - 60) / MATERIAL_ROW_HEIGHT);
+        Component title = Component.translatable("gui.multiblockprojector.materials", materials.getTotal());
+        guiGraphics.drawString(this.font, title, previewX + previewWidth - this.font.width(title) - 4, y, 0xFFFFFF);
+        y += 12;
+
+        ItemStack hovered = null;
+        int shown = 0;
+        for (Object2IntMap.Entry<Item> entry : materials.getCounts().object2IntEntrySet()) {
+            if (shown == rows - 1 && materials.getCounts().size() > rows) {
+                guiGraphics.drawString(this.font,
+                    Component.translatable("gui.multiblockprojector.materials.more", materials.getCounts().size() - shown),
+                    x, y + 4, 0xAAAAAA);
+                break;
             }
+            ItemStack stack = new ItemStack(entry.getKey());
+            guiGraphics.renderItem(stack, x, y);
+            guiGraphics.drawString(this.font, "x" + entry.getIntValue(), x + 18, y + 4, 0xFFFFFF);
+            if (mouseX >= x && mouseX < x + 16 && mouseY >= y && mouseY < y + 16) {
+                hovered = stack;
+            }
+            y += MATERIAL_ROW_HEIGHT;
+            shown++;
         }
+        return hovered;
+    }
+
+    @Override
+    public void removed() {
+        super.removed();
+        previewRenderer.close();
     }
 
     @Override
@@ -432,32 +610,6 @@ public class ProjectorScreen extends Screen {
         return super.keyPressed(keyCode, scanCode, modifiers);
     }
 
-    @Override
-    public boolean mouseScrolled(double mouseX, double mouseY, double scrollX, double scrollY) {
-        int leftPanelWidth = this.width / 2;
-        int tabY = 10;
-        int startY = tabY + TAB_HEIGHT + 15;
-
-        // Handle scrolling in left panel (below tabs)
-        if (mouseX < leftPanelWidth && mouseY >= startY && filteredMultiblocks.size() > ENTRIES_PER_PAGE) {
-            int oldScrollOffset = scrollOffset;
-            if (scrollY > 0) {
-                // Scroll up
-                scrollOffset = Math.max(0, scrollOffset - 1);
-            } else if (scrollY < 0) {
-                // Scroll down
-                scrollOffset = Math.min(filteredMultiblocks.size() - ENTRIES_PER_PAGE, scrollOffset + 1);
-            }
-
-            if (scrollOffset != oldScrollOffset) {
-                rebuildWidgets();
-                return true;
-            }
-        }
-
-        return super.mouseScrolled(mouseX, mouseY, scrollX, scrollY);
-    }
-
     @Override
     public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX, double deltaY) {
         int leftPanelWidth = this.width / 2;
@@ -479,26 +631,11 @@ public class ProjectorScreen extends Screen {
         }
 
         int leftPanelWidth = this.width / 2;
-        int tabY = 10;
-        int startY = tabY + TAB_HEIGHT + 15;
-
-        // Handle scrollbar clicks
-        if (button == 0 && filteredMultiblocks.size() > ENTRIES_PER_PAGE && isClickOnScrollbar(mouseX, mouseY, leftPanelWidth, startY)) {
-            int scrollbarHeight = ENTRIES_PER_PAGE * ENTRY_HEIGHT;
-
-            // Calculate click position relative to scrollbar
-            double clickPercentage = (mouseY - startY) / scrollbarHeight;
-            int newScrollOffset = (int) (clickPercentage * (filteredMultiblocks.size() - ENTRIES_PER_PAGE));
-
-            // Clamp to valid range
-            scrollOffset = Math.max(0, Math.min(filteredMultiblocks.size() - ENTRIES_PER_PAGE, newScrollOffset));
-            rebuildWidgets();
-            return true;
-        }
 
         // Start dragging in preview area (only if not clicking on buttons)
         if (mouseX > leftPanelWidth && button == 0) {
             isDragging = true;
+            previewRenderer.setDragging(true);
             lastMouseX = mouseX;
             lastMouseY = mouseY;
             return true;
@@ -509,38 +646,10 @@ public class ProjectorScreen extends Screen {
 
     @Override
     public boolean mouseReleased(double mouseX, double mouseY, int button) {
-        if (button == 0) {
+        if (button == 0 && isDragging) {
             isDragging = false;
+            previewRenderer.setDragging(false);
         }
         return super.mouseReleased(mouseX, mouseY, button);
     }
-
-    private void renderScrollbar(GuiGraphics guiGraphics, int leftPanelWidth, int startY) {
-        int scrollbarX = leftPanelWidth - 8;
-        int scrollbarWidth = 6;
-        int scrollbarHeight = ENTRIES_PER_PAGE * ENTRY_HEIGHT;
-
-        // Draw scrollbar track
-        guiGraphics.fill(scrollbarX, startY, scrollbarX + scrollbarWidth, startY + scrollbarHeight, 0xFF404040);
-
-        // Calculate scrollbar thumb position and size
-        int totalItems = filteredMultiblocks.size();
-        int visibleItems = ENTRIES_PER_PAGE;
-        float scrollPercentage = (float) scrollOffset / (totalItems - visibleItems);
-
-        int thumbHeight = Math.max(10, (scrollbarHeight * visibleItems) / totalItems);
-        int thumbY = startY + (int)((scrollbarHeight - thumbHeight) * scrollPercentage);
-
-        // Draw scrollbar thumb
-        guiGraphics.fill(scrollbarX + 1, thumbY, scrollbarX + scrollbarWidth - 1, thumbY + thumbHeight, 0xFF808080);
-    }
-
-    private boolean isClickOnScrollbar(double mouseX, double mouseY, int leftPanelWidth, int startY) {
-        int scrollbarX = leftPanelWidth - 8;
-        int scrollbarWidth = 6;
-        int scrollbarHeight = ENTRIES_PER_PAGE * ENTRY_HEIGHT;
-
-        return mouseX >= scrollbarX && mouseX <= scrollbarX + scrollbarWidth &&
-               mouseY >= startY && mouseY <= startY + scrollbarHeight;
-    }
 }
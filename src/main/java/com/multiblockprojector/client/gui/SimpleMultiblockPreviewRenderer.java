@@ -1,32 +1,48 @@
 package com.multiblockprojector.client.gui;
 
+import com.mojang.blaze3d.pipeline.TextureTarget;
 import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
 import com.mojang.blaze3d.vertex.PoseStack;
-import com.mojang.math.Transformation;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.api.BillOfMaterials;
 import com.multiblockprojector.api.ICyclingBlockMultiblock;
 import com.multiblockprojector.api.IUniversalMultiblock;
 import com.multiblockprojector.api.IVariableSizeMultiblock;
+import com.multiblockprojector.api.MultiblockStructureCache;
+import com.multiblockprojector.api.PalettedStructure;
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.GameRenderer;
 import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.block.BlockRenderDispatcher;
 import net.minecraft.client.renderer.texture.OverlayTexture;
-import net.minecraft.client.resources.model.BakedModel;
-import net.minecraft.core.BlockPos;
 import net.minecraft.core.Vec3i;
 import net.minecraft.util.Mth;
 import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate.StructureBlockInfo;
+import net.neoforged.neoforge.client.ClientHooks;
 import net.neoforged.neoforge.client.model.data.ModelData;
+import org.joml.Matrix4f;
 import org.joml.Quaternionf;
 
+import javax.annotation.Nullable;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class SimpleMultiblockPreviewRenderer {
     private IUniversalMultiblock multiblock;
-    private List<StructureBlockInfo> structure;
+    private PalettedStructure structure;
     private Vec3i size;
+    private BillOfMaterials materials;
     
     private float scale = 50f;
     private float rotationX = 25f;
@@ -37,6 +53,21 @@ public class SimpleMultiblockPreviewRenderer {
     private int maxBlockIndex;
     private final ClientLevel level;
 
+    // Rendered previews are cached per rotation bucket and only re-rendered while dragging
+    private static final float ROTATION_BUCKET_DEGREES = 5f;
+    private final PreviewTextureCache textureCache = new PreviewTextureCache();
+    private boolean dragging = false;
+
+    // Variable-size structures are generated off the render thread
+    private CompletableFuture<PalettedStructure> pendingStructure;
+    private IUniversalMultiblock pendingMultiblock;
+    private Vec3i pendingSize;
+    // Latest size requested while a generation was running; started once that one lands
+    private Vec3i queuedSize;
+
+    // Compiled vertex buffers for the current structure
+    private PreviewMesh mesh;
+
     // Cycling block support (for Blood Magic runes etc.)
     private static final long CYCLE_INTERVAL_MS = 1000; // 1 second per rune
     private long lastCycleTime = -1;
@@ -52,124 +83,261 @@ public class SimpleMultiblockPreviewRenderer {
 
     /**
      * Set the multiblock to preview with an optional specific size.
+     * Variable-size structures are generated on a background thread; the current preview
+     * stays on screen until the new structure is ready. While a size is being dragged, only
+     * one generation runs at a time and intermediate sizes are skipped.
      * @param multiblock The multiblock to preview
      * @param specificSize For variable-size multiblocks, the size to render at. If null, uses default size.
      */
     public void setMultiblock(IUniversalMultiblock multiblock, Vec3i specificSize) {
-        // Force refresh if size changed, even for same multiblock
+        boolean async = specificSize != null && multiblock instanceof IVariableSizeMultiblock;
+
+        // A new size for the structure being generated waits for the running generation
+        if (async && pendingStructure != null && pendingMultiblock == multiblock) {
+            this.queuedSize = specificSize.equals(pendingSize) ? null : specificSize;
+            return;
+        }
         boolean sizeChanged = specificSize != null && !specificSize.equals(this.size);
+        if (this.multiblock == multiblock && !sizeChanged) {
+            cancelPendingStructure();
+            return;
+        }
 
-        if (this.multiblock != multiblock || sizeChanged) {
-            this.multiblock = multiblock;
-            if (multiblock != null && level != null) {
-                try {
-                    // Use specific size for variable-size multiblocks
-                    if (specificSize != null && multiblock instanceof IVariableSizeMultiblock varMultiblock) {
-                        this.structure = varMultiblock.getStructureAtSize(level, specificSize);
-                        this.size = specificSize;
-                    } else {
-                        this.structure = multiblock.getStructure(level);
-                        this.size = multiblock.getSize(level);
-                    }
-
-                    if (structure != null && !structure.isEmpty()) {
-                        this.maxBlockIndex = structure.size();
-                        this.blockIndex = maxBlockIndex;
-                        calculateScale();
-                    } else {
-                        this.structure = null;
-                        this.size = null;
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                    this.structure = null;
-                    this.size = null;
-                }
-            } else {
-                this.structure = null;
-                this.size = null;
-            }
+        cancelPendingStructure();
+        if (multiblock == null || level == null) {
+            applyStructure(multiblock, null, null, null);
+            return;
+        }
+
+        if (async) {
+            startGeneration((IVariableSizeMultiblock) multiblock, specificSize);
+            return;
+        }
+
+        try {
+            applyStructure(multiblock, MultiblockStructureCache.getStructure(multiblock, level),
+                MultiblockStructureCache.getSize(multiblock, level), null);
+        } catch (Exception e) {
+            e.printStackTrace();
+            applyStructure(multiblock, null, null, null);
         }
     }
-    
+
+    private void startGeneration(IVariableSizeMultiblock multiblock, Vec3i size) {
+        this.pendingMultiblock = multiblock;
+        this.pendingSize = size;
+        this.queuedSize = null;
+        this.pendingStructure = CompletableFuture.supplyAsync(() -> {
+            PalettedStructure structure = MultiblockStructureCache.getStructure(multiblock, level, size);
+            // Count the materials here too, so swapping the structure in doesn't do it on the render thread
+            MultiblockStructureCache.getBillOfMaterials(multiblock, level, size);
+            return structure;
+        }, Util.backgroundExecutor());
+    }
+
+    /**
+     * Swap in a finished background generation, if there is one. Called from the render thread.
+     */
+    private void pollPendingStructure() {
+        if (pendingStructure == null || !pendingStructure.isDone()) return;
+
+        CompletableFuture<PalettedStructure> finished = pendingStructure;
+        IUniversalMultiblock finishedMultiblock = pendingMultiblock;
+        Vec3i finishedSize = pendingSize;
+        Vec3i nextSize = queuedSize;
+        pendingStructure = null;
+        pendingMultiblock = null;
+        pendingSize = null;
+        queuedSize = null;
+
+        try {
+            applyStructure(finishedMultiblock, finished.join(), finishedSize, finishedSize);
+        } catch (CompletionException | CancellationException e) {
+            UniversalProjector.LOGGER.error("Failed to generate preview for {} at size {}",
+                finishedMultiblock.getUniqueName(), finishedSize, e.getCause() != null ? e.getCause() : e);
+            applyStructure(finishedMultiblock, null, null, null);
+        }
+
+        if (nextSize != null) {
+            startGeneration((IVariableSizeMultiblock) finishedMultiblock, nextSize);
+        }
+    }
+
+    /**
+     * Drop any in-flight generation. The worker cannot be interrupted mid-structure,
+     * but its result is discarded once the future has been replaced.
+     */
+    private void cancelPendingStructure() {
+        if (pendingStructure != null) {
+            pendingStructure.cancel(false);
+            pendingStructure = null;
+            pendingMultiblock = null;
+            pendingSize = null;
+            queuedSize = null;
+        }
+    }
+
+    /**
+     * @param requestedSize Size the structure was requested from the cache at, so its bill of materials is looked up under the same entry
+     */
+    private void applyStructure(IUniversalMultiblock multiblock, @Nullable PalettedStructure structure, @Nullable Vec3i size, @Nullable Vec3i requestedSize) {
+        this.multiblock = multiblock;
+        if (structure != null && !structure.isEmpty() && size != null) {
+            // The old mesh is kept until the next render so unchanged blocks can be copied from it
+            this.structure = structure;
+            this.size = size;
+            this.materials = MultiblockStructureCache.getBillOfMaterials(multiblock, level, requestedSize);
+            this.maxBlockIndex = structure.size();
+            this.blockIndex = maxBlockIndex;
+            calculateScale();
+        } else {
+            this.structure = null;
+            this.size = null;
+            this.materials = null;
+            closeMesh();
+        }
+    }
+
+    /**
+     * @return Items needed for the structure shown, or null while there is none
+     */
+    @Nullable
+    public BillOfMaterials getBillOfMaterials() {
+        return materials;
+    }
+
+    /**
+     * @return true while a new structure is being generated in the background
+     */
+    public boolean isGenerating() {
+        return pendingStructure != null;
+    }
+
     private void calculateScale() {
         if (size == null) return;
-        
-        float diagLength = (float)Math.sqrt(
-            size.getY() * size.getY() +
-            size.getX() * size.getX() +
-            size.getZ() * size.getZ()
-        );
-        
-        scale = Math.min(200f / diagLength, 50f);
+        scale = fitScale(size, 200f, 50f);
     }
     
     public void render(GuiGraphics graphics, int x, int y, int width, int height, int mouseX, int mouseY, float partialTicks) {
+        pollPendingStructure();
+
         if (multiblock == null || structure == null || structure.isEmpty()) {
             renderNoPreview(graphics, x, y, width, height);
             return;
         }
-        
+
+        long currentTime = System.currentTimeMillis();
+        if (lastStep < 0) {
+            lastStep = currentTime;
+        } else if (canTick && currentTime - lastStep > 1000) {
+            step();
+            lastStep = currentTime;
+        }
+
+        if (dragging) {
+            // Live render while the user rotates the preview
+            renderScene(graphics, x + width / 2f, y + height / 2f, rotationX, rotationY, 0.8f);
+        } else {
+            renderCached(graphics, x, y, width, height);
+        }
+
+        renderInfo(graphics, x, y, width, height);
+    }
+
+    /**
+     * Blit the preview from an off-screen snapshot, rendering it first if this
+     * (multiblock, size, rotation bucket) combination has not been seen yet.
+     */
+    private void renderCached(GuiGraphics graphics, int x, int y, int width, int height) {
+        Minecraft mc = Minecraft.getInstance();
+        double guiScale = mc.getWindow().getGuiScale();
+        int pixelWidth = Math.max(1, (int) Math.ceil(width * guiScale));
+        int pixelHeight = Math.max(1, (int) Math.ceil(height * guiScale));
+
+        updateCycle();
+        int cycle = multiblock instanceof ICyclingBlockMultiblock ? cycleIndex : 0;
+        int pitchBucket = Math.round(rotationX / ROTATION_BUCKET_DEGREES);
+        int yawBucket = Math.round(Mth.wrapDegrees(rotationY) / ROTATION_BUCKET_DEGREES);
+        PreviewTextureCache.Key key = new PreviewTextureCache.Key(
+            multiblock.getUniqueName(), size, pitchBucket, yawBucket, cycle, pixelWidth, pixelHeight);
+
+        TextureTarget target = textureCache.get(key);
+        if (target == null) {
+            target = textureCache.create(key);
+            renderToTarget(graphics, target, width, height,
+                pitchBucket * ROTATION_BUCKET_DEGREES, yawBucket * ROTATION_BUCKET_DEGREES);
+        }
+
+        blitTarget(graphics, target, x, y, width, height);
+    }
+
+    private void renderToTarget(GuiGraphics graphics, TextureTarget target, int width, int height, float rotX, float rotY) {
+        Minecraft mc = Minecraft.getInstance();
+
+        // Draw anything already batched to the screen before switching framebuffers
+        graphics.flush();
+
+        target.clear(Minecraft.ON_OSX);
+        target.bindWrite(true);
+        RenderSystem.backupProjectionMatrix();
+        RenderSystem.setProjectionMatrix(
+            new Matrix4f().setOrtho(0.0f, width, height, 0.0f, 1000.0f, ClientHooks.getGuiFarPlane()),
+            VertexSorting.ORTHOGRAPHIC_Z);
+
+        try {
+            renderScene(graphics, width / 2f, height / 2f, rotX, rotY, 1.0f);
+            graphics.flush();
+        } finally {
+            RenderSystem.restoreProjectionMatrix();
+            mc.getMainRenderTarget().bindWrite(true);
+        }
+    }
+
+    private void blitTarget(GuiGraphics graphics, TextureTarget target, int x, int y, int width, int height) {
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 0.8f);
+
+        // Framebuffer textures are stored bottom-up, so V is flipped
+        Matrix4f matrix = graphics.pose().last().pose();
+        BufferBuilder builder = Tesselator.getInstance().begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        builder.addVertex(matrix, x, y, 0).setUv(0, 1);
+        builder.addVertex(matrix, x, y + height, 0).setUv(0, 0);
+        builder.addVertex(matrix, x + width, y + height, 0).setUv(1, 0);
+        builder.addVertex(matrix, x + width, y, 0).setUv(1, 1);
+        BufferUploader.drawWithShader(builder.buildOrThrow());
+
+        RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
+        RenderSystem.disableBlend();
+    }
+
+    private void renderScene(GuiGraphics graphics, float centerX, float centerY, float rotX, float rotY, float alpha) {
         PoseStack poseStack = graphics.pose();
         poseStack.pushPose();
-        
+
         try {
-            long currentTime = System.currentTimeMillis();
-            if (lastStep < 0) {
-                lastStep = currentTime;
-            } else if (canTick && currentTime - lastStep > 1000) {
-                step();
-                lastStep = currentTime;
-            }
-            
-            int centerX = x + width / 2;
-            int centerY = y + height / 2;
-            
             // Enable blend for transparency
             RenderSystem.enableBlend();
-            RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 0.8f);
-            
-            poseStack.translate(centerX, centerY, 100);
-            poseStack.scale(scale, -scale, scale);
-            
-            Transformation transform = new Transformation(
-                null,
-                new Quaternionf().rotateXYZ((float)Math.toRadians(rotationX), 0, 0),
-                null,
-                new Quaternionf().rotateXYZ(0, (float)Math.toRadians(rotationY), 0)
-            );
-            poseStack.pushTransformation(transform);
-            
-            if (size != null) {
-                poseStack.translate(-size.getX() / 2f, -size.getY() / 2f, -size.getZ() / 2f);
-            }
-            
+            RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, alpha);
+
+            applyViewTransform(poseStack, centerX, centerY, scale, rotX, rotY, size);
+
             renderMultiblock(graphics, poseStack);
-            
+
             RenderSystem.setShaderColor(1.0f, 1.0f, 1.0f, 1.0f);
             RenderSystem.disableBlend();
-            
+
         } catch (Exception e) {
             e.printStackTrace();
         } finally {
             poseStack.popPose();
         }
-        
-        renderInfo(graphics, x, y, width, height);
     }
-    
-    private void renderMultiblock(GuiGraphics graphics, PoseStack poseStack) {
-        BlockRenderDispatcher blockRenderer = Minecraft.getInstance().getBlockRenderer();
-        MultiBufferSource.BufferSource buffers = graphics.bufferSource();
 
-        // Update cycling timer
-        long currentTime = System.currentTimeMillis();
-        if (lastCycleTime < 0) {
-            lastCycleTime = currentTime;
-        } else if (currentTime - lastCycleTime >= CYCLE_INTERVAL_MS) {
-            cycleIndex++;
-            lastCycleTime = currentTime;
-        }
+    private void renderMultiblock(GuiGraphics graphics, PoseStack poseStack) {
+        updateCycle();
 
         // Check if this multiblock supports cycling blocks
         ICyclingBlockMultiblock cyclingMultiblock = null;
@@ -177,10 +345,64 @@ public class SimpleMultiblockPreviewRenderer {
             cyclingMultiblock = cycling;
         }
 
-        for (int i = 0; i < Math.min(blockIndex, structure.size()); i++) {
-            StructureBlockInfo blockInfo = structure.get(i);
-            BlockPos pos = blockInfo.pos();
-            BlockState state = blockInfo.state();
+        // Recompile only when the structure or the shown cycling block changes
+        int meshCycle = cyclingMultiblock != null ? cycleIndex : 0;
+        if (mesh == null || !mesh.matches(structure, meshCycle)) {
+            PreviewMesh previous = mesh;
+            mesh = PreviewMesh.build(level, structure, cyclingMultiblock, meshCycle, previous);
+            if (previous != null) {
+                previous.close();
+            }
+        }
+        mesh.draw(graphics, poseStack, blockIndex);
+    }
+
+    private void closeMesh() {
+        if (mesh != null) {
+            mesh.close();
+            mesh = null;
+        }
+    }
+
+    /**
+     * Apply the isometric preview camera: center on screen, scale, rotate and move the
+     * structure's middle to the origin.
+     */
+    static void applyViewTransform(PoseStack poseStack, float centerX, float centerY, float scale,
+                                   float rotX, float rotY, Vec3i size) {
+        poseStack.translate(centerX, centerY, 100);
+        poseStack.scale(scale, -scale, scale);
+
+        poseStack.mulPose(new Quaternionf().rotateXYZ((float)Math.toRadians(rotX), 0, 0));
+        poseStack.mulPose(new Quaternionf().rotateXYZ(0, (float)Math.toRadians(rotY), 0));
+
+        if (size != null) {
+            poseStack.translate(-size.getX() / 2f, -size.getY() / 2f, -size.getZ() / 2f);
+        }
+    }
+
+    /**
+     * @return Scale that fits a structure of the given size into the given extent (in GUI units)
+     */
+    static float fitScale(Vec3i size, float extent, float maxScale) {
+        float diagLength = (float)Math.sqrt(
+            size.getY() * size.getY() +
+            size.getX() * size.getX() +
+            size.getZ() * size.getZ()
+        );
+        return Math.min(extent / diagLength, maxScale);
+    }
+
+    /**
+     * Render the first {@code count} blocks of a structure into the GUI buffer source.
+     */
+    static void renderBlocks(GuiGraphics graphics, PoseStack poseStack, PalettedStructure structure, int count,
+                             @Nullable ICyclingBlockMultiblock cyclingMultiblock, int cycleIndex) {
+        BlockRenderDispatcher blockRenderer = Minecraft.getInstance().getBlockRenderer();
+        MultiBufferSource.BufferSource buffers = graphics.bufferSource();
+
+        structure.forEach((i, pos, state) -> {
+            if (i >= count) return true;
 
             // Check if this position should cycle through multiple block types
             if (cyclingMultiblock != null && cyclingMultiblock.hasCyclingBlocks(pos)) {
@@ -196,27 +418,33 @@ public class SimpleMultiblockPreviewRenderer {
                 poseStack.pushPose();
                 poseStack.translate(pos.getX(), pos.getY(), pos.getZ());
 
-                int overlay = OverlayTexture.NO_OVERLAY;
-                ModelData modelData = ModelData.EMPTY;
-
-                BakedModel model = blockRenderer.getBlockModel(state);
-
                 try {
                     blockRenderer.renderSingleBlock(state, poseStack, buffers,
-                        0xF000F0, overlay, modelData, null);
+                        0xF000F0, OverlayTexture.NO_OVERLAY, ModelData.EMPTY, null);
                 } catch (Exception e) {
                     // Silently ignore render errors for individual blocks
                 }
 
                 poseStack.popPose();
             }
+            return false;
+        });
+    }
+
+    private void updateCycle() {
+        long currentTime = System.currentTimeMillis();
+        if (lastCycleTime < 0) {
+            lastCycleTime = currentTime;
+        } else if (currentTime - lastCycleTime >= CYCLE_INTERVAL_MS) {
+            cycleIndex++;
+            lastCycleTime = currentTime;
         }
     }
-    
+
     private void renderNoPreview(GuiGraphics graphics, int x, int y, int width, int height) {
         graphics.fill(x, y, x + width, y + height, 0x40000000);
         
-        String text = "Select a multiblock to preview";
+        String text = pendingStructure != null ? "Generating preview..." : "Select a multiblock to preview";
         int textWidth = Minecraft.getInstance().font.width(text);
         graphics.drawString(Minecraft.getInstance().font, text, 
             x + (width - textWidth) / 2, y + height / 2 - 4, 0xFFFFFF);
@@ -237,6 +465,11 @@ public class SimpleMultiblockPreviewRenderer {
             graphics.drawString(Minecraft.getInstance().font, sizeText, 
                 x + 5, infoY + 20, 0xAAAAAA);
         }
+
+        if (pendingStructure != null) {
+            graphics.drawString(Minecraft.getInstance().font, "Generating...",
+                x + 5, y + 5, 0xFFFF55);
+        }
     }
     
     public void onMouseDragged(double mouseX, double mouseY, double deltaX, double deltaY) {
@@ -244,6 +477,27 @@ public class SimpleMultiblockPreviewRenderer {
         rotationX = Mth.clamp(rotationX + (float)(deltaY * 0.5), -90f, 90f);
     }
     
+    /**
+     * While dragging the preview is rendered live; once released the rotation snaps to
+     * the nearest bucket so the result can be served from the texture cache.
+     */
+    public void setDragging(boolean dragging) {
+        this.dragging = dragging;
+        if (!dragging) {
+            rotationX = Math.round(rotationX / ROTATION_BUCKET_DEGREES) * ROTATION_BUCKET_DEGREES;
+            rotationY = Math.round(rotationY / ROTATION_BUCKET_DEGREES) * ROTATION_BUCKET_DEGREES;
+        }
+    }
+
+    /**
+     * Release cached preview textures and meshes
+     */
+    public void close() {
+        cancelPendingStructure();
+        closeMesh();
+        textureCache.clear();
+    }
+
     public void setAnimationEnabled(boolean enabled) {
         this.canTick = enabled;
         if (!enabled) {
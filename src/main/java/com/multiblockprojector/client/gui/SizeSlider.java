@@ -0,0 +1,65 @@
+package com.multiblockprojector.client.gui;
+
+import net.minecraft.client.gui.components.AbstractSliderButton;
+import net.minecraft.network.chat.Component;
+import net.minecraft.util.Mth;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Slider over a whole-number range, used for one dimension of a variable-size multiblock.
+ * The listener only fires when the whole-number value changes.
+ */
+public class SizeSlider extends AbstractSliderButton {
+    private final String translationKey;
+    private final IntConsumer onChange;
+    private int min;
+    private int max;
+    private int current;
+
+    /**
+     * @param translationKey Label with one argument for the current value
+     */
+    public SizeSlider(int x, int y, int width, int height, String translationKey, IntConsumer onChange) {
+        super(x, y, width, height, Component.empty(), 0);
+        this.translationKey = translationKey;
+        this.onChange = onChange;
+    }
+
+    /**
+     * Set the range and value without notifying the listener. A slider with an empty range is disabled.
+     */
+    public void setRange(int min, int max, int current) {
+        this.min = min;
+        this.max = max;
+        this.current = Mth.clamp(current, min, max);
+        this.value = max > min ? (double) (this.current - min) / (max - min) : 0;
+        this.active = max > min;
+        updateMessage();
+    }
+
+    @Override
+    public boolean keyPressed(int keyCode, int scanCode, int modifiers) {
+        // Arrow keys step by one block rather than one pixel of slider travel
+        if (active && max > min && (keyCode == 263 || keyCode == 262)) {
+            int next = Mth.clamp(current + (keyCode == 263 ? -1 : 1), min, max);
+            setValue((double) (next - min) / (max - min));
+            return true;
+        }
+        return super.keyPressed(keyCode, scanCode, modifiers);
+    }
+
+    @Override
+    protected void updateMessage() {
+        setMessage(Component.translatable(translationKey, current));
+    }
+
+    @Override
+    protected void applyValue() {
+        int next = min + (int) Math.round(value * (max - min));
+        if (next != current) {
+            current = next;
+            onChange.accept(next);
+        }
+    }
+}
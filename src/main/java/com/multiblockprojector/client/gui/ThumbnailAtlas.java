@@ -0,0 +1,336 @@
+package com.multiblockprojector.client.gui;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.api.MultiblockStructureCache;
+import com.multiblockprojector.api.PalettedStructure;
+import net.minecraft.Util;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.Screenshot;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.neoforged.fml.ModList;
+import net.neoforged.fml.loading.FMLPaths;
+import net.neoforged.neoforge.client.ClientHooks;
+import org.joml.Matrix4f;
+
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static com.multiblockprojector.UniversalProjector.rl;
+
+/**
+ * Lazily generated isometric thumbnails for the multiblock list.
+ * <p>
+ * Structures are generated and hashed on a background thread. Thumbnails whose content hash
+ * is already on disk are loaded from there; the rest are rendered on the render thread, a few
+ * per frame, and written back to disk. Loaded thumbnails live in one LRU-managed atlas texture.
+ */
+public class ThumbnailAtlas {
+    public static final int CELL_SIZE = 32;
+    private static final int ATLAS_SIZE = 512;
+    private static final int CELLS_PER_ROW = ATLAS_SIZE / CELL_SIZE;
+    private static final int SLOT_COUNT = CELLS_PER_ROW * CELLS_PER_ROW;
+    private static final int MAX_RENDERS_PER_FRAME = 2;
+    // Bump when the thumbnail camera or format changes so stale disk entries are ignored
+    private static final int RENDER_VERSION = 1;
+
+    private static final ResourceLocation ATLAS_LOCATION = rl("thumbnail_atlas");
+    private static ThumbnailAtlas instance;
+
+    private final Path cacheDir = FMLPaths.GAMEDIR.get().resolve(UniversalProjector.MODID).resolve("thumbnails");
+    private final Path indexFile = cacheDir.resolve("index.properties");
+    private final Properties hashIndex = new Properties();
+
+    private final DynamicTexture atlas;
+    private final Map<ResourceLocation, Integer> slots = new LinkedHashMap<>(SLOT_COUNT, 0.75f, true);
+    private final Set<ResourceLocation> requested = new HashSet<>();
+    private final Queue<Result> results = new ConcurrentLinkedQueue<>();
+    private int nextFreeSlot = 0;
+    @Nullable
+    private TextureTarget renderTarget;
+
+    private sealed interface Result permits Loaded, NeedsRender, Failed {}
+    private record Loaded(ResourceLocation id, NativeImage image) implements Result {}
+    private record NeedsRender(ResourceLocation id, String indexKey, String hash, PalettedStructure structure, Vec3i size) implements Result {}
+    private record Failed(ResourceLocation id) implements Result {}
+
+    private ThumbnailAtlas() {
+        this.atlas = new DynamicTexture(ATLAS_SIZE, ATLAS_SIZE, true);
+        Minecraft.getInstance().getTextureManager().register(ATLAS_LOCATION, atlas);
+        loadIndex();
+    }
+
+    public static ThumbnailAtlas get() {
+        if (instance == null) {
+            instance = new ThumbnailAtlas();
+        }
+        return instance;
+    }
+
+    /**
+     * Draw the thumbnail for a multiblock, requesting it if it is not loaded yet.
+     * @return true if a thumbnail was drawn
+     */
+    public boolean draw(GuiGraphics graphics, IUniversalMultiblock multiblock, int x, int y, int size) {
+        Integer slot = slots.get(multiblock.getUniqueName());
+        if (slot == null) {
+            request(multiblock);
+            return false;
+        }
+        int u = (slot % CELLS_PER_ROW) * CELL_SIZE;
+        int v = (slot / CELLS_PER_ROW) * CELL_SIZE;
+        RenderSystem.enableBlend();
+        graphics.blit(ATLAS_LOCATION, x, y, size, size, u, v, CELL_SIZE, CELL_SIZE, ATLAS_SIZE, ATLAS_SIZE);
+        RenderSystem.disableBlend();
+        return true;
+    }
+
+    /**
+     * Move finished background work into the atlas. Must be called on the render thread,
+     * outside of any other off-screen rendering.
+     */
+    public void processPending(GuiGraphics graphics) {
+        int rendered = 0;
+        boolean changed = false;
+        Result result;
+        while (rendered < MAX_RENDERS_PER_FRAME && (result = results.poll()) != null) {
+            if (result instanceof Loaded loaded) {
+                copyIntoSlot(loaded.id(), loaded.image());
+                loaded.image().close();
+                changed = true;
+            } else if (result instanceof NeedsRender job) {
+                NativeImage image = renderThumbnail(graphics, job);
+                if (image != null) {
+                    copyIntoSlot(job.id(), image);
+                    saveThumbnail(job.indexKey(), job.hash(), image);
+                    changed = true;
+                }
+                rendered++;
+            }
+            // Failed entries stay in the requested set so they are not retried every frame
+        }
+        if (changed) {
+            atlas.upload();
+        }
+    }
+
+    private void request(IUniversalMultiblock multiblock) {
+        ResourceLocation id = multiblock.getUniqueName();
+        if (!requested.add(id)) {
+            return;
+        }
+        Level level = Minecraft.getInstance().level;
+        if (level == null) {
+            requested.remove(id);
+            return;
+        }
+        String indexKey = indexKey(multiblock);
+        // Data-driven structures may have changed without a mod update; always hash their current content
+        String knownHash = multiblock.isDataDriven() ? null : hashIndex.getProperty(indexKey);
+
+        Util.backgroundExecutor().execute(() -> {
+            try {
+                // Fast path: a thumbnail for the last known content hash is already on disk
+                if (knownHash != null) {
+                    NativeImage cached = readThumbnail(knownHash);
+                    if (cached != null) {
+                        results.add(new Loaded(id, cached));
+                        return;
+                    }
+                }
+
+                PalettedStructure structure = MultiblockStructureCache.getStructure(multiblock, level);
+                Vec3i size = MultiblockStructureCache.getSize(multiblock, level);
+                String hash = contentHash(structure, size);
+                NativeImage cached = readThumbnail(hash);
+                if (cached != null) {
+                    hashIndex.setProperty(indexKey, hash);
+                    results.add(new Loaded(id, cached));
+                } else {
+                    results.add(new NeedsRender(id, indexKey, hash, structure, size));
+                }
+            } catch (Exception e) {
+                UniversalProjector.LOGGER.debug("Failed to prepare thumbnail for {}", id, e);
+                results.add(new Failed(id));
+            }
+        });
+    }
+
+    @Nullable
+    private NativeImage renderThumbnail(GuiGraphics graphics, NeedsRender job) {
+        if (job.structure().isEmpty()) {
+            return null;
+        }
+        Minecraft mc = Minecraft.getInstance();
+        if (renderTarget == null) {
+            renderTarget = new TextureTarget(CELL_SIZE, CELL_SIZE, true, Minecraft.ON_OSX);
+            renderTarget.setClearColor(0.0f, 0.0f, 0.0f, 0.0f);
+        }
+
+        graphics.flush();
+        renderTarget.clear(Minecraft.ON_OSX);
+        renderTarget.bindWrite(true);
+        RenderSystem.backupProjectionMatrix();
+        RenderSystem.setProjectionMatrix(
+            new Matrix4f().setOrtho(0.0f, CELL_SIZE, CELL_SIZE, 0.0f, 1000.0f, ClientHooks.getGuiFarPlane()),
+            VertexSorting.ORTHOGRAPHIC_Z);
+
+        PoseStack poseStack = graphics.pose();
+        poseStack.pushPose();
+        try {
+            float scale = SimpleMultiblockPreviewRenderer.fitScale(job.size(), CELL_SIZE, CELL_SIZE);
+            SimpleMultiblockPreviewRenderer.applyViewTransform(poseStack, CELL_SIZE / 2f, CELL_SIZE / 2f,
+                scale, 25f, -45f, job.size());
+            SimpleMultiblockPreviewRenderer.renderBlocks(graphics, poseStack, job.structure(),
+                job.structure().size(), null, 0);
+            graphics.flush();
+            return Screenshot.takeScreenshot(renderTarget);
+        } catch (Exception e) {
+            UniversalProjector.LOGGER.debug("Failed to render thumbnail for {}", job.id(), e);
+            return null;
+        } finally {
+            poseStack.popPose();
+            RenderSystem.restoreProjectionMatrix();
+            mc.getMainRenderTarget().bindWrite(true);
+        }
+    }
+
+    private void copyIntoSlot(ResourceLocation id, NativeImage image) {
+        int slot = allocateSlot(id);
+        NativeImage pixels = atlas.getPixels();
+        if (pixels == null) {
+            return;
+        }
+        int baseX = (slot % CELLS_PER_ROW) * CELL_SIZE;
+        int baseY = (slot / CELLS_PER_ROW) * CELL_SIZE;
+        int width = Math.min(CELL_SIZE, image.getWidth());
+        int height = Math.min(CELL_SIZE, image.getHeight());
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pixels.setPixelRGBA(baseX + x, baseY + y, image.getPixelRGBA(x, y));
+            }
+        }
+    }
+
+    private int allocateSlot(ResourceLocation id) {
+        Integer existing = slots.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        int slot;
+        if (nextFreeSlot < SLOT_COUNT) {
+            slot = nextFreeSlot++;
+        } else {
+            // Evict the least recently drawn thumbnail and reuse its cell
+            Iterator<Map.Entry<ResourceLocation, Integer>> it = slots.entrySet().iterator();
+            Map.Entry<ResourceLocation, Integer> eldest = it.next();
+            slot = eldest.getValue();
+            requested.remove(eldest.getKey());
+            it.remove();
+        }
+        slots.put(id, slot);
+        return slot;
+    }
+
+    /**
+     * Index entries are tied to the providing mod's version, so updating a mod re-hashes its structures
+     */
+    private static String indexKey(IUniversalMultiblock multiblock) {
+        String version = ModList.get().getModContainerById(multiblock.getModId())
+            .map(container -> container.getModInfo().getVersion().toString())
+            .orElse("unknown");
+        return multiblock.getUniqueName() + "@" + version;
+    }
+
+    private static String contentHash(PalettedStructure structure, Vec3i size) {
+        Hasher hasher = Hashing.murmur3_128().newHasher();
+        hasher.putInt(RENDER_VERSION);
+        hasher.putInt(size.getX()).putInt(size.getY()).putInt(size.getZ());
+        BlockPos origin = structure.getOrigin();
+        Vec3i dimensions = structure.getDimensions();
+        hasher.putInt(origin.getX()).putInt(origin.getY()).putInt(origin.getZ());
+        hasher.putInt(dimensions.getX()).putInt(dimensions.getY()).putInt(dimensions.getZ());
+        hasher.putInt(structure.getSymmetry().ordinal());
+        // Palette order and packed cells together pin down every block
+        for (BlockState state : structure.getPalette()) {
+            hasher.putUnencodedChars(state.toString());
+        }
+        for (long word : structure.getPackedCells()) {
+            hasher.putLong(word);
+        }
+        return hasher.hash().toString();
+    }
+
+    @Nullable
+    private NativeImage readThumbnail(String hash) {
+        Path file = cacheDir.resolve(hash + ".png");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file)) {
+            return NativeImage.read(in);
+        } catch (IOException e) {
+            UniversalProjector.LOGGER.debug("Failed to read cached thumbnail {}", file, e);
+            return null;
+        }
+    }
+
+    private void saveThumbnail(String indexKey, String hash, NativeImage image) {
+        hashIndex.setProperty(indexKey, hash);
+        Util.ioPool().execute(() -> {
+            try {
+                Files.createDirectories(cacheDir);
+                image.writeToFile(cacheDir.resolve(hash + ".png"));
+                saveIndex();
+            } catch (IOException e) {
+                UniversalProjector.LOGGER.debug("Failed to write thumbnail for {}", indexKey, e);
+            } finally {
+                image.close();
+            }
+        });
+    }
+
+    private void loadIndex() {
+        if (!Files.isRegularFile(indexFile)) {
+            return;
+        }
+        try (InputStream in = Files.newInputStream(indexFile)) {
+            hashIndex.load(in);
+        } catch (IOException e) {
+            UniversalProjector.LOGGER.debug("Failed to read thumbnail index", e);
+        }
+    }
+
+    private void saveIndex() throws IOException {
+        synchronized (hashIndex) {
+            try (OutputStream out = Files.newOutputStream(indexFile)) {
+                hashIndex.store(out, "Multiblock thumbnail content hashes");
+            }
+        }
+    }
+}
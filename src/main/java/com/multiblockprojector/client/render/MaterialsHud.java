@@ -0,0 +1,65 @@
+package com.multiblockprojector.client.render;
+
+import com.multiblockprojector.client.BlockValidationManager;
+import com.multiblockprojector.common.items.ProjectorItem;
+import com.multiblockprojector.common.projector.ProjectorSettings;
+import com.multiblockprojector.common.projector.Settings;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import net.minecraft.client.DeltaTracker;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.LayeredDraw;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * HUD listing the items still needed while building the projection of the held projector.
+ * Counts come from {@link BlockValidationManager}, which keeps them current as blocks are placed.
+ */
+public class MaterialsHud implements LayeredDraw.Layer {
+    private static final int MAX_ENTRIES = 6;
+    private static final int ROW_HEIGHT = 18;
+
+    @Override
+    public void render(GuiGraphics graphics, DeltaTracker deltaTracker) {
+        Minecraft mc = Minecraft.getInstance();
+        if (mc.player == null || mc.options.hideGui) return;
+
+        ItemStack held = mc.player.getMainHandItem();
+        if (!(held.getItem() instanceof ProjectorItem)) return;
+        ProjectorSettings settings = ProjectorItem.getProjectorSettings(held);
+        BlockPos pos = settings.getPos();
+        if (settings.mode() != Settings.Mode.BUILDING || pos == null) return;
+
+        int required = BlockValidationManager.getRequiredCount(pos);
+        if (required == 0) return;
+
+        Font font = mc.font;
+        int x = 4;
+        int y = 4;
+        graphics.drawString(font, Component.translatable("gui.multiblockprojector.materials.progress",
+            BlockValidationManager.getPlacedCount(pos), required), x, y, 0xFFFFFF);
+        y += 12;
+
+        // Entries keep the bill of materials order, most needed first
+        int shown = 0;
+        int hidden = 0;
+        for (Object2IntMap.Entry<Item> entry : BlockValidationManager.getRemaining(pos).object2IntEntrySet()) {
+            if (entry.getIntValue() <= 0) continue;
+            if (shown == MAX_ENTRIES) {
+                hidden++;
+                continue;
+            }
+            graphics.renderItem(new ItemStack(entry.getKey()), x, y);
+            graphics.drawString(font, "x" + entry.getIntValue(), x + 18, y + 4, 0xFFFFFF);
+            y += ROW_HEIGHT;
+            shown++;
+        }
+        if (hidden > 0) {
+            graphics.drawString(font, Component.translatable("gui.multiblockprojector.materials.more", hidden), x, y + 2, 0xAAAAAA);
+        }
+    }
+}
@@ -1,9 +1,11 @@
 package com.multiblockprojector.common;
 
 import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.api.UniversalMultiblockHandler;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.neoforged.fml.event.lifecycle.FMLLoadCompleteEvent;
 
 /**
  * Handles mod lifecycle events for the Universal Projector mod
@@ -17,4 +19,10 @@ public class CommonEventHandler {
             UniversalProjector.LOGGER.info("Universal Projector common setup complete");
         });
     }
-}
\ No newline at end of file
+
+    @SubscribeEvent
+    public static void onLoadComplete(FMLLoadCompleteEvent event) {
+        // All mods have registered their content; discover multiblocks in the background
+        UniversalMultiblockHandler.startDiscovery();
+    }
+}
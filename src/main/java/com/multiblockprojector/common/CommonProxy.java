@@ -1,5 +1,8 @@
 package com.multiblockprojector.common;
 
+import com.multiblockprojector.common.projector.Settings;
+import net.minecraft.world.InteractionHand;
+
 public class CommonProxy {
     
     public void init() {
@@ -9,4 +12,10 @@ public class CommonProxy {
     public void setup() {
         // Common setup
     }
+
+    /**
+     * Queue projector settings to be sent to the server. Only the client sends settings.
+     */
+    public void queueSettingsSync(Settings settings, InteractionHand hand) {
+    }
 }
\ No newline at end of file
@@ -1,10 +1,20 @@
 package com.multiblockprojector.common;
 
 import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.api.MultiblockStructureCache;
 import com.multiblockprojector.api.UniversalMultiblockHandler;
+import com.multiblockprojector.common.build.AutoBuildManager;
+import com.multiblockprojector.common.network.MessageMultiblockIds;
+import com.multiblockprojector.common.network.MessageProjectorSync;
+import com.multiblockprojector.common.validation.BuildValidationService;
+import net.minecraft.server.level.ServerPlayer;
 import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.BlockEvent;
 import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppingEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 /**
  * Handles NeoForge events for the Universal Projector mod
@@ -14,8 +24,56 @@ public class NeoForgeEventHandler {
     
     @SubscribeEvent  
     public static void onServerStarting(ServerStartingEvent event) {
-        // Discover multiblocks when server starts
-        UniversalProjector.LOGGER.info("Server starting - discovering multiblocks...");
+        // Discovery normally finished in the background during loading; make sure it has
+        UniversalProjector.LOGGER.info("Server starting - waiting for multiblock discovery...");
         UniversalMultiblockHandler.discoverMultiblocks();
+
+        // Structures may come from data packs, which can differ per world
+        MultiblockStructureCache.clear();
+    }
+
+    @SubscribeEvent
+    public static void onServerStopping(ServerStoppingEvent event) {
+        AutoBuildManager.clear();
+        BuildValidationService.clear();
+    }
+
+    @SubscribeEvent
+    public static void onServerTick(ServerTickEvent.Post event) {
+        AutoBuildManager.tick(event.getServer());
+        BuildValidationService.tick(event.getServer());
+    }
+
+    @SubscribeEvent
+    public static void onNeighborNotify(BlockEvent.NeighborNotifyEvent event) {
+        // Fired for the changed block itself whenever a block change updates its neighbours
+        if (!event.getLevel().isClientSide()) {
+            BuildValidationService.onBlockChanged(event.getLevel(), event.getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (event.getEntity() instanceof ServerPlayer player) {
+            MessageMultiblockIds.sendOnLogin(player);
+            BuildValidationService.onLogin(player);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        AutoBuildManager.remove(event.getEntity().getUUID());
+        MessageProjectorSync.forget(event.getEntity().getUUID());
+        BuildValidationService.remove(event.getEntity().getUUID());
+    }
+
+    @SubscribeEvent
+    public static void onPlayerChangedDimension(PlayerEvent.PlayerChangedDimensionEvent event) {
+        // The job's level is the one the build started in; don't keep loading chunks there
+        if (event.getEntity() instanceof ServerPlayer player) {
+            AutoBuildManager.cancel(player);
+            // The client drops its projections on a dimension change as well
+            BuildValidationService.remove(player.getUUID());
+        }
     }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.multiblockprojector.common;
 
 import com.multiblockprojector.UniversalProjector;
 import com.multiblockprojector.common.items.ProjectorItem;
+import com.multiblockprojector.common.projector.ProjectorSettings;
+import net.minecraft.core.component.DataComponentType;
 import net.minecraft.core.registries.Registries;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.item.CreativeModeTab;
@@ -19,12 +21,23 @@ public class UPContent {
     // Items
     public static final DeferredRegister<Item> ITEMS = DeferredRegister.create(Registries.ITEM, UniversalProjector.MODID);
     
+    // Data Components
+    public static final DeferredRegister<DataComponentType<?>> DATA_COMPONENTS = DeferredRegister.create(Registries.DATA_COMPONENT_TYPE, UniversalProjector.MODID);
+    
     // Creative Tab
     public static final DeferredRegister<CreativeModeTab> CREATIVE_TABS = DeferredRegister.create(Registries.CREATIVE_MODE_TAB, UniversalProjector.MODID);
     
     // Item Registry
     public static final DeferredHolder<Item, ProjectorItem> PROJECTOR = ITEMS.register("projector", ProjectorItem::new);
     
+    // Data Component Registry
+    public static final DeferredHolder<DataComponentType<?>, DataComponentType<ProjectorSettings>> SETTINGS = DATA_COMPONENTS.register("settings", () ->
+        DataComponentType.<ProjectorSettings>builder()
+            .persistent(ProjectorSettings.CODEC)
+            .networkSynchronized(ProjectorSettings.STREAM_CODEC)
+            .build()
+    );
+    
     // Creative Tab Registry
     public static final DeferredHolder<CreativeModeTab, CreativeModeTab> CREATIVE_TAB = CREATIVE_TABS.register("main", () ->
         CreativeModeTab.builder()
@@ -38,6 +51,7 @@ public class UPContent {
     
     public static void init(IEventBus modEventBus) {
         ITEMS.register(modEventBus);
+        DATA_COMPONENTS.register(modEventBus);
         CREATIVE_TABS.register(modEventBus);
         
         UniversalProjector.LOGGER.info("Registered Universal Projector content");
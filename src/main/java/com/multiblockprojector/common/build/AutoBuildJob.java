@@ -0,0 +1,412 @@
+package com.multiblockprojector.common.build;
+
+import com.multiblockprojector.api.BillOfMaterials;
+import com.multiblockprojector.api.ICyclingBlockMultiblock;
+import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.common.projector.MultiblockProjection;
+import com.multiblockprojector.common.projector.Settings;
+import com.multiblockprojector.common.validation.BuildValidationService;
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.LevelChunkSection;
+import net.minecraft.world.level.levelgen.Heightmap;
+import net.minecraft.world.level.lighting.LevelLightEngine;
+import net.minecraft.world.level.lighting.LightEngine;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * One auto-build in progress. The blocks to place are worked out up front and grouped by chunk
+ * section; placing them is spread over as many server ticks as needed by {@link AutoBuildManager}.
+ * <p>
+ * Plain blocks are written straight into their {@link LevelChunkSection}, skipping the per-block
+ * bookkeeping of {@code Level.setBlock}: each touched section gets one emptiness update for the
+ * light engine, and changed positions are queued with the chunk holder, which sends them as one
+ * section update packet per section. Blocks with block entities on either side still go through
+ * {@code setBlock}, which takes care of creating and removing them. Chunks are never loaded: blocks
+ * in chunks that unloaded since the build was planned count as failed.
+ * <p>
+ * No neighbour or shape updates are sent while blocks are placed, so multiblock controllers do
+ * not re-check their structure after every block. Once everything is placed, the blocks on the
+ * boundary of the structure get one update pass in placement order, which updates the shapes
+ * of adjacent world blocks and lets the structure form once.
+ * <p>
+ * A survival build pays for blocks from a {@link MaterialSource}, as many items per block as the
+ * bill of materials counts, leaves existing blocks alone and does not apply template block entity data.
+ */
+public class AutoBuildJob {
+    record Placement(BlockPos pos, BlockState state, @Nullable CompoundTag nbt) {}
+
+    private final UUID playerId;
+    private final ServerLevel level;
+    private final InteractionHand hand;
+    private final IUniversalMultiblock multiblock;
+    private final List<Placement> placements;
+    // Set for survival builds
+    @Nullable
+    private MaterialSource materials;
+    private int next = 0;
+    // Blocks to update once placement is done; null until then
+    private List<BlockPos> boundary;
+    private int nextUpdate = 0;
+    // Set once the job is cancelled; only the boundary pass is left then
+    private boolean stopped = false;
+    private int placed = 0;
+    private int failed = 0;
+    private int missing = 0;
+    private int obstructed = 0;
+
+    private AutoBuildJob(UUID playerId, ServerLevel level, InteractionHand hand, IUniversalMultiblock multiblock,
+                         List<Placement> placements) {
+        this.playerId = playerId;
+        this.level = level;
+        this.hand = hand;
+        this.multiblock = multiblock;
+        this.placements = placements;
+    }
+
+    /**
+     * Work out every block of the projection at {@code pos}, transformed by the projector settings.
+     * Only reads the structure, not the world, so it may run on a background thread.
+     */
+    public static AutoBuildJob plan(UUID playerId, ServerLevel level, InteractionHand hand, Settings settings, BlockPos pos) {
+        IUniversalMultiblock multiblock = settings.getMultiblock();
+        var size = MultiblockProjection.getSizeFromSettings(multiblock, settings);
+        MultiblockProjection projection = new MultiblockProjection(level, multiblock, size);
+        projection.setRotation(settings.getRotation());
+        projection.setFlip(settings.isMirrored());
+
+        ICyclingBlockMultiblock cycling = multiblock instanceof ICyclingBlockMultiblock c ? c : null;
+        // Sections in the order they are first reached, which keeps the build going bottom up
+        Long2ObjectLinkedOpenHashMap<List<Placement>> sections = new Long2ObjectLinkedOpenHashMap<>();
+        projection.processAll((layer, info) -> {
+            BlockPos worldPos = pos.offset(info.tPos);
+            BlockState targetState = info.getModifiedState(level, worldPos);
+
+            // For cycling positions (like Blood Magic runes), use the default block (blank rune)
+            BlockPos structurePos = info.tBlockInfo.pos();
+            if (cycling != null && cycling.hasCyclingBlocks(structurePos)) {
+                BlockState defaultBlock = cycling.getDefaultBlock(structurePos);
+                if (defaultBlock != null) {
+                    targetState = defaultBlock;
+                }
+            }
+
+            sections.computeIfAbsent(SectionPos.asLong(worldPos), k -> new ArrayList<>())
+                .add(new Placement(worldPos, targetState, info.tBlockInfo.nbt()));
+            return false;
+        });
+
+        List<Placement> placements = new ArrayList<>(projection.getBlockCount());
+        for (List<Placement> section : sections.values()) {
+            placements.addAll(section);
+        }
+        return new AutoBuildJob(playerId, level, hand, multiblock, placements);
+    }
+
+    /**
+     * Place blocks until they are all placed, {@code maxBlocks} have been placed or the deadline
+     * passes, then run the boundary update pass under the same deadline.
+     * Every call does some work so a job always makes progress.
+     * @param deadline {@link System#nanoTime()} value to stop at
+     * @return true once every block has been placed and updated
+     */
+    boolean tick(int maxBlocks, long deadline) {
+        int end = stopped ? next : Math.min(placements.size(), next + maxBlocks);
+        while (next < end) {
+            // Placements of a section are contiguous; write a run of them at once
+            long section = SectionPos.asLong(placements.get(next).pos());
+            int runEnd = next + 1;
+            while (runEnd < end && SectionPos.asLong(placements.get(runEnd).pos()) == section) {
+                runEnd++;
+            }
+            placeSection(SectionPos.of(section), next, runEnd);
+            next = runEnd;
+            if (System.nanoTime() >= deadline) {
+                return isDone();
+            }
+        }
+
+        if (next >= placements.size() || stopped) {
+            if (boundary == null) {
+                boundary = findBoundary(placements.size());
+            }
+            int updated = 0;
+            while (nextUpdate < boundary.size() && (updated++ == 0 || System.nanoTime() < deadline)) {
+                updateAt(boundary.get(nextUpdate++));
+            }
+        }
+        return isDone();
+    }
+
+    /**
+     * Stop placing. The following ticks only update around the blocks placed so far, so they are
+     * left in a consistent state.
+     */
+    void stop() {
+        if (!stopped) {
+            stopped = true;
+            if (boundary == null) {
+                boundary = findBoundary(next);
+            }
+        }
+    }
+
+    /**
+     * Stop placing and run what is left of the boundary pass right away, e.g. when the server stops
+     */
+    void stopNow() {
+        stop();
+        while (nextUpdate < boundary.size()) {
+            updateAt(boundary.get(nextUpdate++));
+        }
+    }
+
+    /**
+     * @return Positions among the first {@code count} placements with a neighbour outside them, in placement order
+     */
+    private List<BlockPos> findBoundary(int count) {
+        LongSet structure = new LongOpenHashSet(count);
+        for (int i = 0; i < count; i++) {
+            structure.add(placements.get(i).pos().asLong());
+        }
+
+        List<BlockPos> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            BlockPos pos = placements.get(i).pos();
+            for (Direction direction : Direction.values()) {
+                if (!structure.contains(pos.relative(direction).asLong())) {
+                    result.add(pos);
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void updateAt(BlockPos pos) {
+        // Blocks in chunks that unloaded since they were placed keep their state; updating them would load the chunk
+        if (!level.isLoaded(pos)) {
+            return;
+        }
+        BlockState state = level.getBlockState(pos);
+        // Reshape adjacent world blocks (fences, panes) and notify neighbours, which triggers formation checks
+        state.updateNeighbourShapes(level, pos, Block.UPDATE_ALL);
+        level.updateNeighborsAt(pos, state.getBlock());
+    }
+
+    private void placeSection(SectionPos sectionPos, int from, int to) {
+        if (level.isOutsideBuildHeight(sectionPos.minBlockY())) {
+            failed += to - from;
+            return;
+        }
+
+        // The chunk may have unloaded since the build was planned; never load or generate it again here
+        LevelChunk chunk = level.getChunkSource().getChunkNow(sectionPos.x(), sectionPos.z());
+        if (chunk == null) {
+            failed += to - from;
+            return;
+        }
+        LevelChunkSection section = chunk.getSection(chunk.getSectionIndexFromSectionY(sectionPos.y()));
+        LevelLightEngine lightEngine = level.getChunkSource().getLightEngine();
+        boolean wasEmpty = section.hasOnlyAir();
+        List<BlockPos> lightChecks = new ArrayList<>();
+        boolean changed = false;
+
+        for (int i = from; i < to; i++) {
+            Placement placement = placements.get(i);
+            BlockPos worldPos = placement.pos();
+            if (!level.getWorldBorder().isWithinBounds(worldPos)) {
+                failed++;
+                continue;
+            }
+
+            BlockState newState = placement.state();
+            BlockState oldState = section.getBlockState(worldPos.getX() & 15, worldPos.getY() & 15, worldPos.getZ() & 15);
+            if (oldState == newState) {
+                placed++;
+                continue;
+            }
+            if (materials != null) {
+                if (!oldState.canBeReplaced()) {
+                    obstructed++;
+                    continue;
+                }
+                // Paid once the block is placed, so a failed placement costs nothing
+                if (!canPay(newState)) {
+                    missing++;
+                    continue;
+                }
+            }
+            if (oldState.hasBlockEntity() || newState.hasBlockEntity() || placement.nbt() != null) {
+                placeSingle(placement);
+                continue;
+            }
+
+            try {
+                section.setBlockState(worldPos.getX() & 15, worldPos.getY() & 15, worldPos.getZ() & 15, newState);
+                for (Map.Entry<Heightmap.Types, Heightmap> heightmap : chunk.getHeightmaps()) {
+                    heightmap.getValue().update(worldPos.getX() & 15, worldPos.getY(), worldPos.getZ() & 15, newState);
+                }
+                if (LightEngine.hasDifferentLightProperties(chunk, worldPos, oldState, newState)) {
+                    chunk.getSkyLightSources().update(chunk, worldPos.getX() & 15, worldPos.getY(), worldPos.getZ() & 15);
+                    lightChecks.add(worldPos);
+                }
+                oldState.onRemove(level, worldPos, newState, false);
+                newState.onPlace(level, worldPos, oldState, false);
+                level.onBlockStateChange(worldPos, oldState, newState);
+                level.getChunkSource().blockChanged(worldPos);
+                BuildValidationService.onBlockChanged(level, worldPos);
+                changed = true;
+                pay(newState);
+                placed++;
+            } catch (Exception e) {
+                failed++;
+            }
+        }
+
+        if (!changed) return;
+        chunk.setUnsaved(true);
+
+        // The light engine has to know a section gained or lost its last block before checking blocks in it
+        boolean isEmpty = section.hasOnlyAir();
+        if (wasEmpty != isEmpty) {
+            lightEngine.updateSectionStatus(sectionPos, isEmpty);
+        }
+        for (BlockPos worldPos : lightChecks) {
+            lightEngine.checkBlock(worldPos);
+        }
+    }
+
+    private void placeSingle(Placement placement) {
+        BlockPos worldPos = placement.pos();
+        try {
+            // Force place the block (server-side); neighbours are updated in the boundary pass
+            level.setBlock(worldPos, placement.state(), Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE);
+            BuildValidationService.onBlockChanged(level, worldPos);
+            pay(placement.state());
+
+            // Apply NBT data if present (crucial for multiblock components); survival builds don't get it for free
+            if (materials == null && placement.nbt() != null && !placement.nbt().isEmpty()) {
+                BlockEntity blockEntity = level.getBlockEntity(worldPos);
+                if (blockEntity != null) {
+                    blockEntity.loadWithComponents(placement.nbt(), level.registryAccess());
+                    blockEntity.setChanged();
+                }
+            }
+
+            placed++;
+        } catch (Exception e) {
+            failed++;
+        }
+    }
+
+    /**
+     * @return true if the materials for the block are there
+     */
+    private boolean canPay(BlockState state) {
+        Item item = BillOfMaterials.getItem(state);
+        int count = BillOfMaterials.getItemCount(state);
+        // The other half of a two-part block was paid for along with its first half
+        return item != Items.AIR && (count == 0 || materials.has(item, count));
+    }
+
+    /**
+     * Take the materials for a placed block, if this is a survival build
+     */
+    private void pay(BlockState state) {
+        int count = BillOfMaterials.getItemCount(state);
+        if (materials != null && count > 0) {
+            materials.take(BillOfMaterials.getItem(state), count);
+        }
+    }
+
+    /**
+     * Make this a survival build, paying for blocks from the given source
+     */
+    void setMaterials(MaterialSource materials) {
+        this.materials = materials;
+    }
+
+    public boolean isSurvival() {
+        return materials != null;
+    }
+
+    /**
+     * @return Every block of the job, grouped by section
+     */
+    List<Placement> getPlacements() {
+        return placements;
+    }
+
+    public boolean isDone() {
+        return (next >= placements.size() || stopped) && boundary != null && nextUpdate >= boundary.size();
+    }
+
+    /**
+     * @return true if the job was cancelled; it may still be finishing its boundary pass
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    public ServerLevel getLevel() {
+        return level;
+    }
+
+    public InteractionHand getHand() {
+        return hand;
+    }
+
+    public IUniversalMultiblock getMultiblock() {
+        return multiblock;
+    }
+
+    /** Blocks handled so far, placed or failed */
+    public int getProgress() {
+        return next;
+    }
+
+    public int getTotal() {
+        return placements.size();
+    }
+
+    public int getPlaced() {
+        return placed;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /** Survival blocks skipped for lack of items */
+    public int getMissing() {
+        return missing;
+    }
+
+    /** Survival blocks skipped because another block was in the way */
+    public int getObstructed() {
+        return obstructed;
+    }
+}
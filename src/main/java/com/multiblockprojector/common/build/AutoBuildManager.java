@@ -0,0 +1,302 @@
+package com.multiblockprojector.common.build;
+
+import com.multiblockprojector.UniversalProjector;
+import com.multiblockprojector.common.items.ProjectorItem;
+import com.multiblockprojector.common.network.MessageProjectorSync;
+import com.multiblockprojector.common.projector.Settings;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import net.minecraft.ChatFormatting;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.InteractionHand;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Runs auto-builds as server-side jobs, placing a bounded number of blocks per tick under a
+ * shared time budget so large structures never stall a tick. Each build is first checked by
+ * {@link AutoBuildPlanner} and only starts if every block can be placed. One job per player;
+ * requesting another auto-build while one is planned or running cancels it instead. A cancelled
+ * job stays until the updates around the blocks it placed are done, under the same budget.
+ * <p>
+ * Outside creative mode, builds are paid for from the player's inventory and nearby containers
+ * and placed at a much lower rate.
+ * All methods must be called on the server thread.
+ */
+public class AutoBuildManager {
+    private static final int MAX_BLOCKS_PER_TICK = 512;
+    private static final int SURVIVAL_BLOCKS_PER_TICK = 2;
+    // Shared by all running jobs, well below the 50ms of a tick
+    private static final long TICK_BUDGET_NANOS = 5_000_000L;
+    private static final int PROGRESS_INTERVAL_TICKS = 10;
+    // The client aims projections up to 64 blocks away; allow for some movement since
+    private static final double MAX_DISTANCE = 72.0;
+
+    private static final Map<UUID, AutoBuildJob> JOBS = new LinkedHashMap<>();
+    private static final Map<UUID, CompletableFuture<?>> PLANNING = new HashMap<>();
+    private static int ticks = 0;
+
+    /**
+     * Start an auto-build of the projector's multiblock at {@code pos}, or cancel the player's running one
+     */
+    public static void start(ServerPlayer player, InteractionHand hand, Settings settings, BlockPos pos) {
+        if (cancel(player)) {
+            return;
+        }
+        if (JOBS.containsKey(player.getUUID())) {
+            player.displayClientMessage(
+                Component.literal("The cancelled auto-build is still finishing.").withStyle(ChatFormatting.YELLOW), true);
+            return;
+        }
+        if (player.getEyePosition().distanceToSqr(Vec3.atCenterOf(pos)) > MAX_DISTANCE * MAX_DISTANCE) {
+            player.displayClientMessage(
+                Component.literal("Auto-build failed! The projection is too far away.").withStyle(ChatFormatting.RED), true);
+            return;
+        }
+
+        // Walking the structure, and generating it if it isn't cached, is left to a background thread
+        UUID playerId = player.getUUID();
+        ServerLevel level = player.serverLevel();
+        MinecraftServer server = player.getServer();
+        CompletableFuture<AutoBuildJob> planning = CompletableFuture.supplyAsync(
+            () -> AutoBuildJob.plan(playerId, level, hand, settings, pos), Util.backgroundExecutor());
+        // Registered first: if planning is already done, the callback runs right here on the server thread
+        PLANNING.put(playerId, planning);
+        planning.whenCompleteAsync((job, error) -> onPlanned(server, playerId, planning, job, error), server);
+    }
+
+    private static void onPlanned(MinecraftServer server, UUID playerId, CompletableFuture<?> planning,
+                                  AutoBuildJob job, Throwable error) {
+        // Cancelled plans were removed already; so were plans replaced by a newer one
+        if (PLANNING.get(playerId) != planning) {
+            return;
+        }
+        ServerPlayer player = server.getPlayerList().getPlayer(playerId);
+        if (player == null || error != null) {
+            PLANNING.remove(playerId);
+            onFailed(player, error);
+            return;
+        }
+
+        CompletableFuture<AutoBuildPlanner.Report> checking = AutoBuildPlanner.plan(player, job);
+        PLANNING.put(playerId, checking);
+        checking.whenCompleteAsync((report, checkError) -> onChecked(server, job, checking, report, checkError), server);
+    }
+
+    private static void onChecked(MinecraftServer server, AutoBuildJob job, CompletableFuture<?> checking,
+                                  AutoBuildPlanner.Report report, Throwable error) {
+        if (!PLANNING.remove(job.getPlayerId(), checking)) {
+            return;
+        }
+        ServerPlayer player = server.getPlayerList().getPlayer(job.getPlayerId());
+        if (player == null || error != null) {
+            onFailed(player, error);
+            return;
+        }
+
+        // Nothing has been placed yet; refuse the whole build rather than leave half a structure
+        if (report.isBlocked()) {
+            player.displayClientMessage(
+                Component.literal("Auto-build blocked! " + report.outsideWorld() + " outside the world, "
+                        + report.outsideBorder() + " outside the border, " + report.blocked() + " in protected areas, "
+                        + report.unloaded() + " in unloaded chunks.")
+                    .withStyle(ChatFormatting.RED),
+                true
+            );
+            return;
+        }
+        if (job.getTotal() == 0) {
+            finish(player, job);
+            return;
+        }
+
+        if (!player.getAbilities().instabuild) {
+            MaterialSource materials = MaterialSource.around(player);
+            List<String> shortages = new ArrayList<>();
+            for (Object2IntMap.Entry<Item> entry : report.cost().object2IntEntrySet()) {
+                int shortBy = entry.getIntValue() - materials.count(entry.getKey());
+                if (shortBy > 0) {
+                    shortages.add(shortBy + "x " + new ItemStack(entry.getKey()).getHoverName().getString());
+                }
+            }
+            if (!shortages.isEmpty()) {
+                player.displayClientMessage(
+                    Component.literal("Missing materials: " + String.join(", ", shortages.subList(0, Math.min(3, shortages.size())))
+                            + (shortages.size() > 3 ? " and " + (shortages.size() - 3) + " more" : ""))
+                        .withStyle(ChatFormatting.RED),
+                    true
+                );
+                return;
+            }
+            job.setMaterials(materials);
+        }
+
+        JOBS.put(player.getUUID(), job);
+        player.displayClientMessage(
+            Component.literal("Auto-building " + report.toPlace() + " blocks (" + report.getItemCount() + " items"
+                    + (report.replaced() > 0 ? ", replacing " + report.replaced() + " existing blocks" : "") + ")")
+                .withStyle(ChatFormatting.AQUA),
+            true
+        );
+    }
+
+    private static void onFailed(ServerPlayer player, Throwable error) {
+        if (error instanceof CompletionException) {
+            error = error.getCause();
+        }
+        if (error == null) {
+            return;
+        }
+        UniversalProjector.LOGGER.error("Failed to plan auto-build", error);
+        if (player != null) {
+            player.displayClientMessage(
+                Component.literal("Auto-build failed! The structure could not be checked.").withStyle(ChatFormatting.RED), true);
+        }
+    }
+
+    /**
+     * Stop the player's running auto-build. Blocks placed so far stay.
+     * @return true if a job was running
+     */
+    public static boolean cancel(ServerPlayer player) {
+        CompletableFuture<?> planning = PLANNING.remove(player.getUUID());
+        if (planning != null) {
+            planning.cancel(false);
+            player.displayClientMessage(Component.literal("Auto-build cancelled.").withStyle(ChatFormatting.YELLOW), true);
+            return true;
+        }
+
+        AutoBuildJob job = JOBS.get(player.getUUID());
+        if (job == null || job.isStopped()) {
+            return false;
+        }
+        // The job stays until its boundary pass is done, which the following ticks take care of
+        job.stop();
+        player.displayClientMessage(
+            Component.literal("Auto-build cancelled after " + job.getPlaced() + " of " + job.getTotal() + " blocks.")
+                .withStyle(ChatFormatting.YELLOW),
+            true
+        );
+        return true;
+    }
+
+    /**
+     * Stop the player's job without notifying them (they left)
+     */
+    public static void remove(UUID playerId) {
+        CompletableFuture<?> planning = PLANNING.remove(playerId);
+        if (planning != null) {
+            planning.cancel(false);
+        }
+        AutoBuildJob job = JOBS.get(playerId);
+        if (job != null) {
+            job.stop();
+        }
+    }
+
+    public static void clear() {
+        PLANNING.values().forEach(planning -> planning.cancel(false));
+        PLANNING.clear();
+        // There are no more ticks to spread the boundary passes over
+        JOBS.values().forEach(AutoBuildJob::stopNow);
+        JOBS.clear();
+    }
+
+    /**
+     * Advance all jobs; called once per server tick
+     */
+    public static void tick(MinecraftServer server) {
+        if (JOBS.isEmpty()) return;
+        ticks++;
+
+        long start = System.nanoTime();
+        int remaining = JOBS.size();
+        Iterator<AutoBuildJob> it = JOBS.values().iterator();
+        while (it.hasNext()) {
+            AutoBuildJob job = it.next();
+            ServerPlayer player = server.getPlayerList().getPlayer(job.getPlayerId());
+            if (player == null) {
+                job.stop();
+            }
+
+            // Split what is left of the budget evenly between the jobs still to run this tick
+            long now = System.nanoTime();
+            long deadline = now + Math.max(0, TICK_BUDGET_NANOS - (now - start)) / remaining;
+            remaining--;
+            if (job.tick(job.isSurvival() ? SURVIVAL_BLOCKS_PER_TICK : MAX_BLOCKS_PER_TICK, deadline)) {
+                it.remove();
+                // Cancelled jobs told their player when they were cancelled
+                if (!job.isStopped()) {
+                    finish(player, job);
+                }
+            } else if (!job.isStopped() && ticks % PROGRESS_INTERVAL_TICKS == 0) {
+                sendProgress(player, job);
+            }
+        }
+    }
+
+    private static void sendProgress(ServerPlayer player, AutoBuildJob job) {
+        int percent = job.getTotal() > 0 ? job.getProgress() * 100 / job.getTotal() : 100;
+        player.displayClientMessage(
+            Component.literal("Auto-building... " + percent + "% (" + job.getProgress() + "/" + job.getTotal() + ")")
+                .withStyle(ChatFormatting.AQUA),
+            true
+        );
+    }
+
+    private static void finish(ServerPlayer player, AutoBuildJob job) {
+        if (job.getFailed() > 0) {
+            // Some blocks couldn't be placed - show warning
+            player.displayClientMessage(
+                Component.literal("Auto-build failed! " + job.getFailed() + " blocks couldn't be placed.")
+                    .withStyle(ChatFormatting.RED),
+                true
+            );
+            return;
+        }
+        if (job.getMissing() > 0 || job.getObstructed() > 0) {
+            player.displayClientMessage(
+                Component.literal("Auto-build incomplete! " + job.getMissing() + " blocks had no materials, "
+                        + job.getObstructed() + " were blocked by other blocks.")
+                    .withStyle(ChatFormatting.RED),
+                true
+            );
+            return;
+        }
+
+        // Success! Return the projector to nothing selected mode, if it is still the one that started the build
+        ItemStack held = player.getItemInHand(job.getHand());
+        if (held.getItem() instanceof ProjectorItem) {
+            Settings settings = ProjectorItem.getSettings(held);
+            if (settings.getMultiblock() == job.getMultiblock()) {
+                settings.setMode(Settings.Mode.NOTHING_SELECTED);
+                settings.setPos(null);
+                settings.setPlaced(false);
+                settings.applyTo(held);
+                MessageProjectorSync.sendToClient(player, settings, job.getHand(),
+                    Settings.FIELD_MODE | Settings.FIELD_POSITION | Settings.FIELD_PLACED);
+            }
+        }
+
+        player.displayClientMessage(
+            Component.literal("Auto-build completed! Placed " + job.getPlaced() + " blocks.")
+                .withStyle(ChatFormatting.GREEN),
+            true
+        );
+    }
+}
@@ -0,0 +1,186 @@
+package com.multiblockprojector.common.build;
+
+import com.multiblockprojector.api.BillOfMaterials;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntMaps;
+import net.minecraft.Util;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Direction;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.border.WorldBorder;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraft.world.level.chunk.PalettedContainer;
+import net.neoforged.neoforge.common.util.BlockSnapshot;
+import net.neoforged.neoforge.event.EventHooks;
+import net.neoforged.neoforge.event.level.BlockEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Read-only dry run of an auto-build. The chunk sections the structure touches and the world
+ * limits are copied on the server thread; checking every block against them happens on a
+ * background thread, so the world is never touched and the server tick is not held up.
+ * <p>
+ * Only loaded chunks are copied, so a build never loads or generates chunks. Whether the player
+ * may place blocks is also asked on the server thread, the same way a placed block would be:
+ * {@code Level.mayInteract} and a {@link BlockEvent.EntityPlaceEvent}, which protection mods can
+ * cancel. It is asked once per chunk section, at the first block placed there, since protected
+ * areas are claimed by the chunk; a refused section counts every block in it as blocked.
+ */
+public class AutoBuildPlanner {
+    private static final List<PlacementGuard> GUARDS = new CopyOnWriteArrayList<>(List.of(AutoBuildPlanner::spawnProtection));
+
+    /**
+     * Outcome of planning an auto-build
+     * @param toPlace Blocks that differ from what is in the world now
+     * @param replaced Of those, blocks that would replace something other than air
+     * @param blocked Blocks the player may not place, or refused by a {@link PlacementGuard}
+     * @param unloaded Blocks in chunks that aren't loaded
+     * @param cost Items needed for the blocks to place, in structure order
+     */
+    public record Report(int total, int toPlace, int alreadyPresent, int replaced,
+                         int outsideWorld, int outsideBorder, int blocked, int unloaded, Object2IntMap<Item> cost) {
+        /**
+         * @return true if some blocks can't be placed at all
+         */
+        public boolean isBlocked() {
+            return outsideWorld > 0 || outsideBorder > 0 || blocked > 0 || unloaded > 0;
+        }
+
+        public int getItemCount() {
+            int count = 0;
+            for (int amount : cost.values()) {
+                count += amount;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Add a check for positions auto-build may not place at. Spawn protection is checked by default.
+     */
+    public static void registerGuard(PlacementGuard guard) {
+        GUARDS.add(guard);
+    }
+
+    /**
+     * Snapshot what the job needs and plan it in the background. Must be called on the server thread.
+     */
+    public static CompletableFuture<Report> plan(ServerPlayer player, AutoBuildJob job) {
+        ServerLevel level = job.getLevel();
+        List<AutoBuildJob.Placement> placements = job.getPlacements();
+
+        int minY = level.getMinBuildHeight();
+        int maxY = level.getMaxBuildHeight();
+        WorldBorder border = level.getWorldBorder();
+        double borderMinX = border.getMinX(), borderMaxX = border.getMaxX();
+        double borderMinZ = border.getMinZ(), borderMaxZ = border.getMaxZ();
+
+        List<Predicate<BlockPos>> guards = new ArrayList<>(GUARDS.size());
+        for (PlacementGuard guard : GUARDS) {
+            guards.add(guard.prepare(player, level));
+        }
+
+        // Placements are grouped by section, so each section is copied and asked about once
+        Long2ObjectMap<PalettedContainer<BlockState>> sections = new Long2ObjectOpenHashMap<>();
+        LongSet unloadedSections = new LongOpenHashSet();
+        LongSet deniedSections = new LongOpenHashSet();
+        for (AutoBuildJob.Placement placement : placements) {
+            BlockPos pos = placement.pos();
+            long section = SectionPos.asLong(pos);
+            if (level.isOutsideBuildHeight(pos) || sections.containsKey(section) || unloadedSections.contains(section)) continue;
+            LevelChunk chunk = level.getChunkSource().getChunkNow(
+                SectionPos.blockToSectionCoord(pos.getX()), SectionPos.blockToSectionCoord(pos.getZ()));
+            if (chunk == null) {
+                unloadedSections.add(section);
+                continue;
+            }
+            sections.put(section, chunk.getSection(chunk.getSectionIndex(pos.getY())).getStates().copy());
+            if (!mayPlace(player, level, pos)) {
+                deniedSections.add(section);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            int toPlace = 0, alreadyPresent = 0, replaced = 0, outsideWorld = 0, outsideBorder = 0, blocked = 0, unloaded = 0;
+            Object2IntMap<Item> cost = new Object2IntLinkedOpenHashMap<>();
+            for (AutoBuildJob.Placement placement : placements) {
+                BlockPos pos = placement.pos();
+                if (pos.getY() < minY || pos.getY() >= maxY) {
+                    outsideWorld++;
+                } else if (pos.getX() < borderMinX || pos.getX() >= borderMaxX || pos.getZ() < borderMinZ || pos.getZ() >= borderMaxZ) {
+                    outsideBorder++;
+                } else if (unloadedSections.contains(SectionPos.asLong(pos))) {
+                    unloaded++;
+                } else if (deniedSections.contains(SectionPos.asLong(pos)) || isGuarded(guards, pos)) {
+                    blocked++;
+                } else {
+                    BlockState current = sections.get(SectionPos.asLong(pos)).get(pos.getX() & 15, pos.getY() & 15, pos.getZ() & 15);
+                    if (current == placement.state()) {
+                        alreadyPresent++;
+                        continue;
+                    }
+                    toPlace++;
+                    if (!current.isAir()) {
+                        replaced++;
+                    }
+                    int count = BillOfMaterials.getItemCount(placement.state());
+                    if (count > 0) {
+                        cost.mergeInt(BillOfMaterials.getItem(placement.state()), count, Integer::sum);
+                    }
+                }
+            }
+            return new Report(placements.size(), toPlace, alreadyPresent, replaced, outsideWorld, outsideBorder, blocked,
+                unloaded, Object2IntMaps.unmodifiable(cost));
+        }, Util.backgroundExecutor());
+    }
+
+    private static boolean isGuarded(List<Predicate<BlockPos>> guards, BlockPos pos) {
+        for (Predicate<BlockPos> guard : guards) {
+            if (guard.test(pos)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the player may place a block at the position, as far as the level and other mods are concerned
+     */
+    private static boolean mayPlace(ServerPlayer player, ServerLevel level, BlockPos pos) {
+        if (!level.mayInteract(player, pos)) {
+            return false;
+        }
+        // The event sees the block that is there now; protection mods only look at who places where
+        return !EventHooks.onBlockPlace(player, BlockSnapshot.create(level.dimension(), level, pos), Direction.UP);
+    }
+
+    /**
+     * Same rules as the dedicated server's spawn protection
+     */
+    private static Predicate<BlockPos> spawnProtection(ServerPlayer player, ServerLevel level) {
+        MinecraftServer server = level.getServer();
+        int radius = server.getSpawnProtectionRadius();
+        if (!server.isDedicatedServer() || level.dimension() != Level.OVERWORLD || radius <= 0
+                || server.getPlayerList().getOps().isEmpty() || server.getPlayerList().isOp(player.getGameProfile())) {
+            return pos -> false;
+        }
+        BlockPos spawn = level.getSharedSpawnPos();
+        return pos -> Math.max(Math.abs(pos.getX() - spawn.getX()), Math.abs(pos.getZ() - spawn.getZ())) <= radius;
+    }
+}
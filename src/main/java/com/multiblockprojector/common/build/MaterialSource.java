@@ -0,0 +1,215 @@
+package com.multiblockprojector.common.build;
+
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.entity.BaseContainerBlockEntity;
+import net.minecraft.world.level.chunk.LevelChunk;
+import net.neoforged.neoforge.capabilities.Capabilities;
+import net.neoforged.neoforge.items.IItemHandler;
+import net.neoforged.neoforge.items.wrapper.PlayerMainInvWrapper;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Items a survival auto-build may use: the player's inventory, then item handlers of the
+ * containers around the player that they could open themselves, as far as the level, container
+ * locks and registered guards are concerned. Slots are indexed by item once, so taking an item
+ * doesn't scan the inventories. The index is rebuilt when it runs dry for an item, in case items
+ * moved, but at most once a second.
+ */
+public class MaterialSource {
+    // Containers within this many blocks of the player when the build starts are used
+    private static final int CONTAINER_RADIUS = 4;
+    private static final long REINDEX_INTERVAL_TICKS = 20;
+
+    private static final List<PlacementGuard> GUARDS = new CopyOnWriteArrayList<>();
+
+    private record Slot(IItemHandler handler, int slot) {}
+
+    private final ServerLevel level;
+    private final List<IItemHandler> handlers;
+    private final Map<Item, Deque<Slot>> slots = new HashMap<>();
+    private final Object2IntMap<Item> counts = new Object2IntOpenHashMap<>();
+    private long lastIndexed;
+
+    private MaterialSource(ServerLevel level, List<IItemHandler> handlers) {
+        this.level = level;
+        this.handlers = handlers;
+        reindex();
+    }
+
+    /**
+     * Add a check for containers auto-build may not take items from, such as ones in protected regions.
+     * The predicate is true for container positions the player may not use.
+     */
+    public static void registerGuard(PlacementGuard guard) {
+        GUARDS.add(guard);
+    }
+
+    /**
+     * Collect the player's inventory and the containers around them. Must be called on the server thread.
+     */
+    public static MaterialSource around(ServerPlayer player) {
+        ServerLevel level = player.serverLevel();
+        List<Predicate<BlockPos>> guards = new ArrayList<>(GUARDS.size());
+        for (PlacementGuard guard : GUARDS) {
+            guards.add(guard.prepare(player, level));
+        }
+        List<IItemHandler> handlers = new ArrayList<>();
+        handlers.add(new PlayerMainInvWrapper(player.getInventory()));
+
+        BlockPos center = player.blockPosition();
+        BlockPos min = center.offset(-CONTAINER_RADIUS, -CONTAINER_RADIUS, -CONTAINER_RADIUS);
+        BlockPos max = center.offset(CONTAINER_RADIUS, CONTAINER_RADIUS, CONTAINER_RADIUS);
+        for (int chunkX = SectionPos.blockToSectionCoord(min.getX()); chunkX <= SectionPos.blockToSectionCoord(max.getX()); chunkX++) {
+            for (int chunkZ = SectionPos.blockToSectionCoord(min.getZ()); chunkZ <= SectionPos.blockToSectionCoord(max.getZ()); chunkZ++) {
+                LevelChunk chunk = level.getChunkSource().getChunkNow(chunkX, chunkZ);
+                if (chunk == null) continue;
+                for (BlockPos pos : chunk.getBlockEntities().keySet()) {
+                    if (pos.getX() < min.getX() || pos.getY() < min.getY() || pos.getZ() < min.getZ()
+                            || pos.getX() > max.getX() || pos.getY() > max.getY() || pos.getZ() > max.getZ()
+                            || !canOpen(player, level, pos, guards)) {
+                        continue;
+                    }
+                    IItemHandler handler = level.getCapability(Capabilities.ItemHandler.BLOCK, pos, null);
+                    if (handler != null) {
+                        handlers.add(handler);
+                    }
+                }
+            }
+        }
+        return new MaterialSource(level, handlers);
+    }
+
+    /**
+     * @return true if the player could open the container at the position by hand
+     */
+    private static boolean canOpen(ServerPlayer player, ServerLevel level, BlockPos pos, List<Predicate<BlockPos>> guards) {
+        if (!level.mayInteract(player, pos)) {
+            return false;
+        }
+        for (Predicate<BlockPos> guard : guards) {
+            if (guard.test(pos)) {
+                return false;
+            }
+        }
+        // Tells the player when a container is locked, as opening it would
+        return !(level.getBlockEntity(pos) instanceof BaseContainerBlockEntity container) || container.canOpen(player);
+    }
+
+    private void reindex() {
+        slots.clear();
+        counts.clear();
+        for (IItemHandler handler : handlers) {
+            for (int slot = 0; slot < handler.getSlots(); slot++) {
+                ItemStack stack = handler.getStackInSlot(slot);
+                if (stack.isEmpty()) continue;
+                slots.computeIfAbsent(stack.getItem(), item -> new ArrayDeque<>()).add(new Slot(handler, slot));
+                counts.mergeInt(stack.getItem(), stack.getCount(), Integer::sum);
+            }
+        }
+        lastIndexed = level.getGameTime();
+    }
+
+    /**
+     * @return How many of the item were available when the sources were last indexed
+     */
+    public int count(Item item) {
+        return counts.getInt(item);
+    }
+
+    /**
+     * @return true if the sources hold at least {@code count} of the item, so {@link #take(Item, int)} would succeed
+     */
+    public boolean has(Item item, int count) {
+        return find(item, count);
+    }
+
+    /**
+     * Remove one of the item from the sources.
+     * @return false if none could be found
+     */
+    public boolean take(Item item) {
+        return take(item, 1);
+    }
+
+    /**
+     * Remove several of the item from the sources, or none if there aren't enough.
+     * @return false if not enough could be found
+     */
+    public boolean take(Item item, int count) {
+        if (!find(item, count)) {
+            return false;
+        }
+        takeIndexed(item, count);
+        return true;
+    }
+
+    /**
+     * @return true if the indexed slots hold at least {@code count} of the item, reindexing if they don't
+     */
+    private boolean find(Item item, int count) {
+        if (findIndexed(item, count)) {
+            return true;
+        }
+        if (level.getGameTime() - lastIndexed < REINDEX_INTERVAL_TICKS) {
+            return false;
+        }
+        reindex();
+        return findIndexed(item, count);
+    }
+
+    private boolean findIndexed(Item item, int count) {
+        Deque<Slot> itemSlots = slots.get(item);
+        if (itemSlots == null) {
+            return false;
+        }
+        int found = 0;
+        Iterator<Slot> iterator = itemSlots.iterator();
+        while (found < count && iterator.hasNext()) {
+            Slot slot = iterator.next();
+            // The slot may have been emptied or refilled with something else since it was indexed
+            ItemStack stack = slot.handler().extractItem(slot.slot(), count - found, true);
+            if (stack.is(item)) {
+                found += stack.getCount();
+            } else {
+                iterator.remove();
+            }
+        }
+        return found >= count;
+    }
+
+    /**
+     * Remove items found by {@link #findIndexed} just before, so they are all there
+     */
+    private void takeIndexed(Item item, int count) {
+        Deque<Slot> itemSlots = slots.get(item);
+        int taken = 0;
+        while (taken < count && !itemSlots.isEmpty()) {
+            Slot slot = itemSlots.peek();
+            ItemStack stack = slot.handler().extractItem(slot.slot(), count - taken, false);
+            if (stack.is(item)) {
+                taken += stack.getCount();
+            }
+            if (taken < count) {
+                // Emptied, or held less than it said
+                itemSlots.poll();
+            }
+        }
+        counts.mergeInt(item, -taken, Integer::sum);
+    }
+}
@@ -0,0 +1,21 @@
+package com.multiblockprojector.common.build;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.function.Predicate;
+
+/**
+ * Check for positions an auto-build must not place blocks at, such as protected regions.
+ * Register with {@link AutoBuildPlanner#registerGuard}.
+ */
+@FunctionalInterface
+public interface PlacementGuard {
+    /**
+     * Called on the server thread before planning. Read whatever the check needs here; the
+     * returned predicate is evaluated on a background thread and must not touch the level.
+     * @return Predicate that is true for positions the player may not build at
+     */
+    Predicate<BlockPos> prepare(ServerPlayer player, ServerLevel level);
+}
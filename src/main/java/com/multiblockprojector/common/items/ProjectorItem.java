@@ -1,19 +1,23 @@
 package com.multiblockprojector.common.items;
 
 import com.multiblockprojector.common.UPContent;
+import com.multiblockprojector.common.projector.ProjectorSettings;
 import com.multiblockprojector.common.projector.Settings;
 import com.multiblockprojector.common.projector.MultiblockProjection;
 import net.minecraft.ChatFormatting;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.component.DataComponents;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.InteractionResult;
 import net.minecraft.world.InteractionResultHolder;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.item.TooltipFlag;
+import net.minecraft.world.item.component.CustomData;
 import net.minecraft.world.item.Item.TooltipContext;
 import net.minecraft.world.item.context.UseOnContext;
 import net.minecraft.world.level.Level;
@@ -38,9 +42,8 @@ public class ProjectorItem extends Item {
     @Nonnull
     public Component getName(@Nonnull ItemStack stack) {
         String selfKey = getDescriptionId(stack);
-        if (stack.has(net.minecraft.core.component.DataComponents.CUSTOM_DATA)) {
-            Settings settings = getSettings(stack);
-            Settings.Mode mode = settings.getMode();
+        if (stack.has(UPContent.SETTINGS)) {
+            Settings.Mode mode = getProjectorSettings(stack).mode();
             
             switch (mode) {
                 case NOTHING_SELECTED:
@@ -59,8 +62,7 @@ public class ProjectorItem extends Item {
     }
     
     public void appendHoverText(@Nonnull ItemStack stack, TooltipContext ctx, @Nonnull List<Component> tooltip, @Nonnull TooltipFlag flagIn) {
-        Settings settings = getSettings(stack);
-        if (settings.getMultiblock() != null) {
+        if (getProjectorSettings(stack).getMultiblock() != null) {
             tooltip.add(Component.translatable("desc.multiblockprojector.info.projector.build0"));
         } else {
             tooltip.add(Component.literal("Creates Projections of multiblock structures")
@@ -84,8 +86,10 @@ public class ProjectorItem extends Item {
             tooltip.add(Component.literal("Right-click with projector in hand to cancel").withStyle(ChatFormatting.GRAY));
             tooltip.add(Component.literal(""));
 
-            tooltip.add(Component.literal("Creative Mode:").withStyle(ChatFormatting.LIGHT_PURPLE));
+            tooltip.add(Component.literal("Auto-build:").withStyle(ChatFormatting.LIGHT_PURPLE));
             tooltip.add(Component.literal("Sneak + Left-click for autobuild in Projection Mode").withStyle(ChatFormatting.GRAY));
+            tooltip.add(Component.literal("Survival uses items from your inventory and nearby containers").withStyle(ChatFormatting.GRAY));
+            tooltip.add(Component.literal("Sneak + Left-click again to cancel").withStyle(ChatFormatting.GRAY));
         } else {
             tooltip.add(Component.literal("Hold Shift for instructions").withStyle(ChatFormatting.DARK_GRAY));
         }
@@ -153,9 +157,28 @@ public class ProjectorItem extends Item {
         return InteractionResult.PASS;
     }
     
+    /**
+     * @return A mutable copy of the projector's settings; store changes with {@link Settings#applyTo}
+     */
     public static Settings getSettings(@Nullable ItemStack stack) {
         return new Settings(stack);
     }
+
+    /**
+     * @return The projector's settings as stored, for reading only
+     */
+    public static ProjectorSettings getProjectorSettings(@Nullable ItemStack stack) {
+        return ProjectorSettings.of(stack);
+    }
+
+    @Override
+    public void inventoryTick(@Nonnull ItemStack stack, @Nonnull Level level, @Nonnull Entity entity, int slot, boolean selected) {
+        // Move settings of projectors from older versions into the settings component, once
+        if (!level.isClientSide && !stack.has(UPContent.SETTINGS)
+                && stack.getOrDefault(DataComponents.CUSTOM_DATA, CustomData.EMPTY).contains(Settings.KEY_SELF)) {
+            getSettings(stack).applyTo(stack);
+        }
+    }
     
     private void openGUI(InteractionHand hand, ItemStack held) {
         // Open the multiblock selection screen on client side
@@ -1,10 +1,7 @@
 package com.multiblockprojector.common.network;
 
-import com.multiblockprojector.api.ICyclingBlockMultiblock;
-import com.multiblockprojector.api.IUniversalMultiblock;
-import com.multiblockprojector.api.UniversalMultiblockHandler;
+import com.multiblockprojector.common.build.AutoBuildManager;
 import com.multiblockprojector.common.items.ProjectorItem;
-import com.multiblockprojector.common.projector.MultiblockProjection;
 import com.multiblockprojector.common.projector.Settings;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
@@ -15,18 +12,13 @@ import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.level.Level;
-import net.minecraft.world.level.block.state.BlockState;
-import net.minecraft.network.chat.Component;
 import net.neoforged.neoforge.network.PacketDistributor;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import static com.multiblockprojector.UniversalProjector.rl;
 
 /**
- * Network packet for triggering auto-build on server side
+ * Network packet for triggering auto-build on server side.
+ * Sent again while the build is still running, it cancels the build.
  */
 public class MessageAutoBuild implements CustomPacketPayload {
     
@@ -58,8 +50,9 @@ public class MessageAutoBuild implements CustomPacketPayload {
     }
     
     public static void handleServerSide(MessageAutoBuild packet, Player player) {
-        // Only allow in creative mode
-        if (!player.isCreative()) {
+        // Creative builds for free; survival builds pay from the player's inventory and nearby containers.
+        // Adventure and spectator players can't place blocks, so they can't auto-build either
+        if (!player.mayBuild()) {
             return;
         }
         
@@ -73,92 +66,9 @@ public class MessageAutoBuild implements CustomPacketPayload {
             return;
         }
         
-        // Perform auto-build on server side
-        performAutoBuild(player, settings, stack, packet.buildPos);
-    }
-    
-    private static void performAutoBuild(Player player, Settings settings, ItemStack held, BlockPos pos) {
-        // Create the projection to get block positions and states
-        IUniversalMultiblock multiblock = settings.getMultiblock();
-        var size = MultiblockProjection.getSizeFromSettings(multiblock, settings);
-        MultiblockProjection projection = new MultiblockProjection(player.level(), multiblock, size);
-        projection.setRotation(settings.getRotation());
-        projection.setFlip(settings.isMirrored());
-
-        // Check if this multiblock supports cycling blocks
-        ICyclingBlockMultiblock cyclingMultiblock = null;
-        if (multiblock instanceof ICyclingBlockMultiblock cycling) {
-            cyclingMultiblock = cycling;
-        }
-        final ICyclingBlockMultiblock finalCyclingMultiblock = cyclingMultiblock;
-
-        Level level = player.level();
-        List<BlockPos> failedPlacements = new ArrayList<>();
-        final int[] blocksPlaced = {0};
-
-        // Process all layers and place blocks
-        projection.processAll((layer, info) -> {
-            BlockPos worldPos = pos.offset(info.tPos);
-            BlockState targetState = info.getModifiedState(level, worldPos);
-
-            // For cycling positions (like Blood Magic runes), use the default block (blank rune)
-            BlockPos structurePos = info.tBlockInfo.pos();
-            if (finalCyclingMultiblock != null && finalCyclingMultiblock.hasCyclingBlocks(structurePos)) {
-                BlockState defaultBlock = finalCyclingMultiblock.getDefaultBlock(structurePos);
-                if (defaultBlock != null) {
-                    targetState = defaultBlock;
-                }
-            }
-            
-            // Check if we can place the block here
-            if (level.isInWorldBounds(worldPos) && level.getWorldBorder().isWithinBounds(worldPos)) {
-                try {
-                    // Force place the block (server-side)
-                    level.setBlock(worldPos, targetState, 3); // Flag 3 = update + notify clients
-                    
-                    // Apply NBT data if present (crucial for multiblock components)
-                    if (info.tBlockInfo.nbt() != null && !info.tBlockInfo.nbt().isEmpty()) {
-                        var blockEntity = level.getBlockEntity(worldPos);
-                        if (blockEntity != null) {
-                            blockEntity.loadWithComponents(info.tBlockInfo.nbt(), level.registryAccess());
-                            blockEntity.setChanged();
-                        }
-                    }
-                    
-                    // Trigger block updates to ensure proper multiblock formation
-                    level.updateNeighborsAt(worldPos, targetState.getBlock());
-                    
-                    blocksPlaced[0]++;
-                } catch (Exception e) {
-                    failedPlacements.add(worldPos);
-                }
-            } else {
-                failedPlacements.add(worldPos);
-            }
-            
-            return false; // Continue processing all blocks
-        });
-        
-        if (!failedPlacements.isEmpty()) {
-            // Some blocks couldn't be placed - show warning
-            player.displayClientMessage(
-                Component.literal("Auto-build failed! " + failedPlacements.size() + " blocks couldn't be placed.")
-                    .withStyle(net.minecraft.ChatFormatting.RED), 
-                true
-            );
-        } else {
-            // Success! Update settings and return to nothing selected mode
-            settings.setMode(Settings.Mode.NOTHING_SELECTED);
-            settings.setPos(null);
-            settings.setPlaced(false);
-            settings.applyTo(held);
-            
-            // Show success message
-            player.displayClientMessage(
-                Component.literal("Auto-build completed! Placed " + blocksPlaced[0] + " blocks.")
-                    .withStyle(net.minecraft.ChatFormatting.GREEN), 
-                true
-            );
+        // Placement is spread over the following server ticks
+        if (player instanceof ServerPlayer serverPlayer) {
+            AutoBuildManager.start(serverPlayer, packet.hand, settings, packet.buildPos);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,102 @@
+package com.multiblockprojector.common.network;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+
+import java.util.BitSet;
+
+import static com.multiblockprojector.UniversalProjector.rl;
+
+/**
+ * Network packet with the server's validation of a building projection: which blocks are placed
+ * correctly and which are wrong, as bitsets over the indices of its
+ * {@link com.multiblockprojector.common.validation.BuildLayout}. The server also tells the client
+ * when it considers the build complete.
+ */
+public class MessageBuildProgress implements CustomPacketPayload {
+
+    public static final CustomPacketPayload.Type<MessageBuildProgress> TYPE =
+        new CustomPacketPayload.Type<>(rl("build_progress"));
+
+    public static final StreamCodec<FriendlyByteBuf, MessageBuildProgress> STREAM_CODEC =
+        StreamCodec.of((buf, packet) -> packet.write(buf), MessageBuildProgress::new);
+
+    private final BlockPos center;
+    private final int required;
+    private final BitSet correct;
+    private final BitSet incorrect;
+    private final boolean complete;
+
+    public MessageBuildProgress(BlockPos center, int required, BitSet correct, BitSet incorrect) {
+        this(center, required, correct, incorrect, false);
+    }
+
+    private MessageBuildProgress(BlockPos center, int required, BitSet correct, BitSet incorrect, boolean complete) {
+        this.center = center;
+        this.required = required;
+        this.correct = correct;
+        this.incorrect = incorrect;
+        this.complete = complete;
+    }
+
+    private MessageBuildProgress(FriendlyByteBuf buf) {
+        this.center = buf.readBlockPos();
+        this.required = buf.readVarInt();
+        this.correct = BitSet.valueOf(buf.readLongArray());
+        this.incorrect = BitSet.valueOf(buf.readLongArray());
+        this.complete = buf.readBoolean();
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeBlockPos(this.center);
+        buf.writeVarInt(this.required);
+        buf.writeLongArray(this.correct.toLongArray());
+        buf.writeLongArray(this.incorrect.toLongArray());
+        buf.writeBoolean(this.complete);
+    }
+
+    /**
+     * @return A packet telling the client the server no longer validates the projection at {@code center}
+     */
+    public static MessageBuildProgress untracked(BlockPos center) {
+        return new MessageBuildProgress(center, -1, new BitSet(), new BitSet());
+    }
+
+    /**
+     * @return A packet telling the client the projection at {@code center} is complete; the server
+     * has taken its projector out of building mode and stopped validating it
+     */
+    public static MessageBuildProgress completed(BlockPos center) {
+        return new MessageBuildProgress(center, -1, new BitSet(), new BitSet(), true);
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    public BlockPos getCenter() {
+        return center;
+    }
+
+    /**
+     * @return Number of blocks in the projection, or -1 if the server stopped validating it
+     */
+    public int getRequired() {
+        return required;
+    }
+
+    public BitSet getCorrect() {
+        return correct;
+    }
+
+    public BitSet getIncorrect() {
+        return incorrect;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,54 @@
+package com.multiblockprojector.common.network;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.ByteBufCodecs;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.List;
+
+import static com.multiblockprojector.UniversalProjector.rl;
+
+/**
+ * Network packet sending the server's {@link MultiblockIds} table to clients
+ */
+public class MessageMultiblockIds implements CustomPacketPayload {
+
+    public static final CustomPacketPayload.Type<MessageMultiblockIds> TYPE =
+        new CustomPacketPayload.Type<>(rl("multiblock_ids"));
+
+    public static final StreamCodec<FriendlyByteBuf, MessageMultiblockIds> STREAM_CODEC =
+        StreamCodec.composite(
+            ResourceLocation.STREAM_CODEC.apply(ByteBufCodecs.list()), p -> p.names,
+            MessageMultiblockIds::new
+        );
+
+    private final List<ResourceLocation> names;
+
+    public MessageMultiblockIds(List<ResourceLocation> names) {
+        this.names = names;
+    }
+
+    @Override
+    public Type<? extends CustomPacketPayload> type() {
+        return TYPE;
+    }
+
+    /**
+     * Send the table to a player who just joined. If new multiblocks got ids, everyone gets the larger table.
+     */
+    public static void sendOnLogin(ServerPlayer player) {
+        if (MultiblockIds.assign()) {
+            PacketDistributor.sendToAllPlayers(new MessageMultiblockIds(MultiblockIds.getNames()));
+        } else {
+            PacketDistributor.sendToPlayer(player, new MessageMultiblockIds(MultiblockIds.getNames()));
+        }
+    }
+
+    public static void handleClientSide(MessageMultiblockIds packet) {
+        MultiblockIds.replace(packet.names);
+    }
+}
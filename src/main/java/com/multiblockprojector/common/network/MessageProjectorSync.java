@@ -1,21 +1,29 @@
 package com.multiblockprojector.common.network;
 
+import com.multiblockprojector.UniversalProjector;
 import com.multiblockprojector.common.items.ProjectorItem;
 import com.multiblockprojector.common.projector.Settings;
+import com.multiblockprojector.common.validation.BuildValidationService;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.codec.StreamCodec;
 import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
-import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.InteractionHand;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.ItemStack;
 import net.neoforged.neoforge.network.PacketDistributor;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
 import static com.multiblockprojector.UniversalProjector.rl;
 
 /**
- * Network packet for synchronizing projector settings between client and server
+ * Network packet for synchronizing projector settings between client and server.
+ * Only the changed fields are sent, and each packet carries a sequence number so the receiver
+ * can drop updates older than one it already applied. The client coalesces its changes and sends
+ * at most one packet per hand and tick, see {@code client.SettingsSyncQueue}.
  */
 public class MessageProjectorSync implements CustomPacketPayload {
     
@@ -23,48 +31,106 @@ public class MessageProjectorSync implements CustomPacketPayload {
         new CustomPacketPayload.Type<>(rl("projector_sync"));
     
     public static final StreamCodec<FriendlyByteBuf, MessageProjectorSync> STREAM_CODEC = 
-        StreamCodec.composite(
-            net.minecraft.network.codec.ByteBufCodecs.COMPOUND_TAG, p -> p.settingsNbt,
-            net.minecraft.network.codec.ByteBufCodecs.idMapper(i -> InteractionHand.values()[i], Enum::ordinal), p -> p.hand,
-            MessageProjectorSync::new
-        );
+        StreamCodec.of((buf, packet) -> packet.write(buf), MessageProjectorSync::new);
+
+    // Last sequence number applied per player (server side); senders count up from 1
+    private static final Map<UUID, Integer> LAST_RECEIVED = new HashMap<>();
+    private static int nextSequence = 0;
     
-    private final net.minecraft.nbt.CompoundTag settingsNbt;
     private final InteractionHand hand;
+    private final int sequence;
+    private final int fields;
+    private final Settings values;
     
-    public MessageProjectorSync(net.minecraft.nbt.CompoundTag settingsNbt, InteractionHand hand) {
-        this.settingsNbt = settingsNbt;
+    /**
+     * @param fields {@code Settings.FIELD_} flags of the fields to send
+     */
+    public MessageProjectorSync(InteractionHand hand, int sequence, int fields, Settings values) {
         this.hand = hand;
+        this.sequence = sequence;
+        this.fields = fields;
+        this.values = values;
+    }
+
+    private MessageProjectorSync(FriendlyByteBuf buf) {
+        this.hand = buf.readBoolean() ? InteractionHand.OFF_HAND : InteractionHand.MAIN_HAND;
+        this.sequence = buf.readVarInt();
+        this.fields = buf.readUnsignedByte();
+        this.values = Settings.readFields(buf, this.fields);
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        buf.writeBoolean(this.hand == InteractionHand.OFF_HAND);
+        buf.writeVarInt(this.sequence);
+        buf.writeByte(this.fields);
+        this.values.writeFields(buf, this.fields);
     }
     
     @Override
     public Type<? extends CustomPacketPayload> type() {
         return TYPE;
     }
+
+    public InteractionHand getHand() {
+        return hand;
+    }
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public int getFields() {
+        return fields;
+    }
+
+    public Settings getValues() {
+        return values;
+    }
     
+    /**
+     * Queue the settings to be sent at the end of the client tick. Client side.
+     */
     public static void sendToServer(Settings settings, InteractionHand hand) {
-        PacketDistributor.sendToServer(new MessageProjectorSync(settings.toNbt(), hand));
+        UniversalProjector.proxy.queueSettingsSync(settings, hand);
     }
     
     public static void sendToClient(Player player, Settings settings, InteractionHand hand) {
+        sendToClient(player, settings, hand, Settings.ALL_FIELDS);
+    }
+
+    /**
+     * Send only some fields of the settings, e.g. the ones the server changed itself
+     */
+    public static void sendToClient(Player player, Settings settings, InteractionHand hand, int fields) {
         if (player instanceof ServerPlayer serverPlayer) {
-            PacketDistributor.sendToPlayer(serverPlayer, new MessageProjectorSync(settings.toNbt(), hand));
+            PacketDistributor.sendToPlayer(serverPlayer, new MessageProjectorSync(hand, ++nextSequence, fields, settings.copy()));
         }
     }
     
     public static void handleServerSide(MessageProjectorSync packet, Player player) {
+        Integer last = LAST_RECEIVED.get(player.getUUID());
+        // Compared by difference so the counter may wrap around
+        if (last != null && packet.sequence - last <= 0) {
+            return;
+        }
+        LAST_RECEIVED.put(player.getUUID(), packet.sequence);
+
         ItemStack stack = player.getItemInHand(packet.hand);
         if (stack.getItem() instanceof ProjectorItem) {
-            Settings settings = new Settings(packet.settingsNbt);
+            Settings settings = ProjectorItem.getSettings(stack);
+            Settings before = settings.copy();
+            settings.copyFields(packet.values, packet.fields);
             settings.applyTo(stack);
+            if (player instanceof ServerPlayer serverPlayer) {
+                BuildValidationService.onSettingsChanged(serverPlayer, before, settings);
+            }
         }
     }
     
-    public static void handleClientSide(MessageProjectorSync packet, Player player) {
-        ItemStack stack = player.getItemInHand(packet.hand);
-        if (stack.getItem() instanceof ProjectorItem) {
-            Settings settings = new Settings(packet.settingsNbt);
-            settings.applyTo(stack);
-        }
+    /**
+     * Forget a player's sequence numbers (they left; their client starts over when they return)
+     */
+    public static void forget(UUID playerId) {
+        LAST_RECEIVED.remove(playerId);
     }
-}
\ No newline at end of file
+}
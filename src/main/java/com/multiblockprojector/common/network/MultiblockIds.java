@@ -0,0 +1,116 @@
+package com.multiblockprojector.common.network;
+
+import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.api.UniversalMultiblockHandler;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Numeric network ids for multiblocks, so packets don't carry their names. The server assigns
+ * ids and sends the table to clients at login with {@link MessageMultiblockIds}. Ids are only
+ * ever appended, so a table a client already has stays valid when multiblocks are discovered later.
+ * Multiblocks without an id on this side (e.g. before the table arrived) are written by name.
+ * <p>
+ * The client and an integrated server share the table; it is the same one either way.
+ */
+public class MultiblockIds {
+    private static final int NONE = 0;
+    private static final int BY_NAME = 1;
+    // Written ids are offset past the markers above
+    private static final int FIRST_ID = 2;
+
+    private static final List<ResourceLocation> NAMES = new ArrayList<>();
+    private static final Object2IntMap<ResourceLocation> IDS = new Object2IntOpenHashMap<>();
+    static {
+        IDS.defaultReturnValue(-1);
+    }
+
+    /**
+     * Give every registered multiblock without an id one. Server side.
+     * @return true if ids were added
+     */
+    public static synchronized boolean assign() {
+        List<ResourceLocation> added = new ArrayList<>();
+        for (IUniversalMultiblock multiblock : UniversalMultiblockHandler.getMultiblocks()) {
+            if (!IDS.containsKey(multiblock.getUniqueName())) {
+                added.add(multiblock.getUniqueName());
+            }
+        }
+        // Registration order depends on which adapter finished first; names don't
+        added.sort(Comparator.naturalOrder());
+        for (ResourceLocation name : added) {
+            IDS.put(name, NAMES.size());
+            NAMES.add(name);
+        }
+        return !added.isEmpty();
+    }
+
+    /**
+     * @return The whole table, indexed by id
+     */
+    public static synchronized List<ResourceLocation> getNames() {
+        return List.copyOf(NAMES);
+    }
+
+    /**
+     * Take over the table sent by the server. Client side.
+     */
+    public static synchronized void replace(List<ResourceLocation> names) {
+        NAMES.clear();
+        IDS.clear();
+        for (ResourceLocation name : names) {
+            IDS.put(name, NAMES.size());
+            NAMES.add(name);
+        }
+    }
+
+    public static synchronized void clear() {
+        NAMES.clear();
+        IDS.clear();
+    }
+
+    /**
+     * Write a multiblock name, which need not be registered on this side
+     */
+    public static void writeName(FriendlyByteBuf buf, @Nullable ResourceLocation name) {
+        if (name == null) {
+            buf.writeVarInt(NONE);
+            return;
+        }
+        int id;
+        synchronized (MultiblockIds.class) {
+            id = IDS.getInt(name);
+        }
+        if (id >= 0) {
+            buf.writeVarInt(FIRST_ID + id);
+        } else {
+            buf.writeVarInt(BY_NAME);
+            buf.writeResourceLocation(name);
+        }
+    }
+
+    /**
+     * @return The name, or null if none was written or the id is not in the table
+     */
+    @Nullable
+    public static ResourceLocation readName(FriendlyByteBuf buf) {
+        int value = buf.readVarInt();
+        if (value == NONE) {
+            return null;
+        }
+        if (value == BY_NAME) {
+            return buf.readResourceLocation();
+        }
+        synchronized (MultiblockIds.class) {
+            int id = value - FIRST_ID;
+            return id < NAMES.size() ? NAMES.get(id) : null;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import net.neoforged.bus.api.SubscribeEvent;
 import net.neoforged.fml.common.EventBusSubscriber;
 import net.neoforged.neoforge.network.event.RegisterPayloadHandlersEvent;
 import net.neoforged.neoforge.network.handling.DirectionalPayloadHandler;
+import net.neoforged.neoforge.network.handling.HandlerThread;
 import net.neoforged.neoforge.network.handling.IPayloadContext;
 
 /**
@@ -32,12 +33,25 @@ public class NetworkHandler {
             MessageAutoBuild.STREAM_CODEC,
             NetworkHandler::handleAutoBuildServerSide
         );
+
+        registrar.playToClient(
+            MessageBuildProgress.TYPE,
+            MessageBuildProgress.STREAM_CODEC,
+            NetworkHandler::handleBuildProgressClientSide
+        );
+
+        // Applied on the network thread, before the packets after it are decoded with the table
+        event.registrar(UniversalProjector.MODID).executesOn(HandlerThread.NETWORK).playToClient(
+            MessageMultiblockIds.TYPE,
+            MessageMultiblockIds.STREAM_CODEC,
+            (packet, context) -> MessageMultiblockIds.handleClientSide(packet)
+        );
     }
     
     private static void handleClientSide(MessageProjectorSync packet, IPayloadContext context) {
         context.enqueueWork(() -> {
             if (context.player() != null) {
-                MessageProjectorSync.handleClientSide(packet, context.player());
+                com.multiblockprojector.client.ClientPacketHandler.handleProjectorSync(packet, context.player());
             }
         });
     }
@@ -50,6 +64,10 @@ public class NetworkHandler {
         });
     }
     
+    private static void handleBuildProgressClientSide(MessageBuildProgress packet, IPayloadContext context) {
+        context.enqueueWork(() -> com.multiblockprojector.client.ClientPacketHandler.handleBuildProgress(packet, context.player()));
+    }
+    
     private static void handleAutoBuildServerSide(MessageAutoBuild packet, IPayloadContext context) {
         context.enqueueWork(() -> {
             if (context.player() != null) {
@@ -1,9 +1,10 @@
 package com.multiblockprojector.common.projector;
 
+import com.multiblockprojector.api.BillOfMaterials;
 import com.multiblockprojector.api.IUniversalMultiblock;
 import com.multiblockprojector.api.IVariableSizeMultiblock;
-import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import com.multiblockprojector.api.MultiblockStructureCache;
+import com.multiblockprojector.api.PalettedStructure;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Vec3i;
 import net.minecraft.world.level.Level;
@@ -14,7 +15,6 @@ import net.minecraft.world.level.levelgen.structure.templatesystem.StructurePlac
 import net.minecraft.world.level.levelgen.structure.templatesystem.StructureTemplate;
 
 import javax.annotation.Nonnull;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.BiPredicate;
@@ -31,9 +31,10 @@ public class MultiblockProjection {
     final Level realWorld;
     final Level templateWorld;
     final StructurePlaceSettings settings = new StructurePlaceSettings();
-    final Int2ObjectMap<List<StructureTemplate.StructureBlockInfo>> layers = new Int2ObjectArrayMap<>();
+    final PalettedStructure structure;
     final BlockPos.MutableBlockPos offset = new BlockPos.MutableBlockPos();
     final int blockcount;
+    final int layerCount;
     final Vec3i customSize; // For variable-size multiblocks
     boolean isDirty = true;
 
@@ -56,30 +57,21 @@ public class MultiblockProjection {
         this.customSize = customSize;
 
         // Get structure at specific size for variable-size multiblocks
-        List<StructureTemplate.StructureBlockInfo> blocks;
-        if (customSize != null && multiblock instanceof IVariableSizeMultiblock varMultiblock) {
-            blocks = varMultiblock.getStructureAtSize(world, customSize);
-        } else {
-            blocks = multiblock.getStructure(world);
-        }
+        this.structure = MultiblockStructureCache.getStructure(multiblock, world, customSize);
 
         // Create template world using IE's TemplateWorldCreator if available
-        this.templateWorld = createTemplateWorld(blocks);
+        this.templateWorld = createTemplateWorld(this.structure);
 
-        this.blockcount = blocks.size();
-        for (StructureTemplate.StructureBlockInfo info : blocks) {
-            int layer = info.pos().getY();
-            List<StructureTemplate.StructureBlockInfo> list = this.layers.get(layer);
-            if (list == null) {
-                list = new ArrayList<>();
-                this.layers.put(layer, list);
-            }
-            list.add(info);
+        this.blockcount = this.structure.size();
+        int layers = 0;
+        for (int y = 0; this.structure.getLayerSize(y) > 0; y++) {
+            layers++;
         }
+        this.layerCount = layers;
     }
     
     @SuppressWarnings("unchecked")
-    private Level createTemplateWorld(List<StructureTemplate.StructureBlockInfo> blocks) {
+    private Level createTemplateWorld(PalettedStructure blocks) {
         try {
             // Try to use IE's TemplateWorldCreator if available
             Class<?> creatorClass = Class.forName("blusunrize.immersiveengineering.api.utils.TemplateWorldCreator");
@@ -88,7 +80,7 @@ public class MultiblockProjection {
             
             return (Level) creatorInstance.getClass()
                 .getMethod("makeWorld", List.class, Predicate.class, net.minecraft.core.RegistryAccess.class)
-                .invoke(creatorInstance, blocks, (Predicate<BlockPos>) pos -> true, realWorld.registryAccess());
+                .invoke(creatorInstance, blocks.toList(), (Predicate<BlockPos>) pos -> true, realWorld.registryAccess());
         } catch (Exception e) {
             // Fallback: use real world for now - works for test multiblocks
             return realWorld;
@@ -129,14 +121,14 @@ public class MultiblockProjection {
     
     /** Amount of layers in this projection */
     public int getLayerCount() {
-        return this.layers.size();
+        return this.layerCount;
     }
     
     public int getLayerSize(int layer) {
-        if (layer < 0 || layer >= this.layers.size()) {
+        if (layer < 0 || layer >= this.layerCount) {
             return 0;
         }
-        return this.layers.get(layer).size();
+        return this.structure.getLayerSize(layer);
     }
     
     public Level getTemplateWorld() {
@@ -147,12 +139,21 @@ public class MultiblockProjection {
         return this.multiblock;
     }
 
+    /** Items needed to build the whole projection, shared with every projection of the same structure */
+    public BillOfMaterials getBillOfMaterials() {
+        return MultiblockStructureCache.getBillOfMaterials(this.multiblock, this.realWorld, this.customSize);
+    }
+
     /**
      * Helper to get the size Vec3i for a multiblock based on settings.
+     * A custom size wins over the preset and is snapped to the nearest size the multiblock allows.
      * Returns null for non-variable-size multiblocks.
      */
     public static Vec3i getSizeFromSettings(IUniversalMultiblock multiblock, Settings settings) {
         if (multiblock instanceof IVariableSizeMultiblock varMultiblock) {
+            if (settings.getCustomSize() != null) {
+                return varMultiblock.getNearestValidSize(settings.getCustomSize());
+            }
             var presets = varMultiblock.getSizePresets();
             int index = settings.getSizePresetIndex();
             if (!presets.isEmpty() && index >= 0 && index < presets.size()) {
@@ -181,17 +182,7 @@ public class MultiblockProjection {
     public boolean process(int layer, Predicate<Info> predicate) {
         updateData();
         
-        List<StructureTemplate.StructureBlockInfo> blocks = this.layers.get(layer);
-        if (blocks == null || blocks.isEmpty()) {
-            return false;
-        }
-        
-        for (StructureTemplate.StructureBlockInfo info : blocks) {
-            if (predicate.test(new Info(this, info))) {
-                return true;
-            }
-        }
-        return false;
+        return this.structure.forEachInLayer(layer, (index, pos, state) -> predicate.test(new Info(this, blockInfo(pos, state))));
     }
     
     /**
@@ -201,15 +192,18 @@ public class MultiblockProjection {
         updateData();
         
         for (int layer = 0; layer < getLayerCount(); layer++) {
-            List<StructureTemplate.StructureBlockInfo> blocks = this.layers.get(layer);
-            for (StructureTemplate.StructureBlockInfo info : blocks) {
-                if (predicate.test(layer, new Info(this, info))) {
-                    return true;
-                }
+            int currentLayer = layer;
+            if (this.structure.forEachInLayer(layer, (index, pos, state) -> predicate.test(currentLayer, new Info(this, blockInfo(pos, state))))) {
+                return true;
             }
         }
         return false;
     }
+
+    private StructureTemplate.StructureBlockInfo blockInfo(BlockPos pos, BlockState state) {
+        BlockPos immutable = pos.immutable();
+        return new StructureTemplate.StructureBlockInfo(immutable, state, this.structure.getBlockEntityData(immutable));
+    }
     
     private void updateData() {
         if (!this.isDirty) return;
@@ -218,7 +212,7 @@ public class MultiblockProjection {
         boolean mirrored = this.settings.getMirror() == Mirror.FRONT_BACK;
         Rotation rotation = this.settings.getRotation();
         // Use custom size if set, otherwise get from multiblock
-        Vec3i size = this.customSize != null ? this.customSize : this.multiblock.getSize(this.realWorld);
+        Vec3i size = this.customSize != null ? this.customSize : MultiblockStructureCache.getSize(this.multiblock, this.realWorld);
         
         // Align corners first
         if (!mirrored) {
@@ -0,0 +1,130 @@
+package com.multiblockprojector.common.projector;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.api.UniversalMultiblockHandler;
+import com.multiblockprojector.common.UPContent;
+import com.multiblockprojector.common.network.MultiblockIds;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.codec.StreamCodec;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.Rotation;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * Projector settings as stored on the item, in the {@code UPContent.SETTINGS} data component.
+ * Immutable, so reading them is plain field access; change them through {@link Settings} and
+ * {@link Settings#applyTo}. The multiblock is kept by name, so a projector keeps its selection
+ * while the multiblock's mod is missing.
+ */
+public record ProjectorSettings(Settings.Mode mode, Rotation rotation, boolean mirror, boolean placed,
+                                Optional<ResourceLocation> multiblock, int sizePreset,
+                                Optional<Vec3i> size, Optional<BlockPos> pos) {
+    public static final ProjectorSettings DEFAULT = new ProjectorSettings(Settings.Mode.NOTHING_SELECTED, Rotation.NONE,
+        false, false, Optional.empty(), 0, Optional.empty(), Optional.empty());
+
+    private static final Codec<Settings.Mode> MODE_CODEC = Codec.INT.xmap(
+        i -> Settings.Mode.values()[Mth.clamp(i, 0, Settings.Mode.values().length - 1)], Enum::ordinal);
+
+    public static final Codec<ProjectorSettings> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+        MODE_CODEC.optionalFieldOf(Settings.KEY_MODE, Settings.Mode.NOTHING_SELECTED).forGetter(ProjectorSettings::mode),
+        Rotation.CODEC.optionalFieldOf(Settings.KEY_ROTATION, Rotation.NONE).forGetter(ProjectorSettings::rotation),
+        Codec.BOOL.optionalFieldOf(Settings.KEY_MIRROR, false).forGetter(ProjectorSettings::mirror),
+        Codec.BOOL.optionalFieldOf(Settings.KEY_PLACED, false).forGetter(ProjectorSettings::placed),
+        ResourceLocation.CODEC.optionalFieldOf(Settings.KEY_MULTIBLOCK).forGetter(ProjectorSettings::multiblock),
+        Codec.INT.optionalFieldOf(Settings.KEY_SIZE_PRESET, 0).forGetter(ProjectorSettings::sizePreset),
+        Vec3i.CODEC.optionalFieldOf(Settings.KEY_SIZE).forGetter(ProjectorSettings::size),
+        BlockPos.CODEC.optionalFieldOf(Settings.KEY_POSITION).forGetter(ProjectorSettings::pos)
+    ).apply(instance, ProjectorSettings::new));
+
+    /**
+     * Same layout as {@link Settings#writeFields}: a mask of the fields that differ from the
+     * defaults, then only those fields. The multiblock is written by name rather than by
+     * {@link MultiblockIds} id: item stacks are sent while a player joins, before the id table is.
+     */
+    public static final StreamCodec<FriendlyByteBuf, ProjectorSettings> STREAM_CODEC =
+        StreamCodec.of((buf, settings) -> settings.write(buf), ProjectorSettings::read);
+
+    /**
+     * @return The settings of a projector, without copying them. Stacks from before the settings
+     * component are read from their old custom data tag, until {@link Settings#applyTo} moves them over.
+     */
+    public static ProjectorSettings of(@Nullable ItemStack stack) {
+        if (stack == null) {
+            return DEFAULT;
+        }
+        ProjectorSettings settings = stack.get(UPContent.SETTINGS);
+        if (settings != null) {
+            return settings;
+        }
+        CompoundTag legacy = Settings.getLegacyData(stack);
+        return legacy != null ? new Settings(legacy).toComponent() : DEFAULT;
+    }
+
+    @Nullable
+    public IUniversalMultiblock getMultiblock() {
+        return multiblock.isPresent() ? UniversalMultiblockHandler.getByUniqueName(multiblock.get()) : null;
+    }
+
+    @Nullable
+    public BlockPos getPos() {
+        return pos.orElse(null);
+    }
+
+    @Nullable
+    public Vec3i getSize() {
+        return size.orElse(null);
+    }
+
+    private void write(FriendlyByteBuf buf) {
+        int fields = (mode != DEFAULT.mode ? Settings.FIELD_MODE : 0)
+            | (rotation != DEFAULT.rotation ? Settings.FIELD_ROTATION : 0)
+            | (mirror ? Settings.FIELD_MIRROR : 0)
+            | (placed ? Settings.FIELD_PLACED : 0)
+            | (multiblock.isPresent() ? Settings.FIELD_MULTIBLOCK : 0)
+            | (sizePreset != 0 ? Settings.FIELD_SIZE_PRESET : 0)
+            | (size.isPresent() ? Settings.FIELD_SIZE : 0)
+            | (pos.isPresent() ? Settings.FIELD_POSITION : 0);
+        buf.writeByte(fields);
+        if ((fields & Settings.FIELD_MODE) != 0) buf.writeVarInt(mode.ordinal());
+        if ((fields & Settings.FIELD_ROTATION) != 0) buf.writeVarInt(rotation.ordinal());
+        if ((fields & Settings.FIELD_MIRROR) != 0) buf.writeBoolean(mirror);
+        if ((fields & Settings.FIELD_PLACED) != 0) buf.writeBoolean(placed);
+        if ((fields & Settings.FIELD_MULTIBLOCK) != 0) buf.writeResourceLocation(multiblock.get());
+        if ((fields & Settings.FIELD_SIZE_PRESET) != 0) buf.writeVarInt(sizePreset);
+        if ((fields & Settings.FIELD_SIZE) != 0) {
+            buf.writeBoolean(true);
+            Settings.writeSize(buf, size.get());
+        }
+        if ((fields & Settings.FIELD_POSITION) != 0) {
+            buf.writeBoolean(true);
+            Settings.writePos(buf, pos.get());
+        }
+    }
+
+    private static ProjectorSettings read(FriendlyByteBuf buf) {
+        int fields = buf.readUnsignedByte();
+        Settings.Mode mode = (fields & Settings.FIELD_MODE) != 0
+            ? Settings.Mode.values()[Mth.clamp(buf.readVarInt(), 0, Settings.Mode.values().length - 1)] : DEFAULT.mode;
+        Rotation rotation = (fields & Settings.FIELD_ROTATION) != 0
+            ? Rotation.values()[Mth.clamp(buf.readVarInt(), 0, Rotation.values().length - 1)] : DEFAULT.rotation;
+        boolean mirror = (fields & Settings.FIELD_MIRROR) != 0 && buf.readBoolean();
+        boolean placed = (fields & Settings.FIELD_PLACED) != 0 && buf.readBoolean();
+        Optional<ResourceLocation> multiblock = (fields & Settings.FIELD_MULTIBLOCK) != 0
+            ? Optional.of(buf.readResourceLocation()) : Optional.empty();
+        int sizePreset = (fields & Settings.FIELD_SIZE_PRESET) != 0 ? Math.max(0, buf.readVarInt()) : 0;
+        Optional<Vec3i> size = (fields & Settings.FIELD_SIZE) != 0 && buf.readBoolean()
+            ? Optional.of(Settings.readSize(buf)) : Optional.empty();
+        Optional<BlockPos> pos = (fields & Settings.FIELD_POSITION) != 0 && buf.readBoolean()
+            ? Optional.of(Settings.readPos(buf)) : Optional.empty();
+        return new ProjectorSettings(mode, rotation, mirror, placed, multiblock, sizePreset, size, pos);
+    }
+}
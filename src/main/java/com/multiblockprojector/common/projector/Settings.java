@@ -2,11 +2,15 @@ package com.multiblockprojector.common.projector;
 
 import com.multiblockprojector.api.IUniversalMultiblock;
 import com.multiblockprojector.api.UniversalMultiblockHandler;
+import com.multiblockprojector.common.UPContent;
 import com.multiblockprojector.common.network.MessageProjectorSync;
+import com.multiblockprojector.common.network.MultiblockIds;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
 import net.minecraft.core.component.DataComponents;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
+import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.util.Mth;
@@ -17,7 +21,8 @@ import net.minecraft.world.item.component.CustomData;
 import net.minecraft.world.level.block.Rotation;
 
 import javax.annotation.Nullable;
-import java.util.function.Supplier;
+import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Settings storage for projector tool
@@ -33,31 +38,60 @@ public class Settings {
     public static final String KEY_POSITION = "pos";
     public static final String KEY_AUTO_BUILD = "autoBuild";
     public static final String KEY_SIZE_PRESET = "sizePreset";
+    public static final String KEY_SIZE = "size";
+
+    // Fields for delta sync, see diff() and copyFields()
+    public static final int FIELD_MODE = 1;
+    public static final int FIELD_ROTATION = 1 << 1;
+    public static final int FIELD_MIRROR = 1 << 2;
+    public static final int FIELD_PLACED = 1 << 3;
+    public static final int FIELD_MULTIBLOCK = 1 << 4;
+    public static final int FIELD_SIZE_PRESET = 1 << 5;
+    public static final int FIELD_SIZE = 1 << 6;
+    public static final int FIELD_POSITION = 1 << 7;
+    public static final int ALL_FIELDS = (1 << 8) - 1;
 
     private Mode mode;
     private Rotation rotation;
     private BlockPos pos = null;
+    // Kept by name, so settings whose multiblock isn't registered here keep it when written back
+    private ResourceLocation multiblockName = null;
+    // Resolved from the name on first use
     private IUniversalMultiblock multiblock = null;
     private boolean mirror;
     private boolean isPlaced;
     private int sizePresetIndex = 0;
+    private Vec3i customSize = null;
     
     public Settings() {
-        this(new CompoundTag());
+        this(ProjectorSettings.DEFAULT);
     }
     
     public Settings(@Nullable final ItemStack stack) {
-        this(((Supplier<CompoundTag>) () -> {
-            if (stack == null) {
-                return new CompoundTag();
-            }
-            CustomData customData = stack.getOrDefault(DataComponents.CUSTOM_DATA, CustomData.EMPTY);
-            CompoundTag rootTag = customData.copyTag();
-            if (rootTag.contains(KEY_SELF, Tag.TAG_COMPOUND)) {
-                return rootTag.getCompound(KEY_SELF);
-            }
-            return new CompoundTag();
-        }).get());
+        this(ProjectorSettings.of(stack));
+    }
+
+    public Settings(ProjectorSettings component) {
+        this.mode = component.mode();
+        this.rotation = component.rotation();
+        this.mirror = component.mirror();
+        this.isPlaced = component.placed();
+        this.multiblockName = component.multiblock().orElse(null);
+        this.sizePresetIndex = component.sizePreset();
+        this.customSize = component.getSize();
+        this.pos = component.getPos();
+    }
+
+    /**
+     * @return Settings in the custom data tag they were kept in before the settings component, if any
+     */
+    @Nullable
+    static CompoundTag getLegacyData(ItemStack stack) {
+        CustomData customData = stack.get(DataComponents.CUSTOM_DATA);
+        if (customData == null || !customData.contains(KEY_SELF)) {
+            return null;
+        }
+        return customData.copyTag().getCompound(KEY_SELF);
     }
     
     public Settings(CompoundTag settingsNbt) {
@@ -74,9 +108,16 @@ public class Settings {
             this.isPlaced = settingsNbt.getBoolean(KEY_PLACED);
             this.sizePresetIndex = settingsNbt.getInt(KEY_SIZE_PRESET);
 
+            if (settingsNbt.contains(KEY_SIZE, Tag.TAG_INT_ARRAY)) {
+                int[] size = settingsNbt.getIntArray(KEY_SIZE);
+                if (size.length == 3) {
+                    this.customSize = new Vec3i(size[0], size[1], size[2]);
+                }
+            }
+
             if (settingsNbt.contains(KEY_MULTIBLOCK, Tag.TAG_STRING)) {
                 String str = settingsNbt.getString(KEY_MULTIBLOCK);
-                this.multiblock = UniversalMultiblockHandler.getByUniqueName(ResourceLocation.parse(str));
+                this.multiblockName = ResourceLocation.tryParse(str);
             }
 
             if (settingsNbt.contains(KEY_POSITION, Tag.TAG_COMPOUND)) {
@@ -124,8 +165,26 @@ public class Settings {
     public Mode getMode() { return this.mode; }
     public void setMode(Mode mode) { this.mode = mode; }
     
-    public IUniversalMultiblock getMultiblock() { return this.multiblock; }
-    public void setMultiblock(@Nullable IUniversalMultiblock multiblock) { this.multiblock = multiblock; }
+    /**
+     * @return The selected multiblock, or null if none is selected or it isn't registered (e.g. its mod is missing)
+     */
+    @Nullable
+    public IUniversalMultiblock getMultiblock() {
+        // A name that doesn't resolve is looked up again next time, in case it was registered since
+        if (this.multiblock == null && this.multiblockName != null) {
+            this.multiblock = UniversalMultiblockHandler.getByUniqueName(this.multiblockName);
+        }
+        return this.multiblock;
+    }
+
+    public void setMultiblock(@Nullable IUniversalMultiblock multiblock) {
+        this.multiblock = multiblock;
+        this.multiblockName = multiblock != null ? multiblock.getUniqueName() : null;
+    }
+
+    /** Name of the selected multiblock, whether or not it is registered */
+    @Nullable
+    public ResourceLocation getMultiblockName() { return this.multiblockName; }
     
     public boolean isMirrored() { return this.mirror; }
     public void setMirror(boolean mirror) { this.mirror = mirror; }
@@ -140,6 +199,11 @@ public class Settings {
     public int getSizePresetIndex() { return this.sizePresetIndex; }
     public void setSizePresetIndex(int index) { this.sizePresetIndex = Math.max(0, index); }
 
+    /** Size chosen freely instead of from a preset, or null to use the preset. Not validated here. */
+    @Nullable
+    public Vec3i getCustomSize() { return this.customSize; }
+    public void setCustomSize(@Nullable Vec3i size) { this.customSize = size; }
+
     public CompoundTag toNbt() {
         CompoundTag nbt = new CompoundTag();
         nbt.putInt(KEY_MODE, this.mode.ordinal());
@@ -147,9 +211,12 @@ public class Settings {
         nbt.putBoolean(KEY_MIRROR, this.mirror);
         nbt.putBoolean(KEY_PLACED, this.isPlaced);
         nbt.putInt(KEY_SIZE_PRESET, this.sizePresetIndex);
+        if (this.customSize != null) {
+            nbt.putIntArray(KEY_SIZE, new int[]{this.customSize.getX(), this.customSize.getY(), this.customSize.getZ()});
+        }
 
-        if (this.multiblock != null) {
-            nbt.putString(KEY_MULTIBLOCK, this.multiblock.getUniqueName().toString());
+        if (this.multiblockName != null) {
+            nbt.putString(KEY_MULTIBLOCK, this.multiblockName.toString());
         }
 
         if (this.pos != null) {
@@ -163,11 +230,145 @@ public class Settings {
         return nbt;
     }
     
+    /**
+     * @return A separate copy, e.g. for a packet that may be handled after this one changes
+     */
+    public Settings copy() {
+        Settings copy = new Settings();
+        copy.mode = this.mode;
+        copy.rotation = this.rotation;
+        copy.pos = this.pos;
+        copy.multiblockName = this.multiblockName;
+        copy.multiblock = this.multiblock;
+        copy.mirror = this.mirror;
+        copy.isPlaced = this.isPlaced;
+        copy.sizePresetIndex = this.sizePresetIndex;
+        copy.customSize = this.customSize;
+        return copy;
+    }
+
+    /**
+     * @return The {@code FIELD_} flags of the fields that differ between the two
+     */
+    public int diff(Settings other) {
+        int fields = 0;
+        if (this.mode != other.mode) fields |= FIELD_MODE;
+        if (this.rotation != other.rotation) fields |= FIELD_ROTATION;
+        if (this.mirror != other.mirror) fields |= FIELD_MIRROR;
+        if (this.isPlaced != other.isPlaced) fields |= FIELD_PLACED;
+        if (!Objects.equals(this.multiblockName, other.multiblockName)) fields |= FIELD_MULTIBLOCK;
+        if (this.sizePresetIndex != other.sizePresetIndex) fields |= FIELD_SIZE_PRESET;
+        if (!Objects.equals(this.customSize, other.customSize)) fields |= FIELD_SIZE;
+        if (!Objects.equals(this.pos, other.pos)) fields |= FIELD_POSITION;
+        return fields;
+    }
+
+    /**
+     * Take over the given {@code FIELD_} fields from another settings object
+     */
+    public void copyFields(Settings from, int fields) {
+        if ((fields & FIELD_MODE) != 0) this.mode = from.mode;
+        if ((fields & FIELD_ROTATION) != 0) this.rotation = from.rotation;
+        if ((fields & FIELD_MIRROR) != 0) this.mirror = from.mirror;
+        if ((fields & FIELD_PLACED) != 0) this.isPlaced = from.isPlaced;
+        if ((fields & FIELD_MULTIBLOCK) != 0) {
+            this.multiblockName = from.multiblockName;
+            this.multiblock = from.multiblock;
+        }
+        if ((fields & FIELD_SIZE_PRESET) != 0) this.sizePresetIndex = from.sizePresetIndex;
+        if ((fields & FIELD_SIZE) != 0) this.customSize = from.customSize;
+        if ((fields & FIELD_POSITION) != 0) this.pos = from.pos;
+    }
+
+    /**
+     * Write only the given {@code FIELD_} fields. The mask itself is up to the caller.
+     */
+    public void writeFields(FriendlyByteBuf buf, int fields) {
+        if ((fields & FIELD_MODE) != 0) buf.writeVarInt(this.mode.ordinal());
+        if ((fields & FIELD_ROTATION) != 0) buf.writeVarInt(this.rotation.ordinal());
+        if ((fields & FIELD_MIRROR) != 0) buf.writeBoolean(this.mirror);
+        if ((fields & FIELD_PLACED) != 0) buf.writeBoolean(this.isPlaced);
+        if ((fields & FIELD_MULTIBLOCK) != 0) MultiblockIds.writeName(buf, this.multiblockName);
+        if ((fields & FIELD_SIZE_PRESET) != 0) buf.writeVarInt(this.sizePresetIndex);
+        if ((fields & FIELD_SIZE) != 0) {
+            buf.writeBoolean(this.customSize != null);
+            if (this.customSize != null) {
+                writeSize(buf, this.customSize);
+            }
+        }
+        if ((fields & FIELD_POSITION) != 0) {
+            buf.writeBoolean(this.pos != null);
+            if (this.pos != null) {
+                writePos(buf, this.pos);
+            }
+        }
+    }
+
+    /**
+     * Read fields written by {@link #writeFields}; the others keep their defaults
+     */
+    public static Settings readFields(FriendlyByteBuf buf, int fields) {
+        Settings settings = new Settings();
+        if ((fields & FIELD_MODE) != 0) settings.mode = Mode.values()[Mth.clamp(buf.readVarInt(), 0, Mode.values().length - 1)];
+        if ((fields & FIELD_ROTATION) != 0) settings.rotation = Rotation.values()[Mth.clamp(buf.readVarInt(), 0, Rotation.values().length - 1)];
+        if ((fields & FIELD_MIRROR) != 0) settings.mirror = buf.readBoolean();
+        if ((fields & FIELD_PLACED) != 0) settings.isPlaced = buf.readBoolean();
+        if ((fields & FIELD_MULTIBLOCK) != 0) settings.multiblockName = MultiblockIds.readName(buf);
+        if ((fields & FIELD_SIZE_PRESET) != 0) settings.setSizePresetIndex(buf.readVarInt());
+        if ((fields & FIELD_SIZE) != 0 && buf.readBoolean()) {
+            settings.customSize = readSize(buf);
+        }
+        if ((fields & FIELD_POSITION) != 0 && buf.readBoolean()) {
+            settings.pos = readPos(buf);
+        }
+        return settings;
+    }
+
+    static void writeSize(FriendlyByteBuf buf, Vec3i size) {
+        buf.writeVarInt(size.getX());
+        buf.writeVarInt(size.getY());
+        buf.writeVarInt(size.getZ());
+    }
+
+    static Vec3i readSize(FriendlyByteBuf buf) {
+        return new Vec3i(buf.readVarInt(), buf.readVarInt(), buf.readVarInt());
+    }
+
+    // Zigzag varints stay small for coordinates near the origin, negative or not
+    static void writePos(FriendlyByteBuf buf, BlockPos pos) {
+        buf.writeVarInt(zigzag(pos.getX()));
+        buf.writeVarInt(zigzag(pos.getY()));
+        buf.writeVarInt(zigzag(pos.getZ()));
+    }
+
+    static BlockPos readPos(FriendlyByteBuf buf) {
+        return new BlockPos(unzigzag(buf.readVarInt()), unzigzag(buf.readVarInt()), unzigzag(buf.readVarInt()));
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @return The immutable form stored on the item
+     */
+    public ProjectorSettings toComponent() {
+        return new ProjectorSettings(this.mode, this.rotation, this.mirror, this.isPlaced,
+            Optional.ofNullable(this.multiblockName), this.sizePresetIndex,
+            Optional.ofNullable(this.customSize), Optional.ofNullable(this.pos));
+    }
+
     public ItemStack applyTo(ItemStack stack) {
-        CustomData currentData = stack.getOrDefault(DataComponents.CUSTOM_DATA, CustomData.EMPTY);
-        CompoundTag rootTag = currentData.copyTag();
-        rootTag.put(KEY_SELF, this.toNbt());
-        stack.set(DataComponents.CUSTOM_DATA, CustomData.of(rootTag));
+        stack.set(UPContent.SETTINGS, toComponent());
+        CustomData customData = stack.get(DataComponents.CUSTOM_DATA);
+        if (customData != null && customData.contains(KEY_SELF)) {
+            // Settings have moved to their own component; don't leave the old copy behind
+            CustomData.update(DataComponents.CUSTOM_DATA, stack, tag -> tag.remove(KEY_SELF));
+        }
         return stack;
     }
     
@@ -0,0 +1,59 @@
+package com.multiblockprojector.common.validation;
+
+import net.minecraft.world.level.block.state.BlockState;
+
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * Decides whether a block in the world counts as the block a projection expects there.
+ * Shared by client and server so both agree on what is placed correctly.
+ */
+public class BlockMatcher {
+
+    /**
+     * Custom block matching that ignores direction for certain blocks
+     */
+    public static boolean matches(BlockState actualState, BlockState expectedState) {
+        // If blocks are different types, they don't match
+        if (!actualState.is(expectedState.getBlock())) {
+            return false;
+        }
+
+        // Get the block registry name for more accurate matching
+        String registryName = actualState.getBlock().builtInRegistryHolder().key().location().toString();
+
+        // Special case: Any piston blocks - ignore facing direction for squeezer compatibility
+        if (registryName.contains("piston")) {
+            return true; // Any piston direction is acceptable
+        }
+
+        // Special case: IE Conveyor Belts - ignore facing direction
+        if (registryName.contains("immersiveengineering") && registryName.contains("conveyor")) {
+            return true; // Any conveyor direction is acceptable
+        }
+
+        // Default: states must match exactly
+        return actualState.equals(expectedState);
+    }
+
+    /**
+     * Check if an actual block matches ANY of the acceptable block states.
+     * Used for cycling block positions (e.g., Blood Magic rune positions).
+     */
+    public static boolean matchesAny(BlockState actualState, @Nullable List<BlockState> acceptableBlocks) {
+        if (acceptableBlocks == null || acceptableBlocks.isEmpty()) {
+            return false;
+        }
+
+        for (BlockState acceptable : acceptableBlocks) {
+            // Use the same block type check (not exact state match)
+            // This allows any rune variant to be placed
+            if (actualState.is(acceptable.getBlock())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
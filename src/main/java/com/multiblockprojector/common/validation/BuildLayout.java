@@ -0,0 +1,124 @@
+package com.multiblockprojector.common.validation;
+
+import com.multiblockprojector.api.BillOfMaterials;
+import com.multiblockprojector.api.ICyclingBlockMultiblock;
+import com.multiblockprojector.common.projector.MultiblockProjection;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.levelgen.structure.BoundingBox;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The blocks a placed projection needs, numbered in projection order. Client and server build
+ * the same layout for the same projection, so progress can be exchanged as bitsets over these
+ * indices. Air positions are not part of it.
+ */
+public class BuildLayout {
+    private final BlockPos[] positions;
+    private final BlockPos[] structurePositions;
+    private final BlockState[] expected;
+    private final Item[] items;
+    private final int[] itemCounts;
+    private final Long2IntMap indices;
+    @Nullable
+    private final BoundingBox bounds;
+    @Nullable
+    private final ICyclingBlockMultiblock cycling;
+
+    private BuildLayout(List<BlockPos> positions, List<BlockPos> structurePositions, List<BlockState> expected,
+                        List<Item> items, IntList itemCounts, @Nullable ICyclingBlockMultiblock cycling) {
+        this.positions = positions.toArray(new BlockPos[0]);
+        this.structurePositions = structurePositions.toArray(new BlockPos[0]);
+        this.expected = expected.toArray(new BlockState[0]);
+        this.items = items.toArray(new Item[0]);
+        this.itemCounts = itemCounts.toIntArray();
+        this.indices = new Long2IntOpenHashMap(this.positions.length);
+        this.indices.defaultReturnValue(-1);
+        for (int i = 0; i < this.positions.length; i++) {
+            this.indices.put(this.positions[i].asLong(), i);
+        }
+        this.bounds = BoundingBox.encapsulatingPositions(positions).orElse(null);
+        this.cycling = cycling;
+    }
+
+    /**
+     * Walk the projection once, placed at {@code center}
+     */
+    public static BuildLayout of(BlockPos center, MultiblockProjection projection, Level level) {
+        List<BlockPos> positions = new ArrayList<>();
+        List<BlockPos> structurePositions = new ArrayList<>();
+        List<BlockState> expected = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        IntList itemCounts = new IntArrayList();
+        for (int layer = 0; layer < projection.getLayerCount(); layer++) {
+            projection.process(layer, info -> {
+                BlockPos worldPos = center.offset(info.tPos);
+                BlockState expectedState = info.getModifiedState(level, worldPos);
+                if (!expectedState.isAir()) {
+                    positions.add(worldPos.immutable());
+                    structurePositions.add(info.tBlockInfo.pos());
+                    expected.add(expectedState);
+                    // Counted against the structure's item, which is what the bill of materials lists
+                    items.add(BillOfMaterials.getItem(info.tBlockInfo.state()));
+                    itemCounts.add(BillOfMaterials.getItemCount(info.tBlockInfo.state()));
+                }
+                return false; // Continue processing
+            });
+        }
+        ICyclingBlockMultiblock cycling = projection.getMultiblock() instanceof ICyclingBlockMultiblock c ? c : null;
+        return new BuildLayout(positions, structurePositions, expected, items, itemCounts, cycling);
+    }
+
+    public int size() {
+        return positions.length;
+    }
+
+    public BlockPos getPos(int index) {
+        return positions[index];
+    }
+
+    /**
+     * @return The item the block at this index uses up, which may be air for blocks without one
+     */
+    public Item getItem(int index) {
+        return items[index];
+    }
+
+    /**
+     * @return How many of {@link #getItem} the block at this index uses up, see {@link BillOfMaterials#getItemCount}
+     */
+    public int getItemCount(int index) {
+        return itemCounts[index];
+    }
+
+    /**
+     * @return The index of a world position, or -1 if the projection needs no block there
+     */
+    public int indexOf(BlockPos pos) {
+        if (bounds == null || !bounds.isInside(pos)) {
+            return -1;
+        }
+        return indices.get(pos.asLong());
+    }
+
+    /**
+     * Check whether a block in the world is correct for the position at this index, with cycling block support
+     */
+    public boolean matches(int index, BlockState actualState) {
+        BlockPos structurePos = structurePositions[index];
+        if (cycling != null && cycling.hasCyclingBlocks(structurePos)) {
+            // For cycling blocks, check if ANY acceptable block matches
+            return BlockMatcher.matchesAny(actualState, cycling.getAcceptableBlocks(structurePos));
+        }
+        return BlockMatcher.matches(actualState, expected[index]);
+    }
+}
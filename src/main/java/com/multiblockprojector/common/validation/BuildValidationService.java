@@ -0,0 +1,175 @@
+package com.multiblockprojector.common.validation;
+
+import com.multiblockprojector.common.items.ProjectorItem;
+import com.multiblockprojector.common.network.MessageBuildProgress;
+import com.multiblockprojector.common.projector.Settings;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Inventory;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.LevelAccessor;
+import net.neoforged.neoforge.network.PacketDistributor;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Server-side validation of projections in building mode, per player. A projection is tracked
+ * from the settings sync that puts its projector into building mode (or from login, for projectors
+ * that already were) until one takes it out again, or until it is complete.
+ * Block changes only mark the affected position; changed positions are checked and sent to the
+ * owner as {@link MessageBuildProgress} a few times a second, so clients don't rescan their projections.
+ * <p>
+ * The server decides when a build is complete: it takes the projector out of building mode, which
+ * reaches the client with the inventory, and tells the client to drop the projection.
+ * All methods must be called on the server thread.
+ */
+public class BuildValidationService {
+    private static final int SYNC_INTERVAL_TICKS = 5;
+    // Positions in unloaded chunks are checked again every few seconds
+    private static final int RETRY_INTERVAL_TICKS = 100;
+    // Projectors can be dropped or stored while building; don't let forgotten ones pile up
+    private static final int MAX_BUILDS_PER_PLAYER = 8;
+    // Positions re-checked per build and sync even without a block change, a full round every few seconds for most builds
+    private static final int RECHECK_PER_SYNC = 256;
+
+    private static final Map<UUID, Map<BlockPos, TrackedBuild>> BUILDS = new HashMap<>();
+    private static int ticks = 0;
+
+    /**
+     * Follow a change of a player's projector settings, received from their client
+     */
+    public static void onSettingsChanged(ServerPlayer player, Settings before, Settings after) {
+        BlockPos oldPos = before.getMode() == Settings.Mode.BUILDING ? before.getPos() : null;
+        BlockPos newPos = after.getMode() == Settings.Mode.BUILDING && after.getMultiblock() != null ? after.getPos() : null;
+        if (oldPos != null && !oldPos.equals(newPos)) {
+            untrack(player.getUUID(), oldPos);
+        }
+        if (newPos != null) {
+            track(player, newPos, after);
+        }
+    }
+
+    /**
+     * Track the projectors a player already had in building mode when they joined
+     */
+    public static void onLogin(ServerPlayer player) {
+        Inventory inventory = player.getInventory();
+        for (int slot = 0; slot < inventory.getContainerSize(); slot++) {
+            ItemStack stack = inventory.getItem(slot);
+            if (stack.getItem() instanceof ProjectorItem && ProjectorItem.getProjectorSettings(stack).mode() == Settings.Mode.BUILDING) {
+                Settings settings = ProjectorItem.getSettings(stack);
+                if (settings.getPos() != null && settings.getMultiblock() != null) {
+                    track(player, settings.getPos(), settings);
+                }
+            }
+        }
+    }
+
+    private static void track(ServerPlayer player, BlockPos pos, Settings settings) {
+        Map<BlockPos, TrackedBuild> builds = BUILDS.computeIfAbsent(player.getUUID(), id -> new LinkedHashMap<>());
+        TrackedBuild existing = builds.get(pos);
+        if (existing != null && existing.isSameProjection(player.serverLevel(), settings)) {
+            return;
+        }
+        builds.remove(pos);
+        if (builds.size() >= MAX_BUILDS_PER_PLAYER) {
+            Iterator<BlockPos> oldest = builds.keySet().iterator();
+            PacketDistributor.sendToPlayer(player, MessageBuildProgress.untracked(oldest.next()));
+            oldest.remove();
+        }
+        builds.put(pos.immutable(), new TrackedBuild(player.serverLevel(), pos, settings));
+    }
+
+    private static void untrack(UUID playerId, BlockPos pos) {
+        Map<BlockPos, TrackedBuild> builds = BUILDS.get(playerId);
+        if (builds != null) {
+            builds.remove(pos);
+            if (builds.isEmpty()) {
+                BUILDS.remove(playerId);
+            }
+        }
+    }
+
+    /**
+     * Note a changed block, to be checked at the next sync
+     */
+    public static void onBlockChanged(LevelAccessor level, BlockPos pos) {
+        if (BUILDS.isEmpty()) return;
+        for (Map<BlockPos, TrackedBuild> builds : BUILDS.values()) {
+            for (TrackedBuild build : builds.values()) {
+                if (build.getLevel() == level) {
+                    build.onBlockChanged(pos);
+                }
+            }
+        }
+    }
+
+    public static void tick(MinecraftServer server) {
+        if (BUILDS.isEmpty()) return;
+        ticks++;
+        if (ticks % SYNC_INTERVAL_TICKS != 0) return;
+        boolean retry = ticks % RETRY_INTERVAL_TICKS == 0;
+
+        Iterator<Map.Entry<UUID, Map<BlockPos, TrackedBuild>>> iterator = BUILDS.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Map<BlockPos, TrackedBuild>> entry = iterator.next();
+            ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+            if (player == null) {
+                iterator.remove();
+                continue;
+            }
+            Iterator<TrackedBuild> builds = entry.getValue().values().iterator();
+            while (builds.hasNext()) {
+                TrackedBuild build = builds.next();
+                if (retry) {
+                    build.retryUnloaded();
+                }
+                // Catches block changes that didn't update neighbours, which fire no event
+                build.recheck(RECHECK_PER_SYNC);
+                build.flush();
+                if (build.isComplete()) {
+                    builds.remove();
+                    complete(player, build);
+                } else if (build.isDirty()) {
+                    PacketDistributor.sendToPlayer(player, build.createMessage());
+                }
+            }
+            if (entry.getValue().isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Take the projector of a complete build out of building mode and tell its owner
+     */
+    private static void complete(ServerPlayer player, TrackedBuild build) {
+        Inventory inventory = player.getInventory();
+        for (int slot = 0; slot < inventory.getContainerSize(); slot++) {
+            ItemStack stack = inventory.getItem(slot);
+            if (stack.getItem() instanceof ProjectorItem && ProjectorItem.getProjectorSettings(stack).mode() == Settings.Mode.BUILDING
+                    && build.getCenter().equals(ProjectorItem.getProjectorSettings(stack).getPos())) {
+                Settings settings = ProjectorItem.getSettings(stack);
+                settings.setMode(Settings.Mode.NOTHING_SELECTED);
+                settings.setPos(null);
+                settings.setPlaced(false);
+                settings.applyTo(stack);
+            }
+        }
+        PacketDistributor.sendToPlayer(player, MessageBuildProgress.completed(build.getCenter()));
+    }
+
+    public static void remove(UUID playerId) {
+        BUILDS.remove(playerId);
+    }
+
+    public static void clear() {
+        BUILDS.clear();
+        ticks = 0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.multiblockprojector.common.validation;
+
+import com.multiblockprojector.api.IUniversalMultiblock;
+import com.multiblockprojector.common.network.MessageBuildProgress;
+import com.multiblockprojector.common.projector.MultiblockProjection;
+import com.multiblockprojector.common.projector.Settings;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Vec3i;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.block.Rotation;
+import net.minecraft.world.level.block.state.BlockState;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.Objects;
+
+/**
+ * Server-side progress of one projection in building mode. Positions are checked again when a
+ * block changed there, and a few at a time in a slow round over the whole projection, for changes
+ * made without a neighbour update. Positions in unloaded chunks are left for later instead of loading them.
+ */
+public class TrackedBuild {
+    private final ServerLevel level;
+    private final BlockPos center;
+    private final IUniversalMultiblock multiblock;
+    private final Rotation rotation;
+    private final boolean mirror;
+    @Nullable
+    private final Vec3i size;
+    private final BuildLayout layout;
+
+    private final BitSet correct = new BitSet();
+    private final BitSet incorrect = new BitSet();
+    // Indices to check at the next flush, and ones skipped because their chunk wasn't loaded
+    private final BitSet pending = new BitSet();
+    private final BitSet unloaded = new BitSet();
+    // Start of the next slice of the round of re-checks
+    private int recheckFrom;
+    private int placed;
+    private boolean dirty = true;
+
+    TrackedBuild(ServerLevel level, BlockPos center, Settings settings) {
+        this.level = level;
+        this.center = center.immutable();
+        this.multiblock = settings.getMultiblock();
+        this.rotation = settings.getRotation();
+        this.mirror = settings.isMirrored();
+        this.size = MultiblockProjection.getSizeFromSettings(this.multiblock, settings);
+
+        MultiblockProjection projection = new MultiblockProjection(level, this.multiblock, this.size);
+        projection.setRotation(this.rotation);
+        projection.setFlip(this.mirror);
+        this.layout = BuildLayout.of(this.center, projection, level);
+        // Everything is checked at the first flush
+        this.pending.set(0, this.layout.size());
+    }
+
+    /**
+     * @return true if the settings describe this same projection
+     */
+    boolean isSameProjection(ServerLevel level, Settings settings) {
+        return this.level == level
+            && this.multiblock == settings.getMultiblock()
+            && this.rotation == settings.getRotation()
+            && this.mirror == settings.isMirrored()
+            && Objects.equals(this.size, MultiblockProjection.getSizeFromSettings(settings.getMultiblock(), settings));
+    }
+
+    void onBlockChanged(BlockPos pos) {
+        int index = layout.indexOf(pos);
+        if (index >= 0) {
+            pending.set(index);
+        }
+    }
+
+    /**
+     * Check positions skipped earlier again, in case their chunks were loaded since
+     */
+    void retryUnloaded() {
+        pending.or(unloaded);
+        unloaded.clear();
+    }
+
+    /**
+     * Queue the next {@code count} positions of the round of re-checks
+     */
+    void recheck(int count) {
+        int size = layout.size();
+        if (size == 0) return;
+        int end = Math.min(size, recheckFrom + count);
+        pending.set(recheckFrom, end);
+        recheckFrom = end < size ? end : 0;
+    }
+
+    /**
+     * Check every position that changed since the last flush
+     */
+    void flush() {
+        for (int i = pending.nextSetBit(0); i >= 0; i = pending.nextSetBit(i + 1)) {
+            check(i);
+        }
+        pending.clear();
+    }
+
+    private void check(int index) {
+        BlockPos pos = layout.getPos(index);
+        if (!level.isLoaded(pos)) {
+            unloaded.set(index);
+            return;
+        }
+        BlockState actualState = level.getBlockState(pos);
+        boolean matches = layout.matches(index, actualState);
+        // Block is incorrect if it's not air and doesn't match
+        boolean wrong = !matches && !actualState.isAir();
+        if (correct.get(index) != matches) {
+            correct.set(index, matches);
+            placed += matches ? 1 : -1;
+            dirty = true;
+        }
+        if (incorrect.get(index) != wrong) {
+            incorrect.set(index, wrong);
+            dirty = true;
+        }
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * @return The current progress for the owner's client, which is now up to date
+     */
+    MessageBuildProgress createMessage() {
+        dirty = false;
+        return new MessageBuildProgress(center, layout.size(), (BitSet) correct.clone(), (BitSet) incorrect.clone());
+    }
+
+    public ServerLevel getLevel() {
+        return level;
+    }
+
+    public BlockPos getCenter() {
+        return center;
+    }
+
+    /**
+     * @return true once every required block is placed correctly, which leaves no room for incorrect ones
+     */
+    public boolean isComplete() {
+        return placed == layout.size();
+    }
+}